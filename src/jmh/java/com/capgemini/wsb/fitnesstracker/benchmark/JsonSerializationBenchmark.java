@@ -0,0 +1,62 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pomiar serializacji listy {@link TrainingDto} do JSON-a, skonfigurowanym tak jak w aplikacji {@link ObjectMapper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<TrainingDto> trainings;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TrainingDto.class));
+        User user = User.createTestUser(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@domain.com");
+        ActivityType[] activityTypes = ActivityType.values();
+        trainings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            trainings.add(new TrainingDto((long) i, user, Instant.ofEpochMilli(i * 3_600_000L), Instant.ofEpochMilli(i * 3_600_000L + 1_800_000L),
+                                          activityTypes[i % activityTypes.length], (double) (i % 20), 9.5));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTrainings() throws JsonProcessingException {
+        return writer.writeValueAsBytes(trainings);
+    }
+}
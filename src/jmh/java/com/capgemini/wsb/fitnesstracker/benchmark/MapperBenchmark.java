@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingMapper;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserDto;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pomiar mapowania encji na obiekty DTO i z powrotem.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final TrainingMapper trainingMapper = new TrainingMapper(null);
+    private final UserMapper userMapper = new UserMapper();
+
+    private Training training;
+    private TrainingDto trainingDto;
+    private User user;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        user = User.createTestUser(1L, "John", "Doe", LocalDate.of(1990, 1, 1), "john.doe@domain.com");
+        userDto = userMapper.toDto(user);
+        training = new Training(user, Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(3_600_000L), ActivityType.RUNNING, 10.5, 10.5);
+        training.setId(1L);
+        trainingDto = trainingMapper.toTrainingDto(training);
+    }
+
+    @Benchmark
+    public TrainingDto trainingToDto() {
+        return trainingMapper.toTrainingDto(training);
+    }
+
+    @Benchmark
+    public Training trainingToEntity() {
+        return trainingMapper.toTrainingEntity(trainingDto);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userDto);
+    }
+}
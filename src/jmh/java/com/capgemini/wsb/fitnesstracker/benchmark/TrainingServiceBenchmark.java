@@ -0,0 +1,131 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingPage;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingSummaryDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pomiar zapytań {@link TrainingServiceImpl} na bazie H2 wypełnionej danymi o konfigurowalnym rozmiarze
+ * (np. {@code -p trainings=100000 -p users=1000}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrainingServiceBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final long HOUR = 3_600_000L;
+
+    @Param("10000")
+    public int trainings;
+
+    @Param("100")
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private TrainingServiceImpl trainingService;
+    private List<Long> userIds;
+    private Instant weekStart;
+    private Instant weekEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FitnessTracker.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        trainingService = context.getBean(TrainingServiceImpl.class);
+        seed(context.getBean(UserRepository.class), context.getBean(TrainingRepository.class),
+             context.getBean(TransactionTemplate.class));
+        weekStart = Instant.EPOCH;
+        weekEnd = Instant.ofEpochMilli(7 * 24 * HOUR);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TrainingPage firstPage() {
+        return trainingService.getTrainingsPage(null, 100);
+    }
+
+    @Benchmark
+    public List<TrainingSummaryDto> summariesOfUser() {
+        return trainingService.getTrainingSummariesByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public List<TrainingSummaryDto> summariesOfActivityType() {
+        return trainingService.getTrainingSummariesByActivityType(ActivityType.TENNIS);
+    }
+
+    @Benchmark
+    public List<UserActivitySummary> weeklyActivitySummaries() {
+        return trainingService.getActivitySummaries(userIds, weekStart, weekEnd);
+    }
+
+    private Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private void seed(UserRepository userRepository, TrainingRepository trainingRepository, TransactionTemplate transactionTemplate) {
+        List<User> savedUsers = new ArrayList<>(users);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < users; i++) {
+                savedUsers.add(userRepository.save(new User("User", "No" + i, LocalDate.of(1990, 1, 1), "user" + i + "@benchmark.com")));
+            }
+        });
+        userIds = savedUsers.stream().map(User::getId).toList();
+
+        ActivityType[] activityTypes = ActivityType.values();
+        for (int offset = 0; offset < trainings; offset += SEED_BATCH_SIZE) {
+            int from = offset;
+            int to = Math.min(trainings, offset + SEED_BATCH_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Training> batch = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    Instant start = Instant.ofEpochMilli(i * HOUR);
+                    batch.add(new Training(savedUsers.get(i % savedUsers.size()), start, start.plusMillis(HOUR),
+                                           activityTypes[i % activityTypes.length], i % 20, 10.0));
+                }
+                trainingRepository.saveAll(batch);
+            });
+        }
+    }
+}
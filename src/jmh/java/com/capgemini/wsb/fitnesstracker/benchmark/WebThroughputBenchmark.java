@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.FitnessTracker;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test obciążeniowy warstwy web: wiele równoległych klientów pobiera strony sesji treningowych przez HTTP,
+ * raz na puli wątków platformowych Tomcata, raz na wątkach wirtualnych ({@code spring.threads.virtual.enabled}).
+ * Tryb {@link Mode#SampleTime} raportuje percentyle czasu odpowiedzi (p50, p99, p99.9), a {@link Mode#Throughput}
+ * przepustowość. Wariant z wątkami wirtualnymi wymaga Javy 21+; na starszych wersjach profil Mavena
+ * {@code jmh-without-virtual-threads} uruchamia tylko wariant platformowy, a jawne wybranie wariantu wirtualnego
+ * kończy się błędem w {@link #setUp()}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class WebThroughputBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    /**
+     * Rozmiar puli wątków Tomcata w trybie platformowym, mniejszy niż liczba klientów.
+     */
+    @Param("50")
+    public int tomcatThreads;
+
+    @Param("5000")
+    public int trainings;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21+, running on " + Runtime.version());
+        }
+        context = new SpringApplicationBuilder(FitnessTracker.class)
+                .properties("server.port=0",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN",
+                            "server.tomcat.threads.max=" + tomcatThreads,
+                            "spring.threads.virtual.enabled=" + virtualThreads)
+                .run();
+        seed(context.getBean(UserRepository.class), context.getBean(TrainingRepository.class));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:%d/v1/trainings?limit=100".formatted(port))).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTrainingsPage() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private void seed(UserRepository userRepository, TrainingRepository trainingRepository) {
+        User user = userRepository.save(new User("Load", "Test", LocalDate.of(1990, 1, 1), "load.test@benchmark.com"));
+        List<Training> batch = new ArrayList<>(trainings);
+        for (int i = 0; i < trainings; i++) {
+            batch.add(new Training(user, Instant.ofEpochMilli(i * 3_600_000L), Instant.ofEpochMilli(i * 3_600_000L + 1_800_000L),
+                                   ActivityType.RUNNING, 10.0, 10.0));
+        }
+        trainingRepository.saveAll(batch);
+    }
+}
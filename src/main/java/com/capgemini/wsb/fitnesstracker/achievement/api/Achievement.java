@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.achievement.api;
+
+import lombok.Getter;
+
+/**
+ * Achievements a user can unlock with their trainings.
+ * Each achievement owns a fixed bit of the stored bitmask of unlocked achievements. Bits must never be reassigned;
+ * a new achievement takes the next unused one.
+ */
+@Getter
+public enum Achievement {
+
+    FIRST_10_KM_RUN(0, "First run of at least 10 km"),
+    CYCLING_100_KM_MONTH(1, "100 km cycled within a calendar month"),
+    SEVEN_DAY_STREAK(2, "Trainings on 7 consecutive days");
+
+    /**
+     * Position of the achievement in the stored bitmask of unlocked achievements.
+     */
+    private final int bit;
+
+    /**
+     * Human-readable description of the achievement.
+     */
+    private final String description;
+
+    Achievement(int bit, String description) {
+        this.bit = bit;
+        this.description = description;
+    }
+}
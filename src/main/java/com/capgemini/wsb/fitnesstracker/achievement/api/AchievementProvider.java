@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.achievement.api;
+
+import java.util.List;
+
+public interface AchievementProvider {
+
+    /**
+     * Retrieves the achievements unlocked by the given user, in the order they were unlocked.
+     * Achievements are evaluated when trainings are created, so the lookup does not read the user's trainings.
+     *
+     * @param userId id of the user
+     * @return unlocked achievements, empty if the user has none yet
+     */
+    List<UnlockedAchievement> getAchievements(Long userId);
+}
@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.achievement.api;
+
+/**
+ * Event published within the transaction of the training which unlocked the achievement.
+ *
+ * @param userId id of the user
+ * @param achievement the unlocked achievement
+ */
+public record AchievementUnlockedEvent(Long userId, UnlockedAchievement achievement) {
+}
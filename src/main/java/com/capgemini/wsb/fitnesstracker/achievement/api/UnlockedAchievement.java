@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.achievement.api;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Achievement unlocked by a user.
+ *
+ * @param achievement the achievement
+ * @param trainingId id of the training which unlocked the achievement
+ * @param achievedAt end time of that training
+ */
+public record UnlockedAchievement(Achievement achievement, @Nullable Long trainingId, Instant achievedAt) {
+}
@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.UnlockedAchievement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST API exposing the achievements unlocked by users.
+ */
+@RestController
+@RequestMapping("/v1/achievements")
+@RequiredArgsConstructor
+class AchievementController {
+
+    private final AchievementServiceImpl achievementService;
+
+    /**
+     * Returns the achievements unlocked by the given user.
+     *
+     * @param userId id of the user
+     * @return unlocked achievements, in the order they were unlocked
+     */
+    @GetMapping("/user/{userId}")
+    public List<UnlockedAchievement> getAchievements(@PathVariable Long userId) {
+        return achievementService.getAchievements(userId);
+    }
+
+    /**
+     * Applies the training history of all users to the achievement rules; see
+     * {@link AchievementServiceImpl#backfillProgress()}.
+     */
+    @PostMapping("/backfill")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void backfill() {
+        achievementService.backfillProgress();
+    }
+}
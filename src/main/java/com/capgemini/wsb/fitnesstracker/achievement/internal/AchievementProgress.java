@@ -0,0 +1,83 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * Running state of the achievement rules for one user. Each {@link AchievementRule} owns some of the columns
+ * and updates them from a single training, so evaluating a training never reads the user's earlier trainings.
+ */
+@Entity
+@Table(name = "achievement_progress")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class AchievementProgress {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Bitmask of the unlocked achievements, indexed by {@link Achievement#getBit()}.
+     */
+    @Column(name = "unlocked", nullable = false)
+    private int unlocked;
+
+    /**
+     * First day of the latest month with a cycling training.
+     */
+    @Nullable
+    @Column(name = "cycling_month")
+    private LocalDate cyclingMonth;
+
+    @Column(name = "cycling_month_distance", nullable = false)
+    private double cyclingMonthDistance;
+
+    /**
+     * Latest day with a training.
+     */
+    @Nullable
+    @Column(name = "streak_last_day")
+    private LocalDate streakLastDay;
+
+    /**
+     * Number of consecutive days with a training ending on {@link #streakLastDay}.
+     */
+    @Column(name = "streak_days", nullable = false)
+    private int streakDays;
+
+    /**
+     * Clears the state of the rules, keeping the unlocked achievements.
+     */
+    void resetRunningState() {
+        cyclingMonth = null;
+        cyclingMonthDistance = 0;
+        streakLastDay = null;
+        streakDays = 0;
+    }
+
+    boolean isUnlocked(Achievement achievement) {
+        return (unlocked & bit(achievement)) != 0;
+    }
+
+    void unlock(Achievement achievement) {
+        unlocked |= bit(achievement);
+    }
+
+    private static int bit(Achievement achievement) {
+        return 1 << achievement.getBit();
+    }
+}
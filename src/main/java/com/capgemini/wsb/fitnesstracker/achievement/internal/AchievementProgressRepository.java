@@ -0,0 +1,63 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository of the per-user {@link AchievementProgress} rows.
+ */
+interface AchievementProgressRepository extends JpaRepository<AchievementProgress, Long> {
+
+    /**
+     * Creates an empty running state for the user unless one exists. H2's {@code MERGE ... KEY} waits for
+     * a concurrent transaction inserting the same user and then matches its row instead of violating the primary
+     * key; only the key is listed, so an existing row keeps its state.
+     *
+     * @param userId id of the user
+     * @return number of inserted or matched rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "MERGE INTO achievement_progress (user_id) KEY (user_id) VALUES (:userId)")
+    int createIfMissing(@Param("userId") Long userId);
+
+    /**
+     * Finds the user's running state and locks it until the end of the transaction, so that trainings of the same
+     * user created concurrently are applied one after another.
+     *
+     * @param userId id of the user
+     * @return the running state, if the user has already been evaluated
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AchievementProgress> findLockedByUserId(Long userId);
+
+    /**
+     * Finds the ids of all users having trainings.
+     *
+     * @return ids of the users, ascending
+     */
+    @Query("SELECT DISTINCT t.user.id FROM Training t WHERE t.user IS NOT NULL ORDER BY t.user.id")
+    List<Long> findUserIdsWithTrainings();
+
+    /**
+     * Finds all trainings of the user in the order the rules must see them.
+     *
+     * @param userId id of the user
+     * @return trainings of the user, ordered by end time
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot(
+                t.id, t.user.id, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed, coalesce(t.calories, 0))
+            FROM Training t
+            WHERE t.user.id = :userId
+            ORDER BY t.endTime, t.id
+            """)
+    List<TrainingSnapshot> findTrainingHistory(@Param("userId") Long userId);
+}
@@ -0,0 +1,90 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Rules unlocking the {@link Achievement achievements}.
+ *
+ * <p>A rule is evaluated only for trainings of its activity types and only until its achievement is unlocked.
+ * It updates its part of the {@link AchievementProgress} from the single new training, so trainings must be applied
+ * in the order they ended: a training ending before the rule's latest day or month is not counted by the period
+ * rules, because their state keeps only the latest period.</p>
+ */
+enum AchievementRule {
+
+    FIRST_10_KM_RUN(Achievement.FIRST_10_KM_RUN, EnumSet.of(ActivityType.RUNNING)) {
+        @Override
+        boolean apply(AchievementProgress progress, TrainingSnapshot training, LocalDate day) {
+            return training.distance() >= RUN_DISTANCE_KM;
+        }
+    },
+
+    CYCLING_100_KM_MONTH(Achievement.CYCLING_100_KM_MONTH, EnumSet.of(ActivityType.CYCLING)) {
+        @Override
+        boolean apply(AchievementProgress progress, TrainingSnapshot training, LocalDate day) {
+            LocalDate month = day.withDayOfMonth(1);
+            LocalDate currentMonth = progress.getCyclingMonth();
+            if (currentMonth == null || month.isAfter(currentMonth)) {
+                progress.setCyclingMonth(month);
+                progress.setCyclingMonthDistance(0);
+            } else if (month.isBefore(currentMonth)) {
+                return false;
+            }
+            progress.setCyclingMonthDistance(progress.getCyclingMonthDistance() + training.distance());
+            return progress.getCyclingMonthDistance() >= MONTHLY_CYCLING_DISTANCE_KM;
+        }
+    },
+
+    SEVEN_DAY_STREAK(Achievement.SEVEN_DAY_STREAK, EnumSet.allOf(ActivityType.class)) {
+        @Override
+        boolean apply(AchievementProgress progress, TrainingSnapshot training, LocalDate day) {
+            LocalDate lastDay = progress.getStreakLastDay();
+            if (lastDay != null && !day.isAfter(lastDay)) {
+                return false;
+            }
+            boolean continued = lastDay != null && day.equals(lastDay.plusDays(1));
+            progress.setStreakDays(continued ? progress.getStreakDays() + 1 : 1);
+            progress.setStreakLastDay(day);
+            return progress.getStreakDays() >= STREAK_DAYS;
+        }
+    };
+
+    private static final double RUN_DISTANCE_KM = 10.0;
+
+    private static final double MONTHLY_CYCLING_DISTANCE_KM = 100.0;
+
+    private static final int STREAK_DAYS = 7;
+
+    private final Achievement achievement;
+
+    private final Set<ActivityType> activityTypes;
+
+    AchievementRule(Achievement achievement, Set<ActivityType> activityTypes) {
+        this.achievement = achievement;
+        this.activityTypes = activityTypes;
+    }
+
+    Achievement achievement() {
+        return achievement;
+    }
+
+    Set<ActivityType> activityTypes() {
+        return activityTypes;
+    }
+
+    /**
+     * Applies the training to the rule's running state.
+     *
+     * @param progress running state of the training's user
+     * @param training the new training
+     * @param day day on which the training ended, in the server's time zone
+     * @return whether the training unlocks the rule's achievement
+     */
+    abstract boolean apply(AchievementProgress progress, TrainingSnapshot training, LocalDate day);
+}
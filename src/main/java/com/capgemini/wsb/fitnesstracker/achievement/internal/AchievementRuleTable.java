@@ -0,0 +1,34 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Achievement rules compiled into a dispatch table keyed by activity type. Looking up the rules of a training
+ * is a single array access, and only the rules which can react to its activity type are evaluated.
+ */
+final class AchievementRuleTable {
+
+    private final Map<ActivityType, AchievementRule[]> rulesByActivityType = new EnumMap<>(ActivityType.class);
+
+    AchievementRuleTable(Collection<AchievementRule> rules) {
+        for (ActivityType activityType : ActivityType.values()) {
+            rulesByActivityType.put(activityType, rules.stream()
+                    .filter(rule -> rule.activityTypes().contains(activityType))
+                    .toArray(AchievementRule[]::new));
+        }
+    }
+
+    /**
+     * Returns the rules evaluated for trainings of the given activity type.
+     *
+     * @param activityType activity type of the training
+     * @return the rules, in declaration order; the array must not be modified
+     */
+    AchievementRule[] rulesFor(ActivityType activityType) {
+        return rulesByActivityType.get(activityType);
+    }
+}
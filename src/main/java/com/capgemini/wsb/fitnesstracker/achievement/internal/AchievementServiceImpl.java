@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import com.capgemini.wsb.fitnesstracker.achievement.api.AchievementProvider;
+import com.capgemini.wsb.fitnesstracker.achievement.api.AchievementUnlockedEvent;
+import com.capgemini.wsb.fitnesstracker.achievement.api.UnlockedAchievement;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Achievement engine evaluating the rules incrementally against per-user running state.
+ *
+ * <p>Each new training costs one locked read and one update of the user's {@link AchievementProgress} row plus
+ * an insert per unlocked achievement, regardless of the number of the user's trainings and of the number of
+ * rules. Unlocked achievements are permanent: updates of trainings are not re-evaluated.</p>
+ *
+ * <p>The progress row is created with an upsert before it is locked, so concurrent first trainings of one user are
+ * applied one after another instead of racing on its primary key. Trainings created before the engine existed are
+ * applied by {@link #backfillProgress()}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class AchievementServiceImpl implements AchievementProvider {
+
+    private static final AchievementRuleTable RULES = new AchievementRuleTable(EnumSet.allOf(AchievementRule.class));
+
+    private final AchievementProgressRepository progressRepository;
+    private final UserAchievementRepository userAchievementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UnlockedAchievement> getAchievements(Long userId) {
+        return userAchievementRepository.findUnlockedByUserId(userId);
+    }
+
+    /**
+     * Applies new trainings of one user to the rules, records the achievements they unlock and publishes
+     * an {@link AchievementUnlockedEvent} for each of them. Must be called within the transaction that created
+     * the trainings.
+     *
+     * @param userId id of the user
+     * @param trainings the user's new trainings, ordered by end time
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void evaluate(Long userId, List<TrainingSnapshot> trainings) {
+        apply(userId, lockProgress(userId), trainings, true);
+    }
+
+    /**
+     * Replays the whole training history of every user with trainings, one user per transaction, and records
+     * the achievements it unlocks. The running state is rebuilt from scratch while already unlocked achievements
+     * are kept, so the backfill can be repeated. No {@link AchievementUnlockedEvent} is published for achievements
+     * unlocked by past trainings. Trainings created concurrently are either part of the replayed history or wait
+     * for the user's lock and are applied on top of it.
+     *
+     * @return number of replayed users
+     */
+    public int backfillProgress() {
+        List<Long> userIds = transactionTemplate.execute(status -> progressRepository.findUserIdsWithTrainings());
+        if (userIds == null) {
+            return 0;
+        }
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                AchievementProgress progress = lockProgress(userId);
+                progress.resetRunningState();
+                apply(userId, progress, progressRepository.findTrainingHistory(userId), false);
+            });
+        }
+        log.info("Achievement progress backfilled for {} users", userIds.size());
+        return userIds.size();
+    }
+
+    private AchievementProgress lockProgress(Long userId) {
+        progressRepository.createIfMissing(userId);
+        return progressRepository.findLockedByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("Achievement progress of user " + userId + " is missing"));
+    }
+
+    private void apply(Long userId, AchievementProgress progress, List<TrainingSnapshot> trainings, boolean publish) {
+        for (TrainingSnapshot training : trainings) {
+            LocalDate day = training.endTime().atZone(ZoneId.systemDefault()).toLocalDate();
+            for (AchievementRule rule : RULES.rulesFor(training.activityType())) {
+                Achievement achievement = rule.achievement();
+                if (!progress.isUnlocked(achievement) && rule.apply(progress, training, day)) {
+                    progress.unlock(achievement);
+                    userAchievementRepository.save(new UserAchievement(userId, achievement, training.trainingId(),
+                                                                       training.endTime()));
+                    if (publish) {
+                        eventPublisher.publishEvent(new AchievementUnlockedEvent(
+                                userId, new UnlockedAchievement(achievement, training.trainingId(), training.endTime())));
+                    }
+                    log.debug("User {} unlocked {}", userId, achievement);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Evaluates the achievement rules for new trainings.
+ * Listeners run synchronously, inside the transaction that created the trainings. Imported trainings are evaluated
+ * in ascending user id order, so concurrent imports lock the progress rows of shared users in the same order.
+ */
+@Component
+@RequiredArgsConstructor
+class AchievementTrainingListener {
+
+    private final AchievementServiceImpl achievementService;
+
+    @EventListener
+    void onTrainingCreated(TrainingCreatedEvent event) {
+        TrainingSnapshot training = TrainingSnapshot.of(event.training());
+        if (training.userId() != null) {
+            achievementService.evaluate(training.userId(), List.of(training));
+        }
+    }
+
+    @EventListener
+    void onTrainingsImported(TrainingsImportedEvent event) {
+        Map<Long, List<TrainingSnapshot>> trainingsByUser = event.trainings().stream()
+                .filter(training -> training.userId() != null)
+                .sorted(Comparator.comparing(TrainingSnapshot::endTime))
+                .collect(groupingBy(TrainingSnapshot::userId, TreeMap::new, toList()));
+        trainingsByUser.forEach(achievementService::evaluate);
+    }
+}
@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Achievement unlocked by a user.
+ */
+@Entity
+@Table(name = "user_achievements",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_achievements_achievement",
+                columnNames = {"user_id", "achievement"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class UserAchievement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "achievement", nullable = false, length = 32)
+    private Achievement achievement;
+
+    @Nullable
+    @Column(name = "training_id")
+    private Long trainingId;
+
+    @Column(name = "achieved_at", nullable = false)
+    private Instant achievedAt;
+
+    UserAchievement(Long userId, Achievement achievement, @Nullable Long trainingId, Instant achievedAt) {
+        this.userId = userId;
+        this.achievement = achievement;
+        this.trainingId = trainingId;
+        this.achievedAt = achievedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.UnlockedAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository of the {@link UserAchievement unlocked achievements}.
+ */
+interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
+
+    /**
+     * Finds the achievements unlocked by the given user, in the order they were unlocked.
+     *
+     * @param userId id of the user
+     * @return unlocked achievements
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.achievement.api.UnlockedAchievement(a.achievement, a.trainingId, a.achievedAt)
+            FROM UserAchievement a
+            WHERE a.userId = :userId
+            ORDER BY a.id
+            """)
+    List<UnlockedAchievement> findUnlockedByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,50 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.PreconditionFailedException;
+import jakarta.annotation.Nullable;
+
+/**
+ * Conversion between entity versions and the HTTP entity tags used by the {@code ETag} and {@code If-Match} headers.
+ * A tag is the version in quotes, e.g. {@code "3"}.
+ */
+public final class EntityTags {
+
+    private static final String ANY = "*";
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns the entity tag of the given version.
+     *
+     * @param version version of the entity
+     * @return the quoted entity tag
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version required by an {@code If-Match} header.
+     *
+     * @param ifMatch value of the header
+     * @return the required version, or null if the header is missing or matches any version ({@code *})
+     * @throws PreconditionFailedException if the header does not hold a single strong tag of this application;
+     *                                     such a tag can never match the current version
+     */
+    @Nullable
+    public static Long parseIfMatch(@Nullable String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the precondition failure below.
+            }
+        }
+        throw new PreconditionFailedException("If-Match %s does not match the current version".formatted(ifMatch));
+    }
+}
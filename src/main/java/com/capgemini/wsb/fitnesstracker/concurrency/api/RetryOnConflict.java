@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional method whose optimistic locking conflicts are retried.
+ *
+ * <p>When the method fails with an {@link org.springframework.dao.OptimisticLockingFailureException}, the whole
+ * invocation, including its transaction, is repeated, so the method must re-read the entities it modifies and apply
+ * its changes to their current state. Calls which join an already running transaction are not retried, because
+ * the conflict has already spoiled that transaction. When all attempts fail, a
+ * {@link com.capgemini.wsb.fitnesstracker.exception.api.ConflictException} is thrown.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import com.capgemini.wsb.fitnesstracker.concurrency.api.RetryOnConflict;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Retries methods annotated with {@link RetryOnConflict}.
+ *
+ * <p>The advisor has the highest precedence, so it wraps the transaction, cache and metrics interceptors and every
+ * attempt runs in a new transaction.</p>
+ */
+@Configuration
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+class ConflictRetryConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor conflictRetryAdvisor(ObjectProvider<ConflictRetryProperties> properties) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class),
+                new ConflictRetryInterceptor(properties));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
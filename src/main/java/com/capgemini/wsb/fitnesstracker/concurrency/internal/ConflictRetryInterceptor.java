@@ -0,0 +1,68 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.eclipse.jdt.annotation.Nullable;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeats an invocation which failed with an optimistic locking conflict, after a short random pause.
+ *
+ * <p>Each attempt proceeds with a clone of the invocation, so the remaining interceptors, including the transaction
+ * interceptor, run again. The properties are resolved lazily because advisors are created before the configuration
+ * properties are bound.</p>
+ */
+@Slf4j
+class ConflictRetryInterceptor implements MethodInterceptor {
+
+    static final String CONFLICT_MESSAGE = "The resource was modified concurrently, please retry the request";
+
+    private final ObjectProvider<ConflictRetryProperties> properties;
+
+    ConflictRetryInterceptor(ObjectProvider<ConflictRetryProperties> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        int maxAttempts = Math.max(1, properties.getObject().getMaxAttempts());
+        long backoffNanos = properties.getObject().getBackoff().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return proxyInvocation.invocableClone().proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", invocation.getMethod().getName(), attempt);
+                    throw new ConflictException(CONFLICT_MESSAGE);
+                }
+                log.debug("{} conflicted on attempt {}, retrying", invocation.getMethod().getName(), attempt);
+                pause(backoffNanos * attempt);
+            }
+        }
+    }
+
+    private static void pause(long maxNanos) {
+        if (maxNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(maxNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(CONFLICT_MESSAGE);
+        }
+    }
+}
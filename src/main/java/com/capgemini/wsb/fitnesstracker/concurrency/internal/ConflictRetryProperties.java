@@ -0,0 +1,32 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the retries of {@link com.capgemini.wsb.fitnesstracker.concurrency.api.RetryOnConflict} methods.
+ */
+@ConfigurationProperties(prefix = "fitness-tracker.conflict-retry")
+@Getter
+class ConflictRetryProperties {
+
+    /**
+     * Maximum number of attempts, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Upper bound of the random pause before the first retry; multiplied by the attempt number for later retries,
+     * so that competing writers spread out instead of colliding again.
+     */
+    private final Duration backoff;
+
+    ConflictRetryProperties(@DefaultValue("5") int maxAttempts,
+                            @DefaultValue("10ms") Duration backoff) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+}
@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start when virtual threads are requested on a runtime that cannot provide them.
+ *
+ * <p>Spring Boot only honours {@code spring.threads.virtual.enabled} on Java 21+, and silently keeps platform threads
+ * on older runtimes. A deployment started with the {@code virtual-threads} profile on such a runtime would run with
+ * the profile's smaller connection timeout but none of its concurrency, so startup fails instead.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+class VirtualThreadsConfig {
+
+    static final int MIN_JAVA_VERSION = 21;
+
+    VirtualThreadsConfig() {
+        requireVirtualThreads(Runtime.version().feature());
+    }
+
+    static void requireVirtualThreads(int javaVersion) {
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException(
+                    "spring.threads.virtual.enabled requires Java %d or newer, but the application runs on Java %d"
+                            .formatted(MIN_JAVA_VERSION, javaVersion));
+        }
+    }
+}
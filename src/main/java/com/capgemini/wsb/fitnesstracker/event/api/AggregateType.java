@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.event.api;
+
+/**
+ * Kinds of entities whose changes are recorded in the domain event stream.
+ */
+public enum AggregateType {
+
+    TRAINING,
+    USER
+}
@@ -0,0 +1,11 @@
+package com.capgemini.wsb.fitnesstracker.event.api;
+
+/**
+ * Kinds of changes recorded in the domain event stream.
+ */
+public enum ChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,24 @@
+package com.capgemini.wsb.fitnesstracker.event.api;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Compact record of one change of a training or a user. It identifies the changed entity only; consumers needing
+ * its current state load it themselves.
+ *
+ * @param id position of the event in the stream, increasing in the order the events were recorded
+ * @param aggregateType kind of the changed entity
+ * @param aggregateId id of the changed entity
+ * @param changeType kind of the change
+ * @param userId id of the user owning the entity after the change (the user itself for user events), if any
+ * @param occurredAt when the change was recorded
+ */
+public record DomainEvent(long id,
+                          AggregateType aggregateType,
+                          long aggregateId,
+                          ChangeType changeType,
+                          @Nullable Long userId,
+                          Instant occurredAt) {
+}
@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.event.api;
+
+import java.util.List;
+
+public interface DomainEventProvider {
+
+    /**
+     * Reads the domain event stream after the given position. Positions are allocated in commit order, so once
+     * an event is readable no event with a lower position can appear anymore; a reader advancing its position to
+     * the last returned event never skips an event. Missing positions belong to rolled back transactions.
+     *
+     * @param afterId position of the last event already read (0 to read from the beginning)
+     * @param limit maximum number of returned events
+     * @return events ordered by their position
+     */
+    List<DomainEvent> getEventsAfter(long afterId, int limit);
+}
@@ -0,0 +1,26 @@
+package com.capgemini.wsb.fitnesstracker.event.api;
+
+/**
+ * In-process consumer of the domain event stream. Every bean implementing this interface receives all events
+ * in stream order, starting from the beginning of the stream on its first run.
+ *
+ * <p>Delivery is at least once: the subscriber's position is stored after each batch, so events may be delivered
+ * again after a failure or a restart, and handlers must be idempotent. When a handler throws, the remaining events
+ * are retried on the next run and other subscribers are not affected.</p>
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Returns the name under which the subscriber's position is stored. Must be unique and stable across releases.
+     *
+     * @return the subscriber name, at most 100 characters
+     */
+    String subscriberName();
+
+    /**
+     * Handles one event.
+     *
+     * @param event the event
+     */
+    void onEvent(DomainEvent event);
+}
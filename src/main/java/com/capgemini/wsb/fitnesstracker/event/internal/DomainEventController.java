@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST API exposing the domain event stream as a replayable feed.
+ */
+@RestController
+@RequestMapping("/v1/events")
+@RequiredArgsConstructor
+class DomainEventController {
+
+    /**
+     * Response header containing the position to continue reading from.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final DomainEventServiceImpl eventService;
+
+    /**
+     * Returns the events after the given position. The {@value #NEXT_CURSOR_HEADER} header holds the position
+     * to pass as {@code after} in the next request; it equals {@code after} when there are no new events yet.
+     * Reading again from an earlier position replays the stream.
+     *
+     * @param after position of the last event already read (0 to read from the beginning)
+     * @param limit maximum number of returned events
+     * @return events ordered by their position
+     */
+    @GetMapping
+    public ResponseEntity<List<DomainEvent>> getEvents(@RequestParam(defaultValue = "0") long after,
+                                                       @RequestParam(defaultValue = "100") int limit) {
+        List<DomainEvent> events = eventService.getEventsAfter(after, limit);
+        long next = events.isEmpty() ? after : events.get(events.size() - 1).id();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, Long.toString(next))
+                .body(events);
+    }
+}
@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the domain event stream.
+ */
+@ConfigurationProperties(prefix = "fitness-tracker.events")
+@Getter
+class DomainEventProperties {
+
+    /**
+     * Maximum number of events read by the relay at once.
+     */
+    private final int relayBatchSize;
+
+    DomainEventProperties(@DefaultValue("500") int relayBatchSize) {
+        this.relayBatchSize = relayBatchSize;
+    }
+}
@@ -0,0 +1,62 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.AggregateType;
+import com.capgemini.wsb.fitnesstracker.event.api.ChangeType;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingUpdatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.UserCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDeletedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.UserUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records training and user changes in the domain event stream.
+ * Listeners run synchronously, inside the transaction that made the change.
+ */
+@Component
+@RequiredArgsConstructor
+class DomainEventRecorder {
+
+    private final DomainEventServiceImpl eventService;
+
+    @EventListener
+    void onTrainingCreated(TrainingCreatedEvent event) {
+        recordTraining(event.training(), ChangeType.CREATED);
+    }
+
+    @EventListener
+    void onTrainingUpdated(TrainingUpdatedEvent event) {
+        recordTraining(event.training(), ChangeType.UPDATED);
+    }
+
+    @EventListener
+    void onTrainingsImported(TrainingsImportedEvent event) {
+        eventService.appendTrainings(ChangeType.CREATED,
+                                     event.trainings().stream().map(TrainingSnapshot::trainingId).toList());
+    }
+
+    @EventListener
+    void onUserCreated(UserCreatedEvent event) {
+        eventService.append(AggregateType.USER, event.userId(), ChangeType.CREATED, event.userId());
+    }
+
+    @EventListener
+    void onUserUpdated(UserUpdatedEvent event) {
+        eventService.append(AggregateType.USER, event.userId(), ChangeType.UPDATED, event.userId());
+    }
+
+    @EventListener
+    void onUserDeleted(UserDeletedEvent event) {
+        eventService.append(AggregateType.USER, event.userId(), ChangeType.DELETED, event.userId());
+    }
+
+    private void recordTraining(Training training, ChangeType changeType) {
+        eventService.append(AggregateType.TRAINING, training.getId(), changeType,
+                            training.getUser() == null ? null : training.getUser().getId());
+    }
+}
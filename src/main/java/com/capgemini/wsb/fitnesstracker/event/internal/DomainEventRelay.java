@@ -0,0 +1,71 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEventSubscriber;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the domain event stream to the {@link DomainEventSubscriber subscribers}.
+ *
+ * <p>Each subscriber has its own stored position, so a failing or slow subscriber delays only itself. Events are
+ * delivered in stream order; the position is stored after every batch, and after a failure the remaining events
+ * are retried on the next run. The relay assumes a single application instance.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class DomainEventRelay {
+
+    private final List<DomainEventSubscriber> subscribers;
+    private final DomainEventServiceImpl eventService;
+    private final DomainEventSubscriptionRepository subscriptionRepository;
+    private final DomainEventProperties properties;
+
+    @Scheduled(fixedDelayString = "${fitness-tracker.events.relay-poll-interval:PT1S}")
+    void relayScheduled() {
+        subscribers.forEach(this::relay);
+    }
+
+    /**
+     * Delivers all readable events the subscriber has not received yet.
+     *
+     * @param subscriber the subscriber
+     * @return number of delivered events
+     */
+    int relay(DomainEventSubscriber subscriber) {
+        DomainEventSubscription subscription = subscriptionRepository.findById(subscriber.subscriberName())
+                .orElseGet(() -> new DomainEventSubscription(subscriber.subscriberName()));
+        int batchSize = properties.getRelayBatchSize();
+        int delivered = 0;
+        List<DomainEvent> batch = eventService.getEventsAfter(subscription.getLastEventId(), batchSize);
+        while (!batch.isEmpty()) {
+            long startPosition = subscription.getLastEventId();
+            boolean failed = false;
+            for (DomainEvent event : batch) {
+                try {
+                    subscriber.onEvent(event);
+                } catch (RuntimeException e) {
+                    log.warn("Subscriber {} failed to handle event {}, retrying on the next run",
+                             subscriber.subscriberName(), event.id(), e);
+                    failed = true;
+                    break;
+                }
+                subscription.setLastEventId(event.id());
+                delivered++;
+            }
+            if (subscription.getLastEventId() != startPosition) {
+                subscription = subscriptionRepository.save(subscription);
+            }
+            if (failed || batch.size() < batchSize) {
+                break;
+            }
+            batch = eventService.getEventsAfter(subscription.getLastEventId(), batchSize);
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,85 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository of the domain event stream. Writes are native SQL appending rows without loading them into
+ * the persistence context; aggregate and change types are passed as names.
+ */
+interface DomainEventRepository extends JpaRepository<StoredDomainEvent, Long> {
+
+    /**
+     * Returns the highest id visible to the calling transaction, including its own uncommitted events.
+     *
+     * @return highest id, or 0 when the stream is empty
+     */
+    @Query(nativeQuery = true, value = "SELECT COALESCE(MAX(id), 0) FROM domain_events")
+    long findLastId();
+
+    /**
+     * Appends one event.
+     *
+     * @param aggregateType name of the aggregate type
+     * @param aggregateId id of the changed entity
+     * @param changeType name of the change type
+     * @param userId id of the owning user, if any
+     * @param occurredAt time of the change
+     * @return number of inserted rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO domain_events (aggregate_type, aggregate_id, change_type, user_id, occurred_at)
+            VALUES (:aggregateType, :aggregateId, :changeType, :userId, :occurredAt)
+            """)
+    int append(@Param("aggregateType") String aggregateType,
+               @Param("aggregateId") long aggregateId,
+               @Param("changeType") String changeType,
+               @Param("userId") Long userId,
+               @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Appends one event per training with a single statement, in the order of the training ids.
+     *
+     * @param changeType name of the change type
+     * @param trainingIds ids of the changed trainings
+     * @param occurredAt time of the change
+     * @return number of inserted rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            INSERT INTO domain_events (aggregate_type, aggregate_id, change_type, user_id, occurred_at)
+            SELECT 'TRAINING', id, :changeType, user_id, :occurredAt
+            FROM trainings
+            WHERE id IN (:trainingIds)
+            ORDER BY id
+            """)
+    int appendTrainings(@Param("changeType") String changeType,
+                        @Param("trainingIds") Collection<Long> trainingIds,
+                        @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Reads events after the given position and below the given bound.
+     *
+     * @param afterId position of the last event already read
+     * @param beforeId exclusive upper bound of returned positions
+     * @param limit maximum number of returned events
+     * @return events ordered by their position
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.event.api.DomainEvent(
+                e.id, e.aggregateType, e.aggregateId, e.changeType, e.userId, e.occurredAt)
+            FROM StoredDomainEvent e
+            WHERE e.id > :afterId AND e.id < :beforeId
+            ORDER BY e.id
+            """)
+    List<DomainEvent> findAfter(@Param("afterId") long afterId, @Param("beforeId") long beforeId, Limit limit);
+}
@@ -0,0 +1,122 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.AggregateType;
+import com.capgemini.wsb.fitnesstracker.event.api.ChangeType;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEventProvider;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends changes to the domain event stream and reads it back.
+ *
+ * <p>Event ids come from an identity column, which assigns them at insertion, but transactions may commit in
+ * a different order. Events are collected for the transaction and written right before it commits, through
+ * {@link DomainEventWatermark}, which keeps the ids of uncommitted transactions in flight until they complete. Reads
+ * only return events below the lowest id in flight, so a reader that sees an event will never see an event with
+ * a lower id appear later. A missing id belongs to a transaction that rolled back after writing its events; such
+ * a gap is final and is simply passed over.</p>
+ *
+ * <p>Transactions commit concurrently; only the event insert statements run one at a time. A transaction that is
+ * slow to commit after writing its events holds back the events of later transactions from readers, not the
+ * transactions themselves. The recorded time of a change is taken when the change is made, so it may be slightly
+ * out of order with the ids.</p>
+ */
+@Service
+@RequiredArgsConstructor
+class DomainEventServiceImpl implements DomainEventProvider {
+
+    /**
+     * Maximum number of events returned by a single read.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final DomainEventRepository eventRepository;
+    private final DomainEventWatermark watermark;
+
+    /**
+     * Appends one event. Must be called within the transaction that made the change; the event is written when
+     * the transaction commits.
+     *
+     * @param aggregateType kind of the changed entity
+     * @param aggregateId id of the changed entity
+     * @param changeType kind of the change
+     * @param userId id of the user owning the entity after the change, if any
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(AggregateType aggregateType, long aggregateId, ChangeType changeType, @Nullable Long userId) {
+        Instant occurredAt = Instant.now();
+        pendingAppends().add(() -> eventRepository.append(aggregateType.name(), aggregateId, changeType.name(),
+                                                          userId, occurredAt));
+    }
+
+    /**
+     * Appends one event per training with a single statement. Must be called within the transaction that made
+     * the change; the events are written when the transaction commits.
+     *
+     * @param changeType kind of the change
+     * @param trainingIds ids of the changed trainings
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendTrainings(ChangeType changeType, Collection<Long> trainingIds) {
+        if (!trainingIds.isEmpty()) {
+            Instant occurredAt = Instant.now();
+            List<Long> ids = List.copyOf(trainingIds);
+            pendingAppends().add(() -> eventRepository.appendTrainings(changeType.name(), ids, occurredAt));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DomainEvent> getEventsAfter(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        return eventRepository.findAfter(afterId, watermark.visibleBelow(), Limit.of(limit));
+    }
+
+    /**
+     * Returns the appends collected for the current transaction, registering the synchronization writing them
+     * on first use.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Runnable> pendingAppends() {
+        List<Runnable> pending = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Runnable> appends = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, appends);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                private long bound = -1;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    eventRepository.flush();
+                    bound = watermark.append(appends);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (bound >= 0) {
+                        watermark.completed(bound);
+                    }
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventServiceImpl.this);
+                }
+            });
+            pending = appends;
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEventSubscriber;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Position of a {@link DomainEventSubscriber} in the domain event stream.
+ */
+@Entity
+@Table(name = "domain_event_subscriptions")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class DomainEventSubscription {
+
+    @Id
+    @Column(name = "subscriber", length = 100)
+    private String subscriber;
+
+    /**
+     * Id of the last event delivered to the subscriber.
+     */
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    DomainEventSubscription(String subscriber) {
+        this.subscriber = subscriber;
+    }
+}
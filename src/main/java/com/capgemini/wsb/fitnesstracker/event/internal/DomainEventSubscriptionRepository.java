@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository of the {@link DomainEventSubscription subscriber positions}.
+ */
+interface DomainEventSubscriptionRepository extends JpaRepository<DomainEventSubscription, String> {
+
+}
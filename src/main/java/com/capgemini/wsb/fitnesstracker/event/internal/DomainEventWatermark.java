@@ -0,0 +1,127 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks which event ids can no longer be preceded by an event that is still to be committed.
+ *
+ * <p>Event inserts of all transactions run one after another, so every transaction knows, before inserting, that its
+ * ids will be higher than the last id inserted so far. That bound is registered as in flight until the transaction
+ * completes. Readers only return ids below the lowest bound in flight, and below the next id to be inserted, so an id
+ * is readable only once every lower id has been committed or rolled back. Only the insert statements are serialized;
+ * transactions commit concurrently.</p>
+ *
+ * <p>The bounds are kept in memory, so every event must be appended through this application instance.</p>
+ */
+@Component
+@RequiredArgsConstructor
+class DomainEventWatermark {
+
+    private final DomainEventRepository eventRepository;
+
+    /**
+     * Serializes inserts of events, not the commits of their transactions.
+     */
+    private final Lock appendLock = new ReentrantLock();
+
+    /**
+     * Guards {@link #inFlight} and {@link #lastInsertedId}.
+     */
+    private final Lock stateLock = new ReentrantLock();
+
+    /**
+     * Lowest id each uncommitted transaction may have inserted, with the number of transactions sharing it.
+     */
+    private final NavigableMap<Long, Integer> inFlight = new TreeMap<>();
+
+    /**
+     * Highest id inserted so far, or -1 until read from the stream.
+     */
+    private long lastInsertedId = -1;
+
+    /**
+     * Runs the inserts of one transaction and registers their ids as in flight. Unless the inserts fail, the caller
+     * must pass the returned bound to {@link #completed(long)} when the transaction completes, whatever its outcome.
+     *
+     * @param appends inserts of the transaction's events
+     * @return lowest id the transaction may have inserted
+     */
+    long append(List<Runnable> appends) {
+        appendLock.lock();
+        try {
+            long bound = register();
+            try {
+                appends.forEach(Runnable::run);
+                long lastId = eventRepository.findLastId();
+                withState(() -> lastInsertedId = Math.max(lastInsertedId, lastId));
+            } catch (RuntimeException e) {
+                completed(bound);
+                throw e;
+            }
+            return bound;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the ids of a transaction as no longer in flight.
+     *
+     * @param bound value returned by {@link #append(List)}
+     */
+    void completed(long bound) {
+        withState(() -> inFlight.computeIfPresent(bound, (id, transactions) -> transactions == 1 ? null : transactions - 1));
+    }
+
+    /**
+     * Returns the lowest id that is not yet readable. Every id below it has been committed or rolled back.
+     *
+     * @return exclusive upper bound of readable ids
+     */
+    long visibleBelow() {
+        stateLock.lock();
+        try {
+            long next = lastInsertedId() + 1;
+            return inFlight.isEmpty() ? next : Math.min(next, inFlight.firstKey());
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private long register() {
+        stateLock.lock();
+        try {
+            long bound = lastInsertedId() + 1;
+            inFlight.merge(bound, 1, Integer::sum);
+            return bound;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Must be called with {@link #stateLock} held.
+     */
+    private long lastInsertedId() {
+        if (lastInsertedId < 0) {
+            lastInsertedId = eventRepository.findLastId();
+        }
+        return lastInsertedId;
+    }
+
+    private void withState(Runnable action) {
+        stateLock.lock();
+        try {
+            action.run();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+}
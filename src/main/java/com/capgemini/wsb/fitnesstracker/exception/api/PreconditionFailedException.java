@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.exception.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Generic business exception indicating that a conditional request was based on an outdated version of a resource
+ * (e.g. its {@code If-Match} header does not match the current version).
+ * Will resolve to the {@link HttpStatus#PRECONDITION_FAILED} if handled by the Spring's exception handler.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
@@ -2,6 +2,7 @@ package com.capgemini.wsb.fitnesstracker.loader;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CalorieModel;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -13,8 +14,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +34,8 @@ import static java.util.Objects.isNull;
 @ToString
 class InitialDataLoader {
 
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     @Autowired
     private JpaRepository<User, Long> userRepository;
 
@@ -80,88 +85,90 @@ class InitialDataLoader {
     private List<Training> generateTrainingData(List<User> users) {
         List<Training> trainingData = new ArrayList<>();
 
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-
-            Training training1 = new Training(users.get(0),
-                                              sdf.parse("2024-01-19 08:00:00"),
-                                              sdf.parse("2024-01-19 09:30:00"),
-                                              ActivityType.RUNNING,
-                                              10.5,
-                                              8.2);
-            Training training2 = new Training(users.get(1),
-                                              sdf.parse("2024-01-18 15:30:00"),
-                                              sdf.parse("2024-01-18 17:00:00"),
-                                              ActivityType.CYCLING,
-                                              25.0,
-                                              18.5);
-            Training training3 = new Training(users.get(2),
-                                              sdf.parse("2024-01-17 07:45:00"),
-                                              sdf.parse("2024-01-17 09:00:00"),
-                                              ActivityType.WALKING,
-                                              5.2,
-                                              5.8);
-            Training training4 = new Training(users.get(3),
-                                              sdf.parse("2024-01-16 18:00:00"),
-                                              sdf.parse("2024-01-16 19:30:00"),
-                                              ActivityType.RUNNING,
-                                              12.3,
-                                              9.0);
-            Training training5 = new Training(users.get(4),
-                                              sdf.parse("2024-01-15 12:30:00"),
-                                              sdf.parse("2024-01-15 13:45:00"),
-                                              ActivityType.CYCLING,
-                                              18.7,
-                                              15.3);
-            Training training6 = new Training(users.get(5),
-                                              sdf.parse("2024-01-14 09:00:00"),
-                                              sdf.parse("2024-01-14 10:15:00"),
-                                              ActivityType.WALKING,
-                                              3.5,
-                                              4.0);
-            Training training7 = new Training(users.get(6),
-                                              sdf.parse("2024-01-13 16:45:00"),
-                                              sdf.parse("2024-01-13 18:30:00"),
-                                              ActivityType.RUNNING,
-                                              15.0,
-                                              10.8);
-            Training training8 = new Training(users.get(7),
-                                              sdf.parse("2024-01-12 11:30:00"),
-                                              sdf.parse("2024-01-12 12:45:00"),
-                                              ActivityType.CYCLING,
-                                              22.5,
-                                              17.2);
-            Training training9 = new Training(users.get(8),
-                                              sdf.parse("2024-01-11 07:15:00"),
-                                              sdf.parse("2024-01-11 08:30:00"),
-                                              ActivityType.WALKING,
-                                              4.2,
-                                              4.5);
-            Training training10 = new Training(users.get(9),
-                                               sdf.parse("2024-01-10 14:00:00"),
-                                               sdf.parse("2024-01-10 15:15:00"),
-                                               ActivityType.RUNNING,
-                                               11.8,
-                                               8.5);
-
-            trainingData.add(training1);
-            trainingData.add(training2);
-            trainingData.add(training3);
-            trainingData.add(training4);
-            trainingData.add(training5);
-            trainingData.add(training6);
-            trainingData.add(training7);
-            trainingData.add(training8);
-            trainingData.add(training9);
-            trainingData.add(training10);
-
-            trainingData.forEach(training -> trainingRepository.save(training));
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
+        Training training1 = new Training(users.get(0),
+                                          parse("2024-01-19 08:00:00"),
+                                          parse("2024-01-19 09:30:00"),
+                                          ActivityType.RUNNING,
+                                          10.5,
+                                          8.2);
+        Training training2 = new Training(users.get(1),
+                                          parse("2024-01-18 15:30:00"),
+                                          parse("2024-01-18 17:00:00"),
+                                          ActivityType.CYCLING,
+                                          25.0,
+                                          18.5);
+        Training training3 = new Training(users.get(2),
+                                          parse("2024-01-17 07:45:00"),
+                                          parse("2024-01-17 09:00:00"),
+                                          ActivityType.WALKING,
+                                          5.2,
+                                          5.8);
+        Training training4 = new Training(users.get(3),
+                                          parse("2024-01-16 18:00:00"),
+                                          parse("2024-01-16 19:30:00"),
+                                          ActivityType.RUNNING,
+                                          12.3,
+                                          9.0);
+        Training training5 = new Training(users.get(4),
+                                          parse("2024-01-15 12:30:00"),
+                                          parse("2024-01-15 13:45:00"),
+                                          ActivityType.CYCLING,
+                                          18.7,
+                                          15.3);
+        Training training6 = new Training(users.get(5),
+                                          parse("2024-01-14 09:00:00"),
+                                          parse("2024-01-14 10:15:00"),
+                                          ActivityType.WALKING,
+                                          3.5,
+                                          4.0);
+        Training training7 = new Training(users.get(6),
+                                          parse("2024-01-13 16:45:00"),
+                                          parse("2024-01-13 18:30:00"),
+                                          ActivityType.RUNNING,
+                                          15.0,
+                                          10.8);
+        Training training8 = new Training(users.get(7),
+                                          parse("2024-01-12 11:30:00"),
+                                          parse("2024-01-12 12:45:00"),
+                                          ActivityType.CYCLING,
+                                          22.5,
+                                          17.2);
+        Training training9 = new Training(users.get(8),
+                                          parse("2024-01-11 07:15:00"),
+                                          parse("2024-01-11 08:30:00"),
+                                          ActivityType.WALKING,
+                                          4.2,
+                                          4.5);
+        Training training10 = new Training(users.get(9),
+                                           parse("2024-01-10 14:00:00"),
+                                           parse("2024-01-10 15:15:00"),
+                                           ActivityType.RUNNING,
+                                           11.8,
+                                           8.5);
+
+        trainingData.add(training1);
+        trainingData.add(training2);
+        trainingData.add(training3);
+        trainingData.add(training4);
+        trainingData.add(training5);
+        trainingData.add(training6);
+        trainingData.add(training7);
+        trainingData.add(training8);
+        trainingData.add(training9);
+        trainingData.add(training10);
+
+        trainingData.forEach(training -> {
+            training.setCalories(CalorieModel.estimate(training));
+            trainingRepository.save(training);
+        });
 
         return trainingData;
     }
+
+    private static Instant parse(String timestamp) {
+        return LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
     private void verifyDependenciesAutowired() {
         if (isNull(userRepository)) {
             throw new IllegalStateException("Initial data loader was not autowired correctly " + this);
@@ -0,0 +1,241 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CalorieModel;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Synthetic data generator for load testing. If the application is run with `generateSyntheticData` profile, then on
+ * application startup it fills the database with a configurable number of generated users and trainings.
+ *
+ * <p>All values come from a random generator with a fixed seed, so the same configuration always produces the same
+ * data set. Users are split into chunks; every chunk is written in its own transaction with batched JDBC inserts and
+ * chunks are written in parallel. Identifiers are reserved up front above the current id sequences, which are moved
+ * past the generated rows afterwards. The inserts bypass the training services, so the statistics and training
+ * rollups are rebuilt once at the end.</p>
+ */
+@Component
+@Profile(SyntheticDataGenerator.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+class SyntheticDataGenerator {
+
+    static final String PROFILE = "generateSyntheticData";
+
+    private static final String INSERT_USER = """
+            insert into users (id, first_name, last_name, birthdate, email, email_normalized)
+            values (?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_TRAINING = """
+            insert into trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed, calories)
+            values (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String[] FIRST_NAMES = {"Emma", "Ethan", "Olivia", "Daniel", "Sophia", "Liam", "Ava", "Noah",
+            "Grace", "Oliver", "Anna", "Jan", "Maria", "Piotr", "Zofia", "Jakub"};
+    private static final String[] LAST_NAMES = {"Johnson", "Taylor", "Davis", "Thomas", "Baker", "Jones", "Williams",
+            "Miller", "Anderson", "Swift", "Nowak", "Kowalski", "Wiśniewski", "Wójcik", "Kamiński", "Lewandowski"};
+
+    private static final int MIN_AGE = 16;
+    private static final int MAX_AGE = 80;
+    private static final int FIRST_START_HOUR = 6;
+    private static final int LAST_START_HOUR = 21;
+
+    /**
+     * Share of every activity type and the ranges of its speed (km/h) and duration (minutes).
+     */
+    private static final Map<ActivityType, ActivityProfile> ACTIVITY_PROFILES = new EnumMap<>(Map.of(
+            ActivityType.RUNNING, new ActivityProfile(30, 10.0, 1.5, 20, 90),
+            ActivityType.CYCLING, new ActivityProfile(25, 22.0, 4.0, 30, 180),
+            ActivityType.WALKING, new ActivityProfile(30, 5.0, 0.7, 20, 120),
+            ActivityType.SWIMMING, new ActivityProfile(10, 2.5, 0.5, 20, 60),
+            ActivityType.TENNIS, new ActivityProfile(5, 6.0, 1.0, 45, 120)));
+    private static final int TOTAL_WEIGHT = ACTIVITY_PROFILES.values().stream().mapToInt(ActivityProfile::weight).sum();
+
+    private final SyntheticDataProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatisticsProvider statisticsProvider;
+    private final TrainingRollupProvider trainingRollupProvider;
+    private final SimpleAsyncTaskExecutorBuilder executorBuilder;
+
+    @EventListener
+    public void loadSyntheticData(ContextRefreshedEvent event) {
+        generate();
+    }
+
+    /**
+     * Generates and inserts the configured number of users and trainings.
+     */
+    void generate() {
+        int users = properties.getUsers();
+        int trainingsPerUser = properties.getTrainingsPerUser();
+        long trainings = (long) users * trainingsPerUser;
+        log.info("Generating {} users with {} trainings each (seed {})", users, trainingsPerUser, properties.getSeed());
+        long started = System.nanoTime();
+
+        long userIdBase = reserveIds("users", "users_seq");
+        long trainingIdBase = reserveIds("trainings", "trainings_seq");
+        LocalDate endDate = properties.getEndDate() != null ? properties.getEndDate() : LocalDate.now();
+
+        SplittableRandom seeds = new SplittableRandom(properties.getSeed());
+        SimpleAsyncTaskExecutor executor = executorBuilder.threadNamePrefix("synthetic-data-")
+                .concurrencyLimit(properties.getThreads())
+                .build();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int firstUser = 0; firstUser < users; firstUser += properties.getChunkSize()) {
+                ChunkWriter chunk = new ChunkWriter(firstUser,
+                                                    Math.min(users, firstUser + properties.getChunkSize()),
+                                                    userIdBase,
+                                                    trainingIdBase,
+                                                    endDate,
+                                                    seeds.split());
+                results.add(executor.submit(chunk::write));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } finally {
+            executor.close();
+        }
+
+        restartSequence("users_seq", userIdBase + users + User.ID_ALLOCATION_SIZE);
+        restartSequence("trainings_seq", trainingIdBase + trainings + Training.ID_ALLOCATION_SIZE);
+        statisticsProvider.rebuildAllStatistics();
+        trainingRollupProvider.rebuildAllRollups();
+        log.info("Generated {} users and {} trainings in {}", users, trainings, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Returns an id above both the existing rows and the ids Hibernate may still hold from its pooled sequence block.
+     */
+    private long reserveIds(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        Long nextValue = jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+        return Math.max(maxId, nextValue);
+    }
+
+    private void restartSequence(String sequence, long value) {
+        jdbcTemplate.execute("alter sequence %s restart with %d".formatted(sequence, value));
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += properties.getBatchSize()) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + properties.getBatchSize())));
+        }
+    }
+
+    private record ActivityProfile(int weight, double meanSpeed, double speedDeviation, int minMinutes, int maxMinutes) {
+    }
+
+    /**
+     * Generates and writes the users with indexes {@code [firstUser, lastUser)} and their trainings.
+     */
+    private class ChunkWriter {
+
+        private final int firstUser;
+        private final int lastUser;
+        private final long userIdBase;
+        private final long trainingIdBase;
+        private final LocalDate endDate;
+        private final SplittableRandom random;
+
+        ChunkWriter(int firstUser, int lastUser, long userIdBase, long trainingIdBase, LocalDate endDate, SplittableRandom random) {
+            this.firstUser = firstUser;
+            this.lastUser = lastUser;
+            this.userIdBase = userIdBase;
+            this.trainingIdBase = trainingIdBase;
+            this.endDate = endDate;
+            this.random = random;
+        }
+
+        void write() {
+            int trainingsPerUser = properties.getTrainingsPerUser();
+            List<Object[]> users = new ArrayList<>(lastUser - firstUser);
+            List<Object[]> trainings = new ArrayList<>((lastUser - firstUser) * trainingsPerUser);
+            for (int index = firstUser; index < lastUser; index++) {
+                long userId = userIdBase + index + 1;
+                Object[] user = userRow(userId);
+                users.add(user);
+                long birthEpochDay = ((LocalDate) user[3]).toEpochDay();
+                long firstTrainingId = trainingIdBase + (long) index * trainingsPerUser + 1;
+                for (int i = 0; i < trainingsPerUser; i++) {
+                    trainings.add(trainingRow(firstTrainingId + i, userId, birthEpochDay));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(INSERT_USER, users);
+                insert(INSERT_TRAINING, trainings);
+            });
+        }
+
+        private Object[] userRow(long id) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDate birthdate = endDate.minusYears(random.nextInt(MIN_AGE, MAX_AGE + 1)).minusDays(random.nextInt(365));
+            String email = "%s.%s.%d@synthetic.test".formatted(firstName, lastName, id);
+            return new Object[]{id, firstName, lastName, birthdate, email, User.normalizeEmail(email)};
+        }
+
+        private Object[] trainingRow(long id, long userId, long birthEpochDay) {
+            ActivityType activityType = nextActivityType();
+            ActivityProfile profile = ACTIVITY_PROFILES.get(activityType);
+            LocalDateTime startTime = endDate.minusDays(random.nextInt(properties.getHistoryDays()))
+                    .atTime(random.nextInt(FIRST_START_HOUR, LAST_START_HOUR + 1), random.nextInt(60));
+            int minutes = random.nextInt(profile.minMinutes(), profile.maxMinutes() + 1);
+            double speed = Math.max(profile.meanSpeed() / 4,
+                                    profile.meanSpeed() + random.nextGaussian() * profile.speedDeviation());
+            double averageSpeed = Math.round(speed * 10) / 10.0;
+            double distance = Math.round(averageSpeed * minutes / 60 * 100) / 100.0;
+            int age = CalorieModel.ageInYears(birthEpochDay, startTime.toLocalDate().toEpochDay());
+            return new Object[]{id,
+                    userId,
+                    Timestamp.valueOf(startTime),
+                    Timestamp.valueOf(startTime.plusMinutes(minutes)),
+                    activityType.ordinal(),
+                    distance,
+                    averageSpeed,
+                    CalorieModel.estimate(activityType, minutes * 60L, distance, averageSpeed, age)};
+        }
+
+        private ActivityType nextActivityType() {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Map.Entry<ActivityType, ActivityProfile> entry : ACTIVITY_PROFILES.entrySet()) {
+                roll -= entry.getValue().weight();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Activity weights do not add up to " + TOTAL_WEIGHT);
+        }
+    }
+}
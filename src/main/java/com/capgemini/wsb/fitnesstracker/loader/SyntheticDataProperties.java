@@ -0,0 +1,75 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration of the {@link SyntheticDataGenerator}.
+ */
+@ConfigurationProperties(prefix = "fitness-tracker.generator")
+@Getter
+class SyntheticDataProperties {
+
+    /**
+     * Number of generated users.
+     */
+    private final int users;
+
+    /**
+     * Number of trainings generated for every user.
+     */
+    private final int trainingsPerUser;
+
+    /**
+     * Seed of the random generator. The same seed and sizes always produce the same data set.
+     */
+    private final long seed;
+
+    /**
+     * Number of users (together with their trainings) written in one transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of rows sent to the database in one JDBC batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of chunks written in parallel.
+     */
+    private final int threads;
+
+    /**
+     * Number of days before {@link #endDate} over which the trainings are spread.
+     */
+    private final int historyDays;
+
+    /**
+     * Last day of the generated history, today if not set.
+     */
+    @Nullable
+    private final LocalDate endDate;
+
+    SyntheticDataProperties(@DefaultValue("1000") int users,
+                            @DefaultValue("20") int trainingsPerUser,
+                            @DefaultValue("42") long seed,
+                            @DefaultValue("500") int chunkSize,
+                            @DefaultValue("1000") int batchSize,
+                            @DefaultValue("4") int threads,
+                            @DefaultValue("365") int historyDays,
+                            @Nullable LocalDate endDate) {
+        this.users = users;
+        this.trainingsPerUser = trainingsPerUser;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.threads = threads;
+        this.historyDays = historyDays;
+        this.endDate = endDate;
+    }
+}
@@ -2,16 +2,17 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.time.Duration;
+
 /**
  * Configuration of the {@link EmailSender} (additional to the Spring mail configuration for {@link JavaMailSender} bean autoconfiguration).
  */
 @ConfigurationProperties(prefix = "mail")
 @Getter
-@RequiredArgsConstructor
 class MailProperties {
 
     /**
@@ -19,4 +20,54 @@ class MailProperties {
      */
     private final String from;
 
+    /**
+     * Configuration of the outbox dispatcher delivering queued emails.
+     */
+    private final Outbox outbox;
+
+    MailProperties(String from, @DefaultValue Outbox outbox) {
+        this.from = from;
+        this.outbox = outbox;
+    }
+
+    @Getter
+    static class Outbox {
+
+        /**
+         * Maximum number of emails sent over a single SMTP connection.
+         */
+        private final int batchSize;
+
+        /**
+         * Maximum number of emails sent per second.
+         */
+        private final double maxPerSecond;
+
+        /**
+         * Number of delivery attempts after which the email is moved to the dead letter state.
+         */
+        private final int maxAttempts;
+
+        /**
+         * Delay before the first retry; doubled with every following attempt.
+         */
+        private final Duration initialBackoff;
+
+        /**
+         * Upper bound of the retry delay.
+         */
+        private final Duration maxBackoff;
+
+        Outbox(@DefaultValue("50") int batchSize,
+               @DefaultValue("10") double maxPerSecond,
+               @DefaultValue("5") int maxAttempts,
+               @DefaultValue("30s") Duration initialBackoff,
+               @DefaultValue("1h") Duration maxBackoff) {
+            this.batchSize = batchSize;
+            this.maxPerSecond = maxPerSecond;
+            this.maxAttempts = maxAttempts;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Email queued for asynchronous delivery.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "ix_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(exclude = "content")
+class OutboxEmail {
+
+    static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "to_address", nullable = false)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "content", nullable = false, length = 65_535)
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxEmailStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Nullable
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Nullable
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    OutboxEmail(EmailDto email, Instant now) {
+        this.toAddress = email.toAddress();
+        this.subject = email.subject();
+        this.content = email.content();
+        this.status = OutboxEmailStatus.PENDING;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    void markSent(Instant now) {
+        this.status = OutboxEmailStatus.SENT;
+        this.attempts++;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * Records a failed delivery attempt and either schedules a retry with exponential backoff or moves the email
+     * to the dead letter state.
+     */
+    void markFailed(String error, Instant now, MailProperties.Outbox config) {
+        this.attempts++;
+        this.lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (attempts >= config.getMaxAttempts()) {
+            this.status = OutboxEmailStatus.DEAD;
+            return;
+        }
+        long multiplier = 1L << Math.min(attempts - 1, 30);
+        long backoffMillis = Math.min(config.getInitialBackoff().toMillis() * multiplier, config.getMaxBackoff().toMillis());
+        this.nextAttemptAt = now.plusMillis(backoffMillis);
+    }
+}
@@ -0,0 +1,128 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers emails queued in the outbox.
+ *
+ * <p>Due emails are sent in batches; every batch is handed to {@link JavaMailSender} at once, so it is delivered over
+ * a single SMTP connection. Sending is throttled to {@code mail.outbox.max-per-second}. Failed emails are retried with
+ * exponential backoff and moved to the dead letter state after {@code mail.outbox.max-attempts} attempts.</p>
+ *
+ * <p>The dispatcher is only active when an SMTP server is configured ({@code spring.mail.host}). It assumes a single
+ * application instance polls the outbox.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.mail", name = "host")
+@RequiredArgsConstructor
+@Slf4j
+class OutboxEmailDispatcher {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final MailProperties mailProperties;
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT5S}")
+    void dispatchScheduled() {
+        try {
+            dispatchPending();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends all emails that are due for delivery.
+     *
+     * @return number of successfully delivered emails
+     * @throws InterruptedException if interrupted while throttling
+     */
+    int dispatchPending() throws InterruptedException {
+        MailProperties.Outbox config = mailProperties.getOutbox();
+        int delivered = 0;
+        List<OutboxEmail> batch = outboxEmailRepository.findDue(Instant.now(), Limit.of(config.getBatchSize()));
+        while (!batch.isEmpty()) {
+            long startedAt = System.nanoTime();
+            delivered += sendBatch(batch, config);
+            throttle(batch.size(), startedAt, config);
+            batch = outboxEmailRepository.findDue(Instant.now(), Limit.of(config.getBatchSize()));
+        }
+        return delivered;
+    }
+
+    private int sendBatch(List<OutboxEmail> batch, MailProperties.Outbox config) {
+        Map<SimpleMailMessage, OutboxEmail> messages = new IdentityHashMap<>();
+        for (OutboxEmail email : batch) {
+            messages.put(toMessage(email), email);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        String batchError = null;
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchError = describe(e);
+            }
+        } catch (MailException e) {
+            batchError = describe(e);
+        }
+
+        Instant now = Instant.now();
+        int delivered = 0;
+        for (Map.Entry<SimpleMailMessage, OutboxEmail> entry : messages.entrySet()) {
+            OutboxEmail email = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (batchError != null) {
+                email.markFailed(batchError, now, config);
+            } else if (failure != null) {
+                email.markFailed(describe(failure), now, config);
+            } else {
+                email.markSent(now);
+                delivered++;
+            }
+            if (email.getStatus() == OutboxEmailStatus.DEAD) {
+                log.warn("Email {} to {} moved to dead letter after {} attempts: {}",
+                         email.getId(), email.getToAddress(), email.getAttempts(), email.getLastError());
+            }
+        }
+        outboxEmailRepository.saveAll(batch);
+        return delivered;
+    }
+
+    private SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(mailProperties.getFrom());
+        message.setTo(email.getToAddress());
+        message.setSubject(email.getSubject());
+        message.setText(email.getContent());
+        return message;
+    }
+
+    private static void throttle(int sent, long startedAt, MailProperties.Outbox config) throws InterruptedException {
+        long minimumNanos = (long) (sent / config.getMaxPerSecond() * 1_000_000_000L);
+        long remainingNanos = minimumNanos - (System.nanoTime() - startedAt);
+        if (remainingNanos > 0) {
+            Thread.sleep(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+        }
+    }
+
+    private static String describe(Exception e) {
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+}
@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Finds pending emails whose next delivery attempt is due, oldest first.
+     *
+     * @param now current time
+     * @param limit maximum number of returned emails
+     * @return due emails
+     */
+    @Query("""
+            SELECT e FROM OutboxEmail e
+            WHERE e.status = com.capgemini.wsb.fitnesstracker.mail.internal.OutboxEmailStatus.PENDING
+              AND e.nextAttemptAt <= :now
+            ORDER BY e.nextAttemptAt, e.id
+            """)
+    List<OutboxEmail> findDue(@Param("now") Instant now, Limit limit);
+
+    long countByStatus(OutboxEmailStatus status);
+}
@@ -0,0 +1,27 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * {@link EmailSender} storing emails in the outbox table. The email is stored in the caller's transaction (if any),
+ * so it is only delivered when the business change that caused it commits. Delivery is performed asynchronously
+ * by {@link OutboxEmailDispatcher}; callers never wait for the SMTP server.
+ */
+@Service
+@RequiredArgsConstructor
+class OutboxEmailSender implements EmailSender {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    @Override
+    @Transactional
+    public void send(EmailDto email) {
+        outboxEmailRepository.save(new OutboxEmail(email, Instant.now()));
+    }
+}
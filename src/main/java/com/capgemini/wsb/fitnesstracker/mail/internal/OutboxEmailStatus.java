@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+/**
+ * Delivery state of an {@link OutboxEmail}.
+ */
+enum OutboxEmailStatus {
+
+    /**
+     * Waiting for (another) delivery attempt.
+     */
+    PENDING,
+
+    /**
+     * Delivered to the SMTP server.
+     */
+    SENT,
+
+    /**
+     * Delivery failed too many times; the email will not be retried.
+     */
+    DEAD
+
+}
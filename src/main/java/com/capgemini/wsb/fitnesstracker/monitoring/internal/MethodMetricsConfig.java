@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Times every public method of the {@code *ServiceImpl} services and {@code *Repository} repositories in the
+ * {@code internal} packages of the modules.
+ *
+ * <p>Components are selected by name patterns, so this module does not depend on the modules it measures.
+ * Repositories are JDK proxies, hence they are matched by their interfaces instead of {@code within}. Advisors are
+ * used instead of {@code @Aspect} classes to avoid allocating a join point for every call.</p>
+ */
+@Configuration
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+class MethodMetricsConfig {
+
+    private static final String PUBLIC_METHODS = "execution(public * *(..)) && !execution(* java.lang.Object.*(..))";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return metricsAdvisor(meterRegistry, "service",
+                              PUBLIC_METHODS + " && within(com.capgemini.wsb.fitnesstracker..internal.*ServiceImpl)");
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor repositoryMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return metricsAdvisor(meterRegistry, "repository",
+                              PUBLIC_METHODS + " && execution(* com.capgemini.wsb.fitnesstracker..internal.*Repository+.*(..))");
+    }
+
+    private static Advisor metricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry, String layer, String expression) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(expression);
+        return new DefaultPointcutAdvisor(pointcut, new MethodMetricsInterceptor(meterRegistry, layer));
+    }
+}
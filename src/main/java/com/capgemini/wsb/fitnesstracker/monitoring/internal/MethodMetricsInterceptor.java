@@ -0,0 +1,93 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.eclipse.jdt.annotation.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a timer and an error counter for every intercepted method of the components of a single layer.
+ *
+ * <p>The component is named after the class of the invocation target, or after the proxied interface when
+ * the target is a JDK proxy, as repositories are. Meters are registered on the first call of a method and cached by
+ * target class and {@link Method}, so a regular call only does two map lookups, two {@link System#nanoTime()} reads
+ * and the timer update, without building tags or meter ids. The registry is resolved lazily because advisors are
+ * created before the meter registry is fully configured.</p>
+ */
+class MethodMetricsInterceptor implements MethodInterceptor {
+
+    static final String CALLS_METRIC = "fitness-tracker.calls";
+    static final String ERRORS_METRIC = "fitness-tracker.errors";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String layer;
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    MethodMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String layer) {
+        this.meterRegistry = meterRegistry;
+        this.layer = layer;
+    }
+
+    @Override
+    @Nullable
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() == null
+                ? invocation.getMethod().getDeclaringClass()
+                : invocation.getThis().getClass();
+        Map<Method, MethodMeters> componentMeters = meters.get(targetClass);
+        if (componentMeters == null) {
+            componentMeters = meters.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodMeters methodMeters = componentMeters.get(invocation.getMethod());
+        if (methodMeters == null) {
+            methodMeters = componentMeters.computeIfAbsent(invocation.getMethod(),
+                                                           method -> register(targetClass, method));
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            methodMeters.errors().increment();
+            throw e;
+        } finally {
+            methodMeters.calls().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MethodMeters register(Class<?> targetClass, Method method) {
+        MeterRegistry registry = meterRegistry.getObject();
+        Tags tags = Tags.of("layer", layer, "component", componentName(targetClass), "method", method.getName());
+        Timer calls = Timer.builder(CALLS_METRIC)
+                .description("Duration of service and repository calls")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        Counter errors = Counter.builder(ERRORS_METRIC)
+                .description("Service and repository calls which ended with an exception")
+                .tags(tags)
+                .register(registry);
+        return new MethodMeters(calls, errors);
+    }
+
+    private static String componentName(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass) && targetClass.getInterfaces().length > 0) {
+            return targetClass.getInterfaces()[0].getSimpleName();
+        }
+        return ClassUtils.getUserClass(targetClass).getSimpleName();
+    }
+
+    private record MethodMeters(Timer calls, Counter errors) {
+    }
+}
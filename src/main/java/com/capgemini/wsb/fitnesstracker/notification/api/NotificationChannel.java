@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.notification.api;
+
+/**
+ * Channel delivering notification digests to users. Every bean implementing this interface receives every digest.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Delivers the digest. Called on the notification dispatcher thread, one digest at a time, so implementations
+     * should hand slow work off (e.g. to the mail outbox). Exceptions are logged and do not affect other channels.
+     *
+     * @param digest the digest to deliver
+     */
+    void deliver(NotificationDigest digest);
+}
@@ -0,0 +1,31 @@
+package com.capgemini.wsb.fitnesstracker.notification.api;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notifications of one user received within one coalescing window, merged into a single message.
+ *
+ * @param userId id of the notified user
+ * @param counts number of notifications per type, only for types which occurred
+ * @param details descriptions of individual notifications (e.g. names of unlocked achievements), capped in length
+ * @param firstAt when the first notification of the digest was received
+ * @param lastAt when the last notification of the digest was received
+ */
+public record NotificationDigest(Long userId,
+                                 Map<NotificationType, Integer> counts,
+                                 List<String> details,
+                                 Instant firstAt,
+                                 Instant lastAt) {
+
+    /**
+     * Returns the number of notifications of the given type.
+     *
+     * @param type notification type
+     * @return number of notifications, 0 if none occurred
+     */
+    public int count(NotificationType type) {
+        return counts.getOrDefault(type, 0);
+    }
+}
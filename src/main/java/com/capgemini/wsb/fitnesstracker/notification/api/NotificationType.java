@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.notification.api;
+
+import lombok.Getter;
+
+/**
+ * Kinds of changes users are notified about.
+ */
+@Getter
+public enum NotificationType {
+
+    TRAINING_CREATED("Nowe treningi"),
+    USER_UPDATED("Zmiany danych konta"),
+    ACHIEVEMENT_UNLOCKED("Odblokowane osiągnięcia");
+
+    /**
+     * Name displayed to the user.
+     */
+    private final String displayName;
+
+    NotificationType(String displayName) {
+        this.displayName = displayName;
+    }
+}
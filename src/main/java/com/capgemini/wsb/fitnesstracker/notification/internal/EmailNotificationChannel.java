@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationChannel;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationDigest;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends each digest as a single email through the mail outbox. Digests of users who no longer exist are skipped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fitness-tracker.notification", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+class EmailNotificationChannel implements NotificationChannel {
+
+    static final String SUBJECT = "Podsumowanie aktywności na koncie";
+
+    private final UserProvider userProvider;
+    private final EmailSender emailSender;
+
+    @Override
+    public void deliver(NotificationDigest digest) {
+        userProvider.getUser(digest.userId())
+                .ifPresent(user -> emailSender.send(new EmailDto(user.getEmail(), SUBJECT, render(digest))));
+    }
+
+    private static String render(NotificationDigest digest) {
+        StringBuilder content = new StringBuilder("Ostatnie zmiany na Twoim koncie:\n\n");
+        for (NotificationType type : NotificationType.values()) {
+            int count = digest.count(type);
+            if (count > 0) {
+                content.append("- ").append(type.getDisplayName()).append(": ").append(count).append("\n");
+            }
+        }
+        if (!digest.details().isEmpty()) {
+            content.append("\n");
+            digest.details().forEach(detail -> content.append("* ").append(detail).append("\n"));
+        }
+        return content.toString();
+    }
+}
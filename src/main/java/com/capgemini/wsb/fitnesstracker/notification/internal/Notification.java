@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Single notification published to the {@link NotificationBus}. One notification may stand for several changes
+ * of the same type, e.g. all trainings of a user saved by one chunk of a bulk import.
+ *
+ * @param userId id of the notified user
+ * @param type kind of the change
+ * @param count number of changes the notification stands for
+ * @param detail description of the change included in the digest, if any
+ */
+record Notification(Long userId, NotificationType type, int count, @Nullable String detail) {
+
+    Notification(Long userId, NotificationType type, @Nullable String detail) {
+        this(userId, type, 1, detail);
+    }
+}
@@ -0,0 +1,153 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationChannel;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded asynchronous bus delivering notifications to the {@link NotificationChannel channels}.
+ *
+ * <p>Publishers only offer the notification to a bounded queue and never block; when the queue is full the
+ * notification is dropped and counted in the {@value #DROPPED_METRIC} metric. A single dispatcher thread drains
+ * the queue into the {@link NotificationCoalescer}, so a burst of notifications of one user (e.g. a bulk upload
+ * of trainings) results in a single digest per channel. Pending digests are flushed when the application stops.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "fitness-tracker.notification", name = "enabled", havingValue = "true")
+@Slf4j
+class NotificationBus implements SmartLifecycle {
+
+    static final String DROPPED_METRIC = "notifications.dropped";
+
+    /**
+     * Longest wait for new notifications, so that the dispatcher notices {@link #stop()} while idle.
+     */
+    private static final Duration MAX_POLL = Duration.ofSeconds(1);
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BlockingQueue<Notification> queue;
+    private final NotificationCoalescer coalescer;
+    private final List<NotificationChannel> channels;
+    private final SimpleAsyncTaskExecutorBuilder executorBuilder;
+    private final Counter dropped;
+    private final int drainBatchSize;
+    private volatile boolean running;
+    private CountDownLatch terminated = new CountDownLatch(0);
+
+    NotificationBus(NotificationProperties properties,
+                    List<NotificationChannel> channels,
+                    SimpleAsyncTaskExecutorBuilder executorBuilder,
+                    MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.coalescer = new NotificationCoalescer(properties.getCoalesceWindow(), properties.getMaxDetails());
+        this.channels = channels;
+        this.executorBuilder = executorBuilder;
+        this.dropped = meterRegistry.counter(DROPPED_METRIC);
+        this.drainBatchSize = properties.getQueueCapacity();
+    }
+
+    /**
+     * Queues the notification for delivery without blocking.
+     *
+     * @param notification the notification
+     * @return whether the notification was queued; false if the queue is full
+     */
+    boolean publish(Notification notification) {
+        if (queue.offer(notification)) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("Notification queue is full, dropping {} notification of user {}", notification.type(), notification.userId());
+        return false;
+    }
+
+    @Override
+    public void start() {
+        terminated = new CountDownLatch(1);
+        running = true;
+        executorBuilder.threadNamePrefix("notification-").build().execute(this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!terminated.await(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Notification dispatcher did not stop within {}", STOP_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<Notification> batch = new ArrayList<>();
+        try {
+            while (running) {
+                Notification first = queue.poll(pollTimeout(Instant.now()).toMillis(), TimeUnit.MILLISECONDS);
+                Instant now = Instant.now();
+                if (first != null) {
+                    coalescer.add(first, now);
+                    queue.drainTo(batch, drainBatchSize);
+                    batch.forEach(notification -> coalescer.add(notification, now));
+                    batch.clear();
+                }
+                deliver(coalescer.drainDue(now));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            Instant now = Instant.now();
+            queue.drainTo(batch);
+            batch.forEach(notification -> coalescer.add(notification, now));
+            deliver(coalescer.drainAll());
+            terminated.countDown();
+        }
+    }
+
+    private Duration pollTimeout(Instant now) {
+        Instant deadline = coalescer.nextDeadline();
+        if (deadline == null) {
+            return MAX_POLL;
+        }
+        Duration untilDeadline = Duration.between(now, deadline);
+        if (untilDeadline.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilDeadline.compareTo(MAX_POLL) < 0 ? untilDeadline : MAX_POLL;
+    }
+
+    private void deliver(List<NotificationDigest> digests) {
+        for (NotificationDigest digest : digests) {
+            for (NotificationChannel channel : channels) {
+                try {
+                    channel.deliver(digest);
+                } catch (RuntimeException e) {
+                    log.warn("Channel {} failed to deliver the digest of user {}",
+                             channel.getClass().getSimpleName(), digest.userId(), e);
+                }
+            }
+        }
+    }
+}
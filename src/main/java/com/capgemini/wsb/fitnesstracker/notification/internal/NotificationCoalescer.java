@@ -0,0 +1,117 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationDigest;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import org.eclipse.jdt.annotation.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges notifications of each user into one digest per coalescing window.
+ *
+ * <p>A user's window opens with their first pending notification and lasts {@code window}. Pending digests are kept
+ * in the order their windows opened, which is also the order of their deadlines, so finding the due digests only
+ * visits the due ones. Not thread-safe; owned by the dispatcher thread.</p>
+ */
+final class NotificationCoalescer {
+
+    private final Duration window;
+    private final int maxDetails;
+    private final Map<Long, PendingDigest> pending = new LinkedHashMap<>();
+
+    NotificationCoalescer(Duration window, int maxDetails) {
+        this.window = window;
+        this.maxDetails = maxDetails;
+    }
+
+    /**
+     * Adds the notification to its user's pending digest, opening a new window if there is none.
+     *
+     * @param notification the notification
+     * @param receivedAt when the notification was received
+     */
+    void add(Notification notification, Instant receivedAt) {
+        pending.computeIfAbsent(notification.userId(), userId -> new PendingDigest(userId, receivedAt))
+                .add(notification, receivedAt, maxDetails);
+    }
+
+    /**
+     * Returns the deadline of the oldest pending digest.
+     *
+     * @return the earliest deadline, or null if nothing is pending
+     */
+    @Nullable
+    Instant nextDeadline() {
+        Iterator<PendingDigest> iterator = pending.values().iterator();
+        return iterator.hasNext() ? iterator.next().firstAt.plus(window) : null;
+    }
+
+    /**
+     * Removes and returns the digests whose window has elapsed.
+     *
+     * @param now current time
+     * @return due digests, oldest first
+     */
+    List<NotificationDigest> drainDue(Instant now) {
+        List<NotificationDigest> due = new ArrayList<>();
+        Iterator<PendingDigest> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            PendingDigest digest = iterator.next();
+            if (digest.firstAt.plus(window).isAfter(now)) {
+                break;
+            }
+            due.add(digest.toDigest());
+            iterator.remove();
+        }
+        return due;
+    }
+
+    /**
+     * Removes and returns all pending digests regardless of their deadline.
+     *
+     * @return pending digests, oldest first
+     */
+    List<NotificationDigest> drainAll() {
+        List<NotificationDigest> all = pending.values().stream().map(PendingDigest::toDigest).toList();
+        pending.clear();
+        return all;
+    }
+
+    /**
+     * Notifications of one user collected within the current window.
+     */
+    private static final class PendingDigest {
+
+        private final Long userId;
+        private final Instant firstAt;
+        private final Map<NotificationType, Integer> counts = new EnumMap<>(NotificationType.class);
+        private final List<String> details = new ArrayList<>();
+        private Instant lastAt;
+
+        PendingDigest(Long userId, Instant firstAt) {
+            this.userId = userId;
+            this.firstAt = firstAt;
+            this.lastAt = firstAt;
+        }
+
+        void add(Notification notification, Instant receivedAt, int maxDetails) {
+            counts.merge(notification.type(), notification.count(), Integer::sum);
+            if (notification.detail() != null && details.size() < maxDetails) {
+                details.add(notification.detail());
+            }
+            lastAt = receivedAt;
+        }
+
+        NotificationDigest toDigest() {
+            return new NotificationDigest(userId, Collections.unmodifiableMap(counts), List.copyOf(details), firstAt, lastAt);
+        }
+    }
+}
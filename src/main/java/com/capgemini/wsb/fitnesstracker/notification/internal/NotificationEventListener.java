@@ -0,0 +1,63 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.AchievementUnlockedEvent;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns domain events into notifications. Listeners run after the transaction that published the event commits
+ * (or immediately when there is none), so rolled back changes are never notified.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fitness-tracker.notification", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+class NotificationEventListener {
+
+    private final NotificationBus notificationBus;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTrainingCreated(TrainingCreatedEvent event) {
+        User user = event.training().getUser();
+        if (user != null) {
+            notificationBus.publish(new Notification(user.getId(), NotificationType.TRAINING_CREATED, null));
+        }
+    }
+
+    /**
+     * Publishes one notification per user of the imported chunk, carrying the number of the user's trainings,
+     * so a large import takes one slot of the bus queue per user instead of one per training.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTrainingsImported(TrainingsImportedEvent event) {
+        Map<Long, Integer> trainingsByUser = new LinkedHashMap<>();
+        for (TrainingSnapshot training : event.trainings()) {
+            if (training.userId() != null) {
+                trainingsByUser.merge(training.userId(), 1, Integer::sum);
+            }
+        }
+        trainingsByUser.forEach((userId, trainings) -> notificationBus.publish(
+                new Notification(userId, NotificationType.TRAINING_CREATED, trainings, null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onUserUpdated(UserUpdatedEvent event) {
+        notificationBus.publish(new Notification(event.userId(), NotificationType.USER_UPDATED, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onAchievementUnlocked(AchievementUnlockedEvent event) {
+        notificationBus.publish(new Notification(event.userId(), NotificationType.ACHIEVEMENT_UNLOCKED,
+                                                 event.achievement().achievement().getDescription()));
+    }
+}
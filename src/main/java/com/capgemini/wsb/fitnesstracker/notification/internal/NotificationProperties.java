@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the notification pipeline.
+ */
+@ConfigurationProperties(prefix = "fitness-tracker.notification")
+@Getter
+class NotificationProperties {
+
+    /**
+     * Whether domain events are turned into notifications.
+     */
+    private final boolean enabled;
+
+    /**
+     * Maximum number of notifications waiting for the dispatcher; further notifications are dropped.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Time from the first notification of a user until their digest is delivered. Notifications of the same user
+     * received in the meantime are merged into the digest.
+     */
+    private final Duration coalesceWindow;
+
+    /**
+     * Maximum number of individual notification descriptions kept in one digest.
+     */
+    private final int maxDetails;
+
+    NotificationProperties(@DefaultValue("false") boolean enabled,
+                           @DefaultValue("10000") int queueCapacity,
+                           @DefaultValue("1m") Duration coalesceWindow,
+                           @DefaultValue("20") int maxDetails) {
+        this.enabled = enabled;
+        this.queueCapacity = queueCapacity;
+        this.coalesceWindow = coalesceWindow;
+        this.maxDetails = maxDetails;
+    }
+}
@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Punkt kontrolny generowania raportu za dany tydzień. Pozwala wznowić przerwane generowanie
+ * od ostatniej w pełni przetworzonej porcji użytkowników.
+ */
+@Entity
+@Table(name = "weekly_report_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class WeeklyReportCheckpoint {
+
+    /**
+     * Pierwszy dzień (poniedziałek) tygodnia, którego dotyczy raport.
+     */
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    /**
+     * Identyfikator ostatniego użytkownika, do którego raport został już wysłany.
+     */
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    /**
+     * Czy raport został wysłany do wszystkich użytkowników.
+     */
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    WeeklyReportCheckpoint(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+}
@@ -0,0 +1,137 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
+import com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Generuje tygodniowe raporty treningowe dla wszystkich użytkowników.
+ *
+ * <p>Użytkownicy przetwarzani są porcjami w kolejności identyfikatorów. Dla każdej porcji treningi z danego tygodnia
+ * pobierane są jednym zapytaniem grupującym, a porcje z jednej fali przetwarzane są równolegle przez ograniczoną
+ * liczbę wątków (wirtualnych, jeśli włączono {@code spring.threads.virtual.enabled}). Po każdej fali zapisywany jest
+ * punkt kontrolny, więc przerwane generowanie wznawia się od ostatniej zakończonej fali (raporty z niedokończonej fali
+ * mogą zostać wysłane ponownie).</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "fitness-tracker.report.weekly", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+class WeeklyReportGenerator {
+
+    private final UserProvider userProvider;
+    private final TrainingProvider trainingProvider;
+    private final EmailSender emailSender;
+    private final WeeklyReportRenderer renderer;
+    private final WeeklyReportCheckpointRepository checkpointRepository;
+    private final WeeklyReportProperties properties;
+    private final SimpleAsyncTaskExecutorBuilder executorBuilder;
+
+    /**
+     * Generuje i wysyła raporty za tydzień rozpoczynający się podanego dnia.
+     *
+     * @param weekStart pierwszy dzień tygodnia
+     * @return liczba wysłanych raportów
+     */
+    int generate(LocalDate weekStart) {
+        WeeklyReportCheckpoint checkpoint = checkpointRepository.findById(weekStart)
+                .orElseGet(() -> new WeeklyReportCheckpoint(weekStart));
+        if (checkpoint.isCompleted()) {
+            log.info("Weekly report for {} was already sent", weekStart);
+            return 0;
+        }
+        log.info("Generating weekly report for {} starting after user {}", weekStart, checkpoint.getLastUserId());
+
+        ZoneId zone = ZoneId.systemDefault();
+        Instant from = weekStart.atStartOfDay(zone).toInstant();
+        Instant to = weekStart.plusWeeks(1).atStartOfDay(zone).toInstant();
+
+        SimpleAsyncTaskExecutor executor = executorBuilder.threadNamePrefix("weekly-report-")
+                .concurrencyLimit(properties.getParallelism())
+                .build();
+        int sent = 0;
+        try {
+            List<List<BasicUserEmailDto>> wave = nextWave(checkpoint.getLastUserId());
+            while (!wave.isEmpty()) {
+                List<Future<Integer>> results = new ArrayList<>(wave.size());
+                for (List<BasicUserEmailDto> chunk : wave) {
+                    results.add(executor.submit(() -> processChunk(chunk, weekStart, from, to)));
+                }
+                for (Future<Integer> result : results) {
+                    sent += result.get();
+                }
+                List<BasicUserEmailDto> lastChunk = wave.get(wave.size() - 1);
+                checkpoint.setLastUserId(lastChunk.get(lastChunk.size() - 1).id());
+                checkpoint = checkpointRepository.save(checkpoint);
+                wave = nextWave(checkpoint.getLastUserId());
+            }
+            checkpoint.setCompleted(true);
+            checkpointRepository.save(checkpoint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Weekly report generation for %s was interrupted".formatted(weekStart), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Weekly report generation for %s failed".formatted(weekStart), e.getCause());
+        } finally {
+            executor.close();
+        }
+        log.info("Weekly report for {} sent to {} users", weekStart, sent);
+        return sent;
+    }
+
+    private List<List<BasicUserEmailDto>> nextWave(long afterId) {
+        List<List<BasicUserEmailDto>> wave = new ArrayList<>(properties.getParallelism());
+        long lastId = afterId;
+        while (wave.size() < properties.getParallelism()) {
+            List<BasicUserEmailDto> chunk = userProvider.findUserEmailsAfterId(lastId, properties.getChunkSize());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            wave.add(chunk);
+            lastId = chunk.get(chunk.size() - 1).id();
+            if (chunk.size() < properties.getChunkSize()) {
+                break;
+            }
+        }
+        return wave;
+    }
+
+    private int processChunk(List<BasicUserEmailDto> users, LocalDate weekStart, Instant from, Instant to) {
+        List<Long> userIds = users.stream().map(BasicUserEmailDto::id).toList();
+        Map<Long, List<UserActivitySummary>> activities = trainingProvider.getActivitySummaries(userIds, from, to)
+                .stream()
+                .collect(groupingBy(UserActivitySummary::userId));
+        Map<Long, Long> totals = trainingProvider.countTrainings(userIds)
+                .stream()
+                .collect(toMap(UserTrainingCount::userId, UserTrainingCount::trainings));
+
+        for (BasicUserEmailDto user : users) {
+            emailSender.send(renderer.render(user,
+                                             weekStart,
+                                             activities.getOrDefault(user.id(), List.of()),
+                                             totals.getOrDefault(user.id(), 0L)));
+        }
+        return users.size();
+    }
+}
@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+
+/**
+ * Harmonogram wysyłki raportu za poprzedni tydzień. Domyślnie uruchamiany w poniedziałek o 6:00.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fitness-tracker.report.weekly", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+class WeeklyReportJob {
+
+    private final WeeklyReportGenerator generator;
+
+    @Scheduled(cron = "${fitness-tracker.report.weekly.cron:0 0 6 * * MON}")
+    void sendPreviousWeekReport() {
+        LocalDate previousWeekStart = LocalDate.now().with(previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+        generator.generate(previousWeekStart);
+    }
+}
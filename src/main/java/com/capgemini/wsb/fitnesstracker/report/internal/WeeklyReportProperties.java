@@ -0,0 +1,36 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Konfiguracja cotygodniowego raportu treningowego wysyłanego użytkownikom.
+ */
+@ConfigurationProperties(prefix = "fitness-tracker.report.weekly")
+@Getter
+class WeeklyReportProperties {
+
+    /**
+     * Czy raport ma być generowany.
+     */
+    private final boolean enabled;
+
+    /**
+     * Liczba użytkowników przetwarzanych w jednej porcji (jedno zapytanie grupujące na porcję).
+     */
+    private final int chunkSize;
+
+    /**
+     * Maksymalna liczba porcji przetwarzanych równolegle.
+     */
+    private final int parallelism;
+
+    WeeklyReportProperties(@DefaultValue("false") boolean enabled,
+                           @DefaultValue("500") int chunkSize,
+                           @DefaultValue("4") int parallelism) {
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+}
@@ -0,0 +1,56 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary;
+import com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Buduje treść wiadomości email z tygodniowym podsumowaniem treningów użytkownika.
+ */
+@Component
+class WeeklyReportRenderer {
+
+    /**
+     * Tworzy wiadomość z raportem tygodniowym.
+     *
+     * @param user odbiorca raportu
+     * @param weekStart pierwszy dzień tygodnia
+     * @param activities treningi użytkownika z danego tygodnia zagregowane per typ aktywności
+     * @param totalTrainings łączna liczba zarejestrowanych treningów użytkownika
+     * @return wiadomość do wysłania
+     */
+    EmailDto render(BasicUserEmailDto user, LocalDate weekStart, List<UserActivitySummary> activities, long totalTrainings) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        String week = "%s - %s".formatted(weekStart, weekEnd);
+        StringBuilder content = new StringBuilder()
+                .append("Podsumowanie treningów za tydzień ").append(week).append("\n\n");
+        if (activities.isEmpty()) {
+            content.append("W tygodniu ").append(week).append(" nie zarejestrowano żadnych treningów.\n");
+        } else {
+            long weeklyTrainings = 0;
+            double weeklyDistance = 0;
+            for (UserActivitySummary activity : activities) {
+                weeklyTrainings += activity.trainings();
+                weeklyDistance += activity.distance();
+                content.append("- ").append(activity.activityType().getDisplayName()).append(": ")
+                        .append(activity.trainings()).append(" trening(i), ")
+                        .append(formatDistance(activity.distance())).append(" km\n");
+            }
+            content.append("\nRazem w tygodniu ").append(week).append(": ").append(weeklyTrainings).append(" trening(i), ")
+                    .append(formatDistance(weeklyDistance)).append(" km\n");
+        }
+        content.append("Łącznie zarejestrowanych treningów: ").append(totalTrainings).append("\n");
+        return new EmailDto(user.email(),
+                            "Tygodniowe podsumowanie treningów (%s)".formatted(week),
+                            content.toString());
+    }
+
+    private static String formatDistance(double distance) {
+        return String.format(Locale.ROOT, "%.2f", distance);
+    }
+}
@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+/**
+ * Trainings of one activity type merged over a time window.
+ *
+ * @param activityType activity type
+ * @param trainings number of trainings
+ * @param totalDistance total distance in kilometers
+ * @param totalDurationSeconds total duration in seconds
+ * @param maxSpeed highest average speed of a single training in kilometers per hour
+ */
+public record ActivityRollup(ActivityType activityType,
+                             long trainings,
+                             double totalDistance,
+                             long totalDurationSeconds,
+                             double maxSpeed) {
+}
@@ -0,0 +1,42 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Trainings of a user which ended within {@code [from, to)}, answered from the daily and weekly rollups.
+ *
+ * @param from first day of the window
+ * @param to first day after the window
+ * @param trainings number of trainings
+ * @param totalDistance total distance in kilometers
+ * @param totalDurationSeconds total duration in seconds
+ * @param maxSpeed highest average speed of a single training in kilometers per hour
+ * @param activityTypes the same values per activity type, only for activity types with trainings
+ */
+public record RollupWindow(LocalDate from,
+                           LocalDate to,
+                           long trainings,
+                           double totalDistance,
+                           long totalDurationSeconds,
+                           double maxSpeed,
+                           List<ActivityRollup> activityTypes) {
+
+    /**
+     * Creates a window whose totals are merged from the per-activity values.
+     *
+     * @param from first day of the window
+     * @param to first day after the window
+     * @param activityTypes values per activity type
+     * @return the window
+     */
+    public static RollupWindow of(LocalDate from, LocalDate to, List<ActivityRollup> activityTypes) {
+        return new RollupWindow(from,
+                                to,
+                                activityTypes.stream().mapToLong(ActivityRollup::trainings).sum(),
+                                activityTypes.stream().mapToDouble(ActivityRollup::totalDistance).sum(),
+                                activityTypes.stream().mapToLong(ActivityRollup::totalDurationSeconds).sum(),
+                                activityTypes.stream().mapToDouble(ActivityRollup::maxSpeed).max().orElse(0),
+                                activityTypes);
+    }
+}
@@ -0,0 +1,24 @@
+package com.capgemini.wsb.fitnesstracker.rollup.api;
+
+import java.time.LocalDate;
+
+public interface TrainingRollupProvider {
+
+    /**
+     * Summarizes trainings of the given user which ended within {@code [from, to)}. The answer is merged from
+     * weekly buckets for the full weeks of the window and daily buckets for the remaining days, so its cost depends
+     * on the length of the window rather than on the number of trainings.
+     *
+     * @param userId id of the user
+     * @param from first day of the window
+     * @param to first day after the window
+     * @return the summary of the window
+     */
+    RollupWindow getWindow(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes all rollups from the trainings table.
+     * Meant for bulk loads which insert trainings without going through the training services.
+     */
+    void rebuildAllRollups();
+}
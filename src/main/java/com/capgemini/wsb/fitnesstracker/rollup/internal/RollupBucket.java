@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Key of a rollup bucket.
+ *
+ * @param userId id of the user
+ * @param granularity length of the bucket
+ * @param bucketStart first day of the bucket
+ * @param activityType activity type
+ */
+record RollupBucket(Long userId, RollupGranularity granularity, LocalDate bucketStart, ActivityType activityType) {
+
+    /**
+     * Returns the buckets the training belongs to, one per granularity.
+     *
+     * @param training the training, which must have a user
+     * @return buckets of the training
+     */
+    static List<RollupBucket> of(TrainingSnapshot training) {
+        LocalDate day = training.endTime().atZone(ZoneId.systemDefault()).toLocalDate();
+        return List.of(new RollupBucket(training.userId(), RollupGranularity.DAY, day, training.activityType()),
+                       new RollupBucket(training.userId(), RollupGranularity.WEEK, RollupGranularity.WEEK.bucketStart(day),
+                                        training.activityType()));
+    }
+
+    /**
+     * Returns the first day after the bucket.
+     *
+     * @return first day of the next bucket
+     */
+    LocalDate bucketEnd() {
+        return granularity.bucketEnd(bucketStart);
+    }
+}
@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Length of a rollup bucket.
+ */
+enum RollupGranularity {
+
+    DAY {
+        @Override
+        LocalDate bucketStart(LocalDate day) {
+            return day;
+        }
+
+        @Override
+        LocalDate bucketEnd(LocalDate bucketStart) {
+            return bucketStart.plusDays(1);
+        }
+    },
+
+    /**
+     * Week starting on Monday.
+     */
+    WEEK {
+        @Override
+        LocalDate bucketStart(LocalDate day) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        LocalDate bucketEnd(LocalDate bucketStart) {
+            return bucketStart.plusWeeks(1);
+        }
+    };
+
+    /**
+     * Returns the first day of the bucket containing the given day.
+     *
+     * @param day any day
+     * @return first day of the bucket
+     */
+    abstract LocalDate bucketStart(LocalDate day);
+
+    /**
+     * Returns the first day after the bucket.
+     *
+     * @param bucketStart first day of the bucket
+     * @return first day of the next bucket
+     */
+    abstract LocalDate bucketEnd(LocalDate bucketStart);
+}
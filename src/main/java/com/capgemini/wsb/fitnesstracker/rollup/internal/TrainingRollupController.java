@@ -0,0 +1,50 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST API answering windowed training questions from the daily and weekly rollups.
+ */
+@RestController
+@RequestMapping("/v1/rollups")
+@RequiredArgsConstructor
+class TrainingRollupController {
+
+    private final TrainingRollupServiceImpl rollupService;
+
+    /**
+     * Summarizes the user's trainings which ended within {@code [from, to)}.
+     *
+     * @param userId id of the user
+     * @param from first day of the window
+     * @param to first day after the window
+     * @return the summary of the window
+     */
+    @GetMapping("/user/{userId}")
+    public RollupWindow getWindow(@PathVariable Long userId,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return rollupService.getWindow(userId, from, to);
+    }
+
+    /**
+     * Recomputes all rollups from the trainings table.
+     */
+    @PostMapping("/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuild() {
+        rollupService.rebuildAllRollups();
+    }
+}
@@ -0,0 +1,48 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingUpdatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the training rollups in sync with training events.
+ * Listeners run synchronously, inside the transaction that changed the training.
+ */
+@Component
+@RequiredArgsConstructor
+class TrainingRollupListener {
+
+    private final TrainingRollupServiceImpl rollupService;
+
+    @EventListener
+    void onTrainingCreated(TrainingCreatedEvent event) {
+        rollupService.add(List.of(TrainingSnapshot.of(event.training())));
+    }
+
+    @EventListener
+    void onTrainingUpdated(TrainingUpdatedEvent event) {
+        TrainingSnapshot previous = event.previous();
+        TrainingSnapshot current = TrainingSnapshot.of(event.training());
+        Set<RollupBucket> buckets = new LinkedHashSet<>();
+        if (previous.userId() != null) {
+            buckets.addAll(RollupBucket.of(previous));
+        }
+        if (current.userId() != null) {
+            buckets.addAll(RollupBucket.of(current));
+        }
+        rollupService.recompute(buckets);
+    }
+
+    @EventListener
+    void onTrainingsImported(TrainingsImportedEvent event) {
+        rollupService.add(event.trainings());
+    }
+}
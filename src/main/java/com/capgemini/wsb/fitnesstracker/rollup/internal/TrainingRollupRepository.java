@@ -0,0 +1,206 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.rollup.api.ActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository of the {@link TrainingRollup} buckets. Writes are native SQL so that increments are performed
+ * atomically by the database; activity types are passed as ordinals and granularities as names.
+ */
+interface TrainingRollupRepository extends JpaRepository<TrainingRollup, Long> {
+
+    /**
+     * Columns filled by every insert of a bucket.
+     */
+    String INSERT_INTO = """
+            INSERT INTO training_rollups (user_id, granularity, bucket_start, activity_type, trainings, total_distance,
+                                          total_duration_seconds, max_speed)
+            """;
+
+    /**
+     * Bucket values computed from the trainings table.
+     */
+    String BUCKET_VALUES = """
+            count(*), coalesce(sum(distance), 0), coalesce(sum(datediff(second, start_time, end_time)), 0),
+            coalesce(max(average_speed), 0)
+            """;
+
+    /**
+     * Atomically adds the given deltas to an existing bucket.
+     *
+     * @param userId id of the user
+     * @param granularity name of the {@link RollupGranularity}
+     * @param bucketStart first day of the bucket
+     * @param activityType ordinal of the activity type
+     * @param trainings number of added trainings
+     * @param distance added distance
+     * @param durationSeconds added duration
+     * @param maxSpeed highest average speed among the added trainings
+     * @return number of updated rows (0 if the bucket does not exist yet)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE training_rollups
+            SET trainings = trainings + :trainings,
+                total_distance = total_distance + :distance,
+                total_duration_seconds = total_duration_seconds + :durationSeconds,
+                max_speed = greatest(max_speed, :maxSpeed)
+            WHERE user_id = :userId AND granularity = :granularity AND bucket_start = :bucketStart
+              AND activity_type = :activityType
+            """)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("granularity") String granularity,
+                   @Param("bucketStart") LocalDate bucketStart,
+                   @Param("activityType") int activityType,
+                   @Param("trainings") int trainings,
+                   @Param("distance") double distance,
+                   @Param("durationSeconds") long durationSeconds,
+                   @Param("maxSpeed") double maxSpeed);
+
+    /**
+     * Creates an empty bucket unless it exists. H2's {@code MERGE ... KEY} waits for a concurrent transaction
+     * inserting the same bucket and then matches its row instead of violating {@code uk_training_rollups_bucket};
+     * only the key is listed, so an existing bucket keeps its values.
+     *
+     * @param userId id of the user
+     * @param granularity name of the {@link RollupGranularity}
+     * @param bucketStart first day of the bucket
+     * @param activityType ordinal of the activity type
+     * @return number of inserted or matched rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO training_rollups (user_id, granularity, bucket_start, activity_type)
+            KEY (user_id, granularity, bucket_start, activity_type)
+            VALUES (:userId, :granularity, :bucketStart, :activityType)
+            """)
+    int createBucketIfMissing(@Param("userId") Long userId,
+                              @Param("granularity") String granularity,
+                              @Param("bucketStart") LocalDate bucketStart,
+                              @Param("activityType") int activityType);
+
+    /**
+     * Recomputes an existing bucket from the trainings which ended within {@code [from, to)}, in place. The bucket
+     * row stays locked until the calling transaction ends, so concurrent recomputations of one bucket run one after
+     * another and each sees the trainings committed by the previous one. A bucket without trainings is left empty.
+     *
+     * @param userId id of the user
+     * @param granularity name of the {@link RollupGranularity}
+     * @param bucketStart first day of the bucket
+     * @param activityType ordinal of the activity type
+     * @param from start of the bucket
+     * @param to end of the bucket
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            UPDATE training_rollups
+            SET (trainings, total_distance, total_duration_seconds, max_speed) = (SELECT
+            """ + BUCKET_VALUES + """
+                FROM trainings
+                WHERE user_id = :userId AND activity_type = :activityType AND end_time >= :from AND end_time < :to)
+            WHERE user_id = :userId AND granularity = :granularity AND bucket_start = :bucketStart
+              AND activity_type = :activityType
+            """)
+    int recomputeBucket(@Param("userId") Long userId,
+                        @Param("granularity") String granularity,
+                        @Param("bucketStart") LocalDate bucketStart,
+                        @Param("activityType") int activityType,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+    /**
+     * Deletes a bucket left without trainings.
+     *
+     * @param userId id of the user
+     * @param granularity name of the {@link RollupGranularity}
+     * @param bucketStart first day of the bucket
+     * @param activityType ordinal of the activity type
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            DELETE FROM training_rollups
+            WHERE user_id = :userId AND granularity = :granularity AND bucket_start = :bucketStart
+              AND activity_type = :activityType AND trainings = 0
+            """)
+    int deleteBucketIfEmpty(@Param("userId") Long userId,
+                            @Param("granularity") String granularity,
+                            @Param("bucketStart") LocalDate bucketStart,
+                            @Param("activityType") int activityType);
+
+    /**
+     * Deletes all buckets.
+     *
+     * @return number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "DELETE FROM training_rollups")
+    int deleteAllBuckets();
+
+    /**
+     * Creates the daily buckets of all trainings.
+     *
+     * @return number of created buckets
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = INSERT_INTO + "SELECT user_id, 'DAY', cast(end_time as date), activity_type, "
+            + BUCKET_VALUES + """
+            FROM trainings
+            WHERE user_id IS NOT NULL
+            GROUP BY user_id, cast(end_time as date), activity_type
+            """)
+    int insertDailyBucketsFromTrainings();
+
+    /**
+     * Creates the weekly buckets of all trainings.
+     *
+     * @return number of created buckets
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = INSERT_INTO
+            + "SELECT user_id, 'WEEK', dateadd(day, 1 - iso_day_of_week(end_time), cast(end_time as date)), activity_type, "
+            + BUCKET_VALUES + """
+            FROM trainings
+            WHERE user_id IS NOT NULL
+            GROUP BY user_id, dateadd(day, 1 - iso_day_of_week(end_time), cast(end_time as date)), activity_type
+            """)
+    int insertWeeklyBucketsFromTrainings();
+
+    /**
+     * Merges the buckets covering {@code [from, to)}: weekly buckets for the full weeks {@code [weeksFrom, weeksTo)}
+     * and daily buckets for the days before and after them.
+     *
+     * @param userId id of the user
+     * @param from first day of the window
+     * @param weeksFrom first day of the first full week (equal to {@code weeksTo} when there is none)
+     * @param weeksTo first day after the last full week
+     * @param to first day after the window
+     * @return merged buckets per activity type
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.rollup.api.ActivityRollup(
+                r.activityType, sum(r.trainings), sum(r.totalDistance), sum(r.totalDurationSeconds), max(r.maxSpeed))
+            FROM TrainingRollup r
+            WHERE r.userId = :userId
+              AND ((r.granularity = com.capgemini.wsb.fitnesstracker.rollup.internal.RollupGranularity.WEEK
+                        AND r.bucketStart >= :weeksFrom AND r.bucketStart < :weeksTo)
+                OR (r.granularity = com.capgemini.wsb.fitnesstracker.rollup.internal.RollupGranularity.DAY
+                        AND ((r.bucketStart >= :from AND r.bucketStart < :weeksFrom)
+                          OR (r.bucketStart >= :weeksTo AND r.bucketStart < :to))))
+            GROUP BY r.activityType
+            ORDER BY r.activityType
+            """)
+    List<ActivityRollup> mergeBuckets(@Param("userId") Long userId,
+                                      @Param("from") LocalDate from,
+                                      @Param("weeksFrom") LocalDate weeksFrom,
+                                      @Param("weeksTo") LocalDate weeksTo,
+                                      @Param("to") LocalDate to);
+}
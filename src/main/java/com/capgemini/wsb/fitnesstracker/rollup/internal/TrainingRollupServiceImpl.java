@@ -0,0 +1,142 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupWindow;
+import com.capgemini.wsb.fitnesstracker.rollup.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the daily and weekly training rollups and answers window queries from them.
+ *
+ * <p>Added trainings are applied as atomic increments of their buckets; a missing bucket is first created with an
+ * upsert, so concurrent transactions adding the first trainings of one bucket both succeed. When trainings leave
+ * a bucket (an update changed their user, activity type or end time), the bucket is recomputed from the trainings
+ * table instead, because its maximum speed cannot be decremented; such a recomputation only reads the trainings of
+ * one user, activity type and day or week. It also upserts the bucket first and then recomputes the row in place,
+ * deleting it only when no trainings are left, so concurrent updates of one bucket wait for each other instead of
+ * inserting it twice. Buckets are always written in the same order, so transactions writing several shared buckets
+ * cannot lock them in opposite orders.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingRollupServiceImpl implements TrainingRollupProvider {
+
+    /**
+     * Order in which buckets are written.
+     */
+    private static final Comparator<RollupBucket> BUCKET_ORDER = Comparator.comparing(RollupBucket::userId)
+            .thenComparing(RollupBucket::granularity)
+            .thenComparing(RollupBucket::bucketStart)
+            .thenComparing(RollupBucket::activityType);
+
+    private final TrainingRollupRepository rollupRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public RollupWindow getWindow(Long userId, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new BusinessException("Window start must be before its end");
+        }
+        LocalDate weeksFrom = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        LocalDate weeksTo = to.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        if (!weeksFrom.isBefore(weeksTo)) {
+            weeksFrom = to;
+            weeksTo = to;
+        }
+        return RollupWindow.of(from, to, rollupRepository.mergeBuckets(userId, from, weeksFrom, weeksTo, to));
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAllRollups() {
+        rollupRepository.deleteAllBuckets();
+        int daily = rollupRepository.insertDailyBucketsFromTrainings();
+        int weekly = rollupRepository.insertWeeklyBucketsFromTrainings();
+        log.info("Training rollups rebuilt: {} daily and {} weekly buckets", daily, weekly);
+    }
+
+    /**
+     * Adds the trainings to their buckets, creating missing buckets. Trainings without a user are skipped.
+     * Must be called within the transaction that created the trainings.
+     *
+     * @param trainings added trainings
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Collection<TrainingSnapshot> trainings) {
+        Map<RollupBucket, BucketDelta> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (TrainingSnapshot training : trainings) {
+            if (training.userId() == null) {
+                continue;
+            }
+            for (RollupBucket bucket : RollupBucket.of(training)) {
+                deltas.computeIfAbsent(bucket, key -> new BucketDelta()).add(training);
+            }
+        }
+        deltas.forEach(this::applyDelta);
+    }
+
+    /**
+     * Recomputes the buckets from the trainings table. Must be called within the transaction that modified
+     * the trainings, after the modification.
+     *
+     * @param buckets buckets to recompute
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recompute(Collection<RollupBucket> buckets) {
+        buckets.stream().sorted(BUCKET_ORDER).forEach(bucket -> {
+            String granularity = bucket.granularity().name();
+            int activityType = bucket.activityType().ordinal();
+            rollupRepository.createBucketIfMissing(bucket.userId(), granularity, bucket.bucketStart(), activityType);
+            rollupRepository.recomputeBucket(bucket.userId(), granularity, bucket.bucketStart(), activityType,
+                                             bucket.bucketStart().atStartOfDay(), bucket.bucketEnd().atStartOfDay());
+            rollupRepository.deleteBucketIfEmpty(bucket.userId(), granularity, bucket.bucketStart(), activityType);
+        });
+    }
+
+    private void applyDelta(RollupBucket bucket, BucketDelta delta) {
+        if (incrementBucket(bucket, delta) == 0) {
+            rollupRepository.createBucketIfMissing(bucket.userId(), bucket.granularity().name(), bucket.bucketStart(),
+                                                   bucket.activityType().ordinal());
+            incrementBucket(bucket, delta);
+        }
+    }
+
+    private int incrementBucket(RollupBucket bucket, BucketDelta delta) {
+        return rollupRepository.applyDelta(bucket.userId(), bucket.granularity().name(), bucket.bucketStart(),
+                                           bucket.activityType().ordinal(), delta.trainings, delta.distance,
+                                           delta.durationSeconds, delta.maxSpeed);
+    }
+
+    /**
+     * Values of trainings added to one bucket.
+     */
+    private static final class BucketDelta {
+
+        private int trainings;
+        private double distance;
+        private long durationSeconds;
+        private double maxSpeed;
+
+        void add(TrainingSnapshot training) {
+            trainings++;
+            distance += training.distance();
+            durationSeconds += Duration.between(training.startTime(), training.endTime()).toSeconds();
+            maxSpeed = Math.max(maxSpeed, training.averageSpeed());
+        }
+    }
+}
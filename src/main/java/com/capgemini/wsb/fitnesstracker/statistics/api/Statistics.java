@@ -3,6 +3,8 @@ package com.capgemini.wsb.fitnesstracker.statistics.api;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Table(name = "statistics")
@@ -17,7 +19,8 @@ public class Statistics {
     private Long id;
 
     @ManyToOne
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     @Column(name = "total_trainings", nullable = false)
@@ -29,4 +32,13 @@ public class Statistics {
     @Column(name = "total_calories_burned")
     private int totalCaloriesBurned;
 
+    /**
+     * Creates empty statistics for the given user.
+     *
+     * @param user owner of the statistics
+     */
+    public Statistics(User user) {
+        this.user = user;
+    }
+
 }
\ No newline at end of file
@@ -13,4 +13,19 @@ public interface StatisticsProvider {
      */
     Optional<Statistics> getStatistics(Long statisticsId);
 
+    /**
+     * Retrieves the aggregated statistics of the given user.
+     * The aggregate is maintained incrementally, so the lookup does not depend on the number of user's trainings.
+     *
+     * @param userId id of the user whose statistics should be returned
+     * @return An {@link Optional} containing the user's Statistics, or {@link Optional#empty()} if the user has none yet
+     */
+    Optional<Statistics> getStatisticsForUser(Long userId);
+
+    /**
+     * Recomputes the aggregates of all users from their trainings.
+     * Meant for bulk loads which insert trainings without going through the training services.
+     */
+    void rebuildAllStatistics();
+
 }
@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodic consistency check of the statistics aggregates. When drift is detected, all aggregates are rebuilt.
+ * Disabled unless {@code fitness-tracker.statistics.consistency-check-cron} is set.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class StatisticsConsistencyJob {
+
+    private static final int REPORTED_USERS_LIMIT = 100;
+
+    private final StatisticsServiceImpl statisticsService;
+
+    @Scheduled(cron = "${fitness-tracker.statistics.consistency-check-cron:-}")
+    void checkConsistency() {
+        List<Long> inconsistentUsers = statisticsService.findInconsistentUsers(REPORTED_USERS_LIMIT);
+        if (inconsistentUsers.isEmpty()) {
+            log.info("Statistics are consistent with trainings");
+            return;
+        }
+        log.warn("Statistics of users {} are inconsistent with trainings, rebuilding", inconsistentUsers);
+        statisticsService.rebuildAll();
+    }
+}
@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.NotFoundException;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST API exposing the per-user statistics aggregates.
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+@RequiredArgsConstructor
+class StatisticsController {
+
+    private final StatisticsServiceImpl statisticsService;
+
+    /**
+     * Returns the statistics of the given user.
+     *
+     * @param userId id of the user
+     * @return the user's statistics
+     */
+    @GetMapping("/user/{userId}")
+    public StatisticsDto getStatisticsForUser(@PathVariable Long userId) {
+        return statisticsService.getStatisticsForUser(userId)
+                .map(StatisticsController::toDto)
+                .orElseThrow(() -> new NotFoundException("Statistics for user with ID=%s were not found".formatted(userId)));
+    }
+
+    /**
+     * Recomputes all statistics from the trainings table.
+     *
+     * @return summary of the rebuild
+     */
+    @PostMapping("/rebuild")
+    public StatisticsRebuildResult rebuild() {
+        return statisticsService.rebuildAll();
+    }
+
+    /**
+     * Lists users whose statistics differ from their trainings.
+     *
+     * @param limit maximum number of reported users
+     * @return ids of users with out of date statistics
+     */
+    @GetMapping("/inconsistencies")
+    public List<Long> findInconsistencies(@RequestParam(defaultValue = "100") int limit) {
+        return statisticsService.findInconsistentUsers(limit);
+    }
+
+    private static StatisticsDto toDto(Statistics statistics) {
+        return new StatisticsDto(statistics.getId(),
+                                 statistics.getUser().getId(),
+                                 statistics.getTotalTrainings(),
+                                 statistics.getTotalDistance(),
+                                 statistics.getTotalCaloriesBurned());
+    }
+}
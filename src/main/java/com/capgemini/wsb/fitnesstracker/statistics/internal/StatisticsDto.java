@@ -0,0 +1,13 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+/**
+ * Statistics of a single user returned by the REST API.
+ *
+ * @param id id of the statistics
+ * @param userId id of the user
+ * @param totalTrainings number of user's trainings
+ * @param totalDistance total distance of user's trainings in kilometers
+ * @param totalCaloriesBurned total calories burned during user's trainings
+ */
+record StatisticsDto(Long id, Long userId, int totalTrainings, double totalDistance, int totalCaloriesBurned) {
+}
@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+/**
+ * Outcome of a full statistics rebuild.
+ *
+ * @param recomputed number of existing aggregates recomputed from the trainings table
+ * @param created number of aggregates created for users who did not have one
+ */
+record StatisticsRebuildResult(int recomputed, int created) {
+}
@@ -0,0 +1,109 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository of the per-user {@link Statistics} aggregates.
+ */
+interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * Finds the aggregate of the given user.
+     *
+     * @param userId id of the user
+     * @return the user's statistics, if already created
+     */
+    Optional<Statistics> findByUserId(Long userId);
+
+    /**
+     * Atomically adds the given deltas to the user's aggregate. Concurrent updates of the same user do not lose
+     * increments, because the arithmetic is performed by the database. Written as native SQL, because Hibernate
+     * renders casts of arithmetic parameters that H2 rejects.
+     *
+     * @param userId id of the user
+     * @param trainings change of the number of trainings
+     * @param distance change of the total distance
+     * @param calories change of the total calories burned
+     * @return number of updated rows (0 if the user has no aggregate yet)
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE statistics
+            SET total_trainings = total_trainings + :trainings,
+                total_distance = total_distance + :distance,
+                total_calories_burned = total_calories_burned + :calories
+            WHERE user_id = :userId
+            """)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("trainings") int trainings,
+                   @Param("distance") double distance,
+                   @Param("calories") int calories);
+
+    /**
+     * Creates an empty aggregate for the user unless one exists. H2's {@code MERGE ... KEY} waits for a concurrent
+     * transaction inserting the same user and then matches its row instead of violating the unique constraint, so
+     * concurrent first trainings of one user do not fail. Only the key is listed, so an existing row keeps its
+     * totals.
+     *
+     * @param userId id of the user
+     * @return number of inserted or matched rows
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "MERGE INTO statistics (user_id) KEY (user_id) VALUES (:userId)")
+    int createIfMissing(@Param("userId") Long userId);
+
+    /**
+     * Recomputes every existing aggregate from the trainings table with a single set-based statement.
+     *
+     * @return number of recomputed aggregates
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Statistics s
+            SET s.totalTrainings = (SELECT count(t) FROM Training t WHERE t.user = s.user),
+                s.totalDistance = (SELECT coalesce(sum(t.distance), 0) FROM Training t WHERE t.user = s.user),
+                s.totalCaloriesBurned = (SELECT cast(coalesce(sum(t.calories), 0) as Integer) FROM Training t WHERE t.user = s.user)
+            """)
+    int recomputeExisting();
+
+    /**
+     * Creates aggregates for users who have trainings but no aggregate yet.
+     *
+     * @return number of created aggregates
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            INSERT INTO Statistics (user, totalTrainings, totalDistance, totalCaloriesBurned)
+            SELECT t.user, cast(count(t) as Integer), sum(t.distance), cast(coalesce(sum(t.calories), 0) as Integer)
+            FROM Training t
+            WHERE t.user IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM Statistics s WHERE s.user = t.user)
+            GROUP BY t.user
+            """)
+    int insertMissing();
+
+    /**
+     * Finds users whose stored aggregate differs from the totals computed from the trainings table,
+     * including users with trainings but without an aggregate.
+     *
+     * @param limit maximum number of returned user ids
+     * @return ids of users with an inconsistent aggregate
+     */
+    @Query("""
+            SELECT u.id FROM User u
+            LEFT JOIN Statistics s ON s.user = u
+            WHERE coalesce(s.totalTrainings, 0) <> (SELECT count(t) FROM Training t WHERE t.user = u)
+               OR abs(coalesce(s.totalDistance, 0) - (SELECT coalesce(sum(t.distance), 0) FROM Training t WHERE t.user = u)) > 0.000001
+               OR coalesce(s.totalCaloriesBurned, 0) <> (SELECT coalesce(sum(t.calories), 0) FROM Training t WHERE t.user = u)
+            ORDER BY u.id
+            """)
+    List<Long> findInconsistentUserIds(Limit limit);
+}
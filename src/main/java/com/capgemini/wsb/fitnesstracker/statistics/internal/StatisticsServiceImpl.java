@@ -0,0 +1,89 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Statistics engine keeping one aggregate row per user.
+ *
+ * <p>The aggregate is maintained incrementally: every training change is applied as a delta with a single
+ * atomic {@code UPDATE}, so reads never scan the user's trainings. {@link #rebuildAll()} recomputes all aggregates
+ * from scratch and is meant for backfills and for repairing drift reported by {@link #findInconsistentUsers(int)}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class StatisticsServiceImpl implements StatisticsProvider {
+
+    private final StatisticsRepository statisticsRepository;
+
+    @Override
+    public Optional<Statistics> getStatistics(Long statisticsId) {
+        return statisticsRepository.findById(statisticsId);
+    }
+
+    @Override
+    public Optional<Statistics> getStatisticsForUser(Long userId) {
+        return statisticsRepository.findByUserId(userId);
+    }
+
+    /**
+     * Applies a change to the user's aggregate, creating the aggregate on the user's first training.
+     * Must be called within the transaction that modifies the trainings. The aggregate is created with an upsert,
+     * so concurrent first trainings of the same user both succeed.
+     *
+     * @param userId id of the user
+     * @param trainings change of the number of trainings
+     * @param distance change of the total distance
+     * @param calories change of the total calories burned
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long userId, int trainings, double distance, int calories) {
+        if (trainings == 0 && distance == 0.0 && calories == 0) {
+            return;
+        }
+        if (statisticsRepository.applyDelta(userId, trainings, distance, calories) == 0) {
+            statisticsRepository.createIfMissing(userId);
+            statisticsRepository.applyDelta(userId, trainings, distance, calories);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAllStatistics() {
+        rebuildAll();
+    }
+
+    /**
+     * Recomputes all aggregates from the trainings table using set-based statements.
+     *
+     * @return summary of the rebuild
+     */
+    @Transactional
+    public StatisticsRebuildResult rebuildAll() {
+        int recomputed = statisticsRepository.recomputeExisting();
+        int created = statisticsRepository.insertMissing();
+        log.info("Statistics rebuilt: {} recomputed, {} created", recomputed, created);
+        return new StatisticsRebuildResult(recomputed, created);
+    }
+
+    /**
+     * Compares stored aggregates with totals computed from the trainings table.
+     *
+     * @param limit maximum number of reported users
+     * @return ids of users whose aggregate is out of date
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findInconsistentUsers(int limit) {
+        return statisticsRepository.findInconsistentUserIds(Limit.of(limit));
+    }
+}
@@ -0,0 +1,76 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCaloriesBackfilledEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingUpdatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Translates training events into deltas of the per-user statistics aggregate.
+ * Listeners run synchronously, inside the transaction that changed the training. Imported trainings are applied
+ * in ascending user id order, so concurrent imports lock the aggregates of shared users in the same order.
+ */
+@Component
+@RequiredArgsConstructor
+class StatisticsTrainingListener {
+
+    private final StatisticsServiceImpl statisticsService;
+
+    @EventListener
+    void onTrainingCreated(TrainingCreatedEvent event) {
+        Training training = event.training();
+        if (training.getUser() != null) {
+            TrainingSnapshot created = TrainingSnapshot.of(training);
+            statisticsService.applyDelta(created.userId(), 1, created.distance(), created.calories());
+        }
+    }
+
+    @EventListener
+    void onTrainingUpdated(TrainingUpdatedEvent event) {
+        TrainingSnapshot previous = event.previous();
+        TrainingSnapshot current = TrainingSnapshot.of(event.training());
+        if (Objects.equals(previous.userId(), current.userId())) {
+            if (current.userId() != null) {
+                statisticsService.applyDelta(current.userId(), 0, current.distance() - previous.distance(),
+                                             current.calories() - previous.calories());
+            }
+            return;
+        }
+        if (previous.userId() != null) {
+            statisticsService.applyDelta(previous.userId(), -1, -previous.distance(), -previous.calories());
+        }
+        if (current.userId() != null) {
+            statisticsService.applyDelta(current.userId(), 1, current.distance(), current.calories());
+        }
+    }
+
+    @EventListener
+    void onTrainingsImported(TrainingsImportedEvent event) {
+        Map<Long, List<TrainingSnapshot>> trainingsByUser = event.trainings().stream()
+                .filter(training -> training.userId() != null)
+                .collect(groupingBy(TrainingSnapshot::userId, TreeMap::new, toList()));
+        trainingsByUser.forEach((userId, trainings) -> statisticsService.applyDelta(
+                userId,
+                trainings.size(),
+                trainings.stream().mapToDouble(TrainingSnapshot::distance).sum(),
+                trainings.stream().mapToInt(TrainingSnapshot::calories).sum()));
+    }
+
+    @EventListener
+    void onTrainingCaloriesBackfilled(TrainingCaloriesBackfilledEvent event) {
+        event.caloriesByUser().forEach((userId, calories) -> statisticsService.applyDelta(userId, 0, 0.0, calories));
+    }
+}
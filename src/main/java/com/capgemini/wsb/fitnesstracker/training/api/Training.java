@@ -1,28 +1,43 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CalorieModel;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
-import java.util.Date;
+import java.time.Instant;
 
 /**
  * Klasa reprezentująca sesję treningową.
  */
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", indexes = {
+        @Index(name = "ix_trainings_user_end_time", columnList = "user_id, end_time"),
+        @Index(name = "ix_trainings_user_activity_end_time", columnList = "user_id, activity_type, end_time"),
+        @Index(name = "ix_trainings_activity_end_time", columnList = "activity_type, end_time"),
+        @Index(name = "ix_trainings_end_time", columnList = "end_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
 @ToString
 public class Training {
 
+    /**
+     * Liczba identyfikatorów rezerwowanych jednym odczytem sekwencji {@code trainings_seq}; musi być równa jej
+     * {@code INCREMENT BY}. Identyfikatory nadawane są bez odwołania do bazy, więc wstawienia mogą być wysyłane wsadowo.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Unikalny identyfikator sesji treningowej.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainings_seq")
+    @SequenceGenerator(name = "trainings_seq", sequenceName = "trainings_seq", allocationSize = Training.ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -34,18 +49,21 @@ public class Training {
     private User user;
 
     /**
-     * Czas rozpoczęcia sesji treningowej.
+     * Czas rozpoczęcia sesji treningowej. Przechowywany w kolumnie {@code TIMESTAMP}, tak jak dotychczas, dzięki czemu
+     * zapytania grupujące po dniach i tygodniach działają bez zmian.
      */
     @Setter
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
     @Column(name = "start_time", nullable = false)
-    private Date startTime;
+    private Instant startTime;
 
     /**
      * Czas zakończenia sesji treningowej.
      */
     @Setter
+    @JdbcTypeCode(SqlTypes.TIMESTAMP)
     @Column(name = "end_time", nullable = false)
-    private Date endTime;
+    private Instant endTime;
 
     /**
      * Rodzaj aktywności wykonywanej podczas sesji treningowej.
@@ -69,6 +87,23 @@ public class Training {
     @Column(name = "average_speed")
     private double averageSpeed;
 
+    /**
+     * Szacowana liczba spalonych kilokalorii, wyliczana przez {@link CalorieModel} przy zapisie sesji treningowej.
+     * Wartość null oznacza sesję, której szacunek nie został jeszcze uzupełniony.
+     */
+    @Setter
+    @Column(name = "calories")
+    private Integer calories;
+
+    /**
+     * Wersja sesji treningowej zwiększana przy każdej aktualizacji. Chroni przed nadpisaniem równoczesnych zmian
+     * (blokowanie optymistyczne) i jest udostępniana jako nagłówek {@code ETag}.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * Konstruktor tworzący nową instancję Training.
      *
@@ -81,8 +116,8 @@ public class Training {
      */
     public Training(
             final User user,
-            final Date startTime,
-            final Date endTime,
+            final Instant startTime,
+            final Instant endTime,
             final ActivityType activityType,
             final double distance,
             final double averageSpeed) {
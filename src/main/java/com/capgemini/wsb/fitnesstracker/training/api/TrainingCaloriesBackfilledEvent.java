@@ -0,0 +1,12 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import java.util.Map;
+
+/**
+ * Zdarzenie publikowane w transakcji uzupełniania szacunków spalonych kilokalorii, po zapisaniu kolejnej porcji
+ * sesji treningowych, które dotąd nie miały szacunku.
+ *
+ * @param caloriesByUser suma uzupełnionych kilokalorii dla każdego użytkownika
+ */
+public record TrainingCaloriesBackfilledEvent(Map<Long, Integer> caloriesByUser) {
+}
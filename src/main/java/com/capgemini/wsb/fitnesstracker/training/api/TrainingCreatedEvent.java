@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Zdarzenie publikowane w transakcji tworzącej nową sesję treningową.
+ *
+ * @param training utworzona sesja treningowa
+ */
+public record TrainingCreatedEvent(Training training) {
+}
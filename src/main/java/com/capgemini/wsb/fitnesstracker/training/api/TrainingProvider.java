@@ -1,8 +1,12 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
-import java.util.Date;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interfejs definiujący metody do zarządzania sesjami treningowymi.
@@ -16,6 +20,14 @@ public interface TrainingProvider {
      */
     List<Training> getAllTrainings();
 
+    /**
+     * Zwraca sesję treningową o podanym identyfikatorze.
+     *
+     * @param trainingId identyfikator sesji treningowej
+     * @return opcjonalna sesja treningowa
+     */
+    Optional<Training> getTraining(Long trainingId);
+
     /**
      * Aktualizuje istniejącą sesję treningową.
      *
@@ -25,13 +37,25 @@ public interface TrainingProvider {
      */
     Training updateTraining(Long trainingId, TrainingDto trainingDto);
 
+    /**
+     * Aktualizuje istniejącą sesję treningową, o ile nie zmieniła się od odczytu wersji oczekiwanej przez wywołującego.
+     *
+     * @param trainingId identyfikator sesji treningowej do aktualizacji
+     * @param trainingDto obiekt DTO zawierający zaktualizowane dane sesji treningowej
+     * @param expectedVersion oczekiwana bieżąca wersja sesji treningowej lub null, jeśli zmiany mają zostać
+     *                        zastosowane do dowolnej wersji
+     * @return zaktualizowana sesja treningowa
+     * @throws com.capgemini.wsb.fitnesstracker.exception.api.PreconditionFailedException jeśli bieżąca wersja jest inna
+     */
+    Training updateTraining(Long trainingId, TrainingDto trainingDto, @Nullable Long expectedVersion);
+
     /**
      * Zwraca listę sesji treningowych zakończonych po podanej dacie.
      *
      * @param endDate data, po której sesje treningowe powinny być zakończone
      * @return lista sesji treningowych zakończonych po podanej dacie
      */
-    List<Training> getTrainingsByEndDateAfter(Date endDate);
+    List<Training> getTrainingsByEndDateAfter(Instant endDate);
 
     /**
      * Tworzy nową sesję treningową.
@@ -40,4 +64,24 @@ public interface TrainingProvider {
      * @return utworzona sesja treningowa
      */
     Training createTraining(Training training);
+
+    /**
+     * Zwraca sesje treningowe podanych użytkowników zakończone w zadanym okresie, zagregowane per użytkownik
+     * i typ aktywności. Wynik wyliczany jest jednym zapytaniem grupującym.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @return agregaty sesji treningowych
+     */
+    List<UserActivitySummary> getActivitySummaries(Collection<Long> userIds, Instant from, Instant to);
+
+    /**
+     * Zwraca łączną liczbę sesji treningowych podanych użytkowników, wyliczoną jednym zapytaniem grupującym.
+     * Użytkownicy bez sesji treningowych nie występują w wyniku.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @return liczby sesji treningowych per użytkownik
+     */
+    List<UserTrainingCount> countTrainings(Collection<Long> userIds);
 }
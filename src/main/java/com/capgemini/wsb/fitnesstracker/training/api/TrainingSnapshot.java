@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Niezmienna kopia stanu sesji treningowej z danej chwili, używana do wyliczania różnic po aktualizacji.
+ *
+ * @param trainingId identyfikator sesji treningowej
+ * @param userId identyfikator użytkownika (może być null)
+ * @param startTime czas rozpoczęcia sesji treningowej
+ * @param endTime czas zakończenia sesji treningowej
+ * @param activityType rodzaj aktywności
+ * @param distance dystans w kilometrach
+ * @param averageSpeed średnia prędkość w kilometrach na godzinę
+ * @param calories szacowana liczba spalonych kilokalorii (0, jeśli szacunek nie został jeszcze uzupełniony)
+ */
+public record TrainingSnapshot(@Nullable Long trainingId,
+                               @Nullable Long userId,
+                               Instant startTime,
+                               Instant endTime,
+                               ActivityType activityType,
+                               double distance,
+                               double averageSpeed,
+                               int calories) {
+
+    /**
+     * Tworzy kopię bieżącego stanu sesji treningowej.
+     *
+     * @param training sesja treningowa
+     * @return kopia stanu sesji treningowej
+     */
+    public static TrainingSnapshot of(Training training) {
+        return new TrainingSnapshot(
+                training.getId(),
+                training.getUser() == null ? null : training.getUser().getId(),
+                training.getStartTime(),
+                training.getEndTime(),
+                training.getActivityType(),
+                training.getDistance(),
+                training.getAverageSpeed(),
+                training.getCalories() == null ? 0 : training.getCalories());
+    }
+}
@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Zdarzenie publikowane w transakcji aktualizującej sesję treningową.
+ *
+ * @param previous stan sesji treningowej sprzed aktualizacji
+ * @param training zaktualizowana sesja treningowa
+ */
+public record TrainingUpdatedEvent(TrainingSnapshot previous, Training training) {
+}
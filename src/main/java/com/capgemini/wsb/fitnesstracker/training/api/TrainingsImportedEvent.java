@@ -0,0 +1,12 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import java.util.List;
+
+/**
+ * Zdarzenie publikowane w transakcji importu po zapisaniu kolejnej porcji sesji treningowych.
+ * Zawiera migawki zamiast encji, ponieważ po zapisaniu porcji kontekst persystencji jest czyszczony.
+ *
+ * @param trainings migawki zapisanych sesji treningowych
+ */
+public record TrainingsImportedEvent(List<TrainingSnapshot> trainings) {
+}
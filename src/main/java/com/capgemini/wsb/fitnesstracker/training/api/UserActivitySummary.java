@@ -0,0 +1,14 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+/**
+ * Zagregowane sesje treningowe użytkownika dla jednego typu aktywności w zadanym okresie.
+ *
+ * @param userId identyfikator użytkownika
+ * @param activityType typ aktywności
+ * @param trainings liczba sesji treningowych
+ * @param distance łączny dystans w kilometrach
+ */
+public record UserActivitySummary(Long userId, ActivityType activityType, long trainings, double distance) {
+}
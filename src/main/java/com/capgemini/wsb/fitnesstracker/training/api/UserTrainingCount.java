@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+/**
+ * Łączna liczba sesji treningowych zarejestrowanych przez użytkownika.
+ *
+ * @param userId identyfikator użytkownika
+ * @param trainings liczba sesji treningowych
+ */
+public record UserTrainingCount(Long userId, long trainings) {
+}
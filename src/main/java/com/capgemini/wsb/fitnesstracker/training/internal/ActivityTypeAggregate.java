@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * Agregat sesji treningowych jednego typu aktywności.
+ *
+ * @param activityType typ aktywności
+ * @param trainings liczba sesji treningowych
+ * @param totalDistance łączny dystans w kilometrach
+ * @param averageDistance średni dystans w kilometrach
+ * @param averageSpeed średnia z prędkości średnich w kilometrach na godzinę
+ */
+public record ActivityTypeAggregate(ActivityType activityType,
+                                    long trainings,
+                                    double totalDistance,
+                                    double averageDistance,
+                                    double averageSpeed) {
+}
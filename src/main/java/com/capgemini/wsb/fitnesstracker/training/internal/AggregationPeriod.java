@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * Okres, według którego grupowane są sesje treningowe w agregatach czasowych.
+ */
+public enum AggregationPeriod {
+
+    /**
+     * Dzień kalendarzowy.
+     */
+    DAY,
+
+    /**
+     * Tydzień rozpoczynający się w poniedziałek.
+     */
+    WEEK,
+
+    /**
+     * Miesiąc kalendarzowy.
+     */
+    MONTH
+}
@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * Podsumowanie uzupełniania szacunków spalonych kilokalorii.
+ *
+ * @param updated liczba sesji treningowych, dla których zapisano szacunek
+ */
+public record CalorieBackfillResult(int updated) {
+}
@@ -0,0 +1,172 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Model szacujący liczbę kilokalorii spalonych podczas sesji treningowej.
+ *
+ * <p>Wydatek energetyczny liczony jest jako {@code MET × kcal na MET-godzinę × czas trwania}. Wartości MET pochodzą
+ * z Compendium of Physical Activities i zależą od rodzaju aktywności oraz średniej prędkości. Kilokalorie na
+ * MET-godzinę to spoczynkowa przemiana materii wg wzoru Harrisa-Benedicta dla osoby referencyjnej (70 kg, 170 cm,
+ * średnia z wzorów dla kobiet i mężczyzn) w wieku użytkownika z dnia treningu, ponieważ użytkownik nie ma zapisanej
+ * masy ciała ani płci.</p>
+ *
+ * <p>Obie zależności są przeliczane raz, przy ładowaniu klasy, do tablic indeksowanych numerem rodzaju aktywności,
+ * prędkością z dokładnością do 0,1 km/h i wiekiem w latach. Pojedynczy szacunek to dwa odczyty z tablic i kilka
+ * działań arytmetycznych, bez alokacji obiektów, dlatego model nadaje się zarówno do zapisu pojedynczych sesji,
+ * jak i do przeliczania milionów wierszy.</p>
+ */
+public final class CalorieModel {
+
+    /**
+     * Wiek przyjmowany, gdy sesja treningowa nie ma przypisanego użytkownika.
+     */
+    static final int REFERENCE_AGE = 35;
+
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 100;
+    private static final int SPEED_STEPS_PER_KMH = 10;
+    private static final int MAX_SPEED_KMH = 60;
+    private static final int MAX_SPEED_INDEX = MAX_SPEED_KMH * SPEED_STEPS_PER_KMH;
+    private static final double SECONDS_PER_HOUR = 3_600.0;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private static final double REFERENCE_MASS_KG = 70.0;
+    private static final double REFERENCE_HEIGHT_CM = 170.0;
+
+    /**
+     * Progi prędkości w km/h i odpowiadające im wartości MET; próg obowiązuje do następnego progu.
+     */
+    private static final Map<ActivityType, double[][]> MET_BANDS = new EnumMap<>(ActivityType.class);
+
+    static {
+        MET_BANDS.put(ActivityType.RUNNING, new double[][]{
+                {0.0, 6.0}, {8.0, 8.3}, {8.4, 9.0}, {9.7, 9.8}, {10.8, 10.5}, {11.3, 11.0}, {12.1, 11.5},
+                {12.9, 11.8}, {13.8, 12.3}, {14.5, 12.8}, {16.1, 14.5}, {17.7, 16.0}, {19.3, 19.0}, {20.9, 19.8},
+                {22.5, 23.0}});
+        MET_BANDS.put(ActivityType.CYCLING, new double[][]{
+                {0.0, 4.0}, {16.1, 6.8}, {19.3, 8.0}, {22.5, 10.0}, {25.7, 12.0}, {32.2, 15.8}});
+        MET_BANDS.put(ActivityType.WALKING, new double[][]{
+                {0.0, 2.0}, {3.2, 2.8}, {4.0, 3.0}, {4.8, 3.5}, {5.6, 4.3}, {6.4, 5.0}, {7.2, 7.0}, {8.0, 8.3}});
+        MET_BANDS.put(ActivityType.SWIMMING, new double[][]{
+                {0.0, 5.8}, {2.5, 8.3}, {3.2, 9.8}});
+        MET_BANDS.put(ActivityType.TENNIS, new double[][]{
+                {0.0, 7.3}});
+    }
+
+    /**
+     * Wartości MET indeksowane numerem rodzaju aktywności i prędkością w dziesiątych częściach km/h.
+     */
+    private static final double[][] MET_BY_SPEED = new double[ActivityType.values().length][MAX_SPEED_INDEX + 1];
+
+    /**
+     * Kilokalorie spalane w ciągu godziny na jeden MET, indeksowane wiekiem w latach.
+     */
+    private static final double[] KCAL_PER_MET_HOUR = new double[MAX_AGE + 1];
+
+    static {
+        for (ActivityType activityType : ActivityType.values()) {
+            double[][] bands = MET_BANDS.get(activityType);
+            double[] metBySpeed = MET_BY_SPEED[activityType.ordinal()];
+            int band = 0;
+            for (int speedIndex = 0; speedIndex <= MAX_SPEED_INDEX; speedIndex++) {
+                while (band + 1 < bands.length && speedIndex >= Math.round(bands[band + 1][0] * SPEED_STEPS_PER_KMH)) {
+                    band++;
+                }
+                metBySpeed[speedIndex] = bands[band][1];
+            }
+        }
+        for (int age = 0; age <= MAX_AGE; age++) {
+            KCAL_PER_MET_HOUR[age] = restingKcalPerDay(Math.max(age, MIN_AGE)) / 24;
+        }
+    }
+
+    private CalorieModel() {
+    }
+
+    /**
+     * Szacuje liczbę kilokalorii spalonych podczas sesji treningowej, na podstawie jej bieżącego stanu
+     * i daty urodzenia przypisanego użytkownika.
+     *
+     * @param training sesja treningowa
+     * @return liczba kilokalorii
+     */
+    public static int estimate(Training training) {
+        User user = training.getUser();
+        return estimate(training, user == null ? null : user.getBirthdate());
+    }
+
+    /**
+     * Szacuje liczbę kilokalorii spalonych podczas sesji treningowej, na podstawie jej bieżącego stanu i podanej
+     * daty urodzenia użytkownika. Nie odczytuje przypisanego użytkownika, więc może nim być niezainicjowana referencja.
+     *
+     * @param training sesja treningowa
+     * @param birthdate data urodzenia użytkownika lub null, jeśli nie jest znana
+     * @return liczba kilokalorii
+     */
+    public static int estimate(Training training, @Nullable LocalDate birthdate) {
+        int age = birthdate == null
+                ? REFERENCE_AGE
+                : ageInYears(birthdate.toEpochDay(), epochDay(training.getStartTime()));
+        return estimate(training.getActivityType(),
+                        training.getEndTime().getEpochSecond() - training.getStartTime().getEpochSecond(),
+                        training.getDistance(),
+                        training.getAverageSpeed(),
+                        age);
+    }
+
+    /**
+     * Szacuje liczbę kilokalorii spalonych podczas sesji treningowej.
+     *
+     * @param activityType rodzaj aktywności
+     * @param durationSeconds czas trwania w sekundach
+     * @param distance dystans w kilometrach
+     * @param averageSpeed średnia prędkość w kilometrach na godzinę; gdy nie jest znana (0), wyliczana jest z dystansu
+     * @param age wiek użytkownika w latach w dniu treningu
+     * @return liczba kilokalorii, 0 dla sesji o niedodatnim czasie trwania
+     */
+    public static int estimate(ActivityType activityType, long durationSeconds, double distance, double averageSpeed, int age) {
+        if (durationSeconds <= 0) {
+            return 0;
+        }
+        double hours = durationSeconds / SECONDS_PER_HOUR;
+        double speed = averageSpeed > 0 ? averageSpeed : distance / hours;
+        int speedIndex = (int) Math.min(Math.max(speed, 0.0) * SPEED_STEPS_PER_KMH, MAX_SPEED_INDEX);
+        double met = MET_BY_SPEED[activityType.ordinal()][speedIndex];
+        return (int) Math.round(met * KCAL_PER_MET_HOUR[Math.min(Math.max(age, 0), MAX_AGE)] * hours);
+    }
+
+    /**
+     * Wylicza wiek w pełnych latach na podstawie dni od początku epoki; rok liczony jest jako 365,25 dnia.
+     *
+     * @param birthEpochDay dzień urodzenia
+     * @param epochDay dzień, na który liczony jest wiek
+     * @return wiek w latach
+     */
+    public static int ageInYears(long birthEpochDay, long epochDay) {
+        return (int) Math.max(0, (epochDay - birthEpochDay) * 4 / 1_461);
+    }
+
+    /**
+     * Zwraca dzień od początku epoki (UTC), w którym przypada podana chwila.
+     *
+     * @param instant chwila
+     * @return numer dnia
+     */
+    public static long epochDay(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    private static double restingKcalPerDay(int age) {
+        double male = 66.47 + 13.75 * REFERENCE_MASS_KG + 5.003 * REFERENCE_HEIGHT_CM - 6.755 * age;
+        double female = 655.1 + 9.563 * REFERENCE_MASS_KG + 1.850 * REFERENCE_HEIGHT_CM - 4.676 * age;
+        return (male + female) / 2;
+    }
+}
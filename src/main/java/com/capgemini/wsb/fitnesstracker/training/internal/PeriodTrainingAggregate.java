@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import java.time.Instant;
+
+/**
+ * Agregat sesji treningowych zakończonych w jednym okresie (dniu, tygodniu lub miesiącu).
+ *
+ * @param periodStart początek okresu
+ * @param trainings liczba sesji treningowych
+ * @param totalDistance łączny dystans w kilometrach
+ * @param averageDistance średni dystans w kilometrach
+ * @param averageSpeed średnia z prędkości średnich w kilometrach na godzinę
+ */
+public record PeriodTrainingAggregate(@TrainingTimestamp Instant periodStart,
+                                      long trainings,
+                                      double totalDistance,
+                                      double averageDistance,
+                                      double averageSpeed) {
+}
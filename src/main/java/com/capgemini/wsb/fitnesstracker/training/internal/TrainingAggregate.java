@@ -0,0 +1,12 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * Agregat sesji treningowych spełniających kryteria zapytania.
+ *
+ * @param trainings liczba sesji treningowych
+ * @param totalDistance łączny dystans w kilometrach
+ * @param averageDistance średni dystans w kilometrach (0, jeśli nie ma sesji treningowych)
+ * @param averageSpeed średnia z prędkości średnich w kilometrach na godzinę (0, jeśli nie ma sesji treningowych)
+ */
+public record TrainingAggregate(long trainings, double totalDistance, double averageDistance, double averageSpeed) {
+}
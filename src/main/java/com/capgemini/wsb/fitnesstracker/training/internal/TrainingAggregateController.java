@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Agregaty sesji treningowych liczone w bazie danych (sumy, średnie i liczności), dzięki czemu klient nie musi
+ * pobierać wszystkich sesji treningowych, żeby je zsumować. Każdy endpoint przyjmuje opcjonalne kryteria
+ * {@link TrainingAggregateCriteria}: {@code userId}, {@code activityType}, {@code from} i {@code to}.
+ */
+@RestController
+@RequestMapping("/v1/trainings/aggregates")
+@RequiredArgsConstructor
+class TrainingAggregateController {
+
+    private final TrainingServiceImpl trainingService;
+
+    /**
+     * Zwraca agregat wszystkich sesji treningowych spełniających kryteria.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregat sesji treningowych
+     */
+    @GetMapping
+    public TrainingAggregate getAggregate(TrainingAggregateCriteria criteria) {
+        return trainingService.aggregate(criteria);
+    }
+
+    /**
+     * Zwraca agregaty sesji treningowych według typu aktywności.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty dla typów aktywności
+     */
+    @GetMapping("/by-activity-type")
+    public List<ActivityTypeAggregate> getAggregatesByActivityType(TrainingAggregateCriteria criteria) {
+        return trainingService.aggregateByActivityType(criteria);
+    }
+
+    /**
+     * Zwraca stronę agregatów sesji treningowych według użytkownika.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @param afterUserId identyfikator ostatniego użytkownika z poprzedniej strony
+     * @param limit maksymalna liczba agregatów na stronie
+     * @return agregaty użytkowników posortowane według identyfikatora
+     */
+    @GetMapping("/by-user")
+    public List<UserTrainingAggregate> getAggregatesByUser(TrainingAggregateCriteria criteria,
+                                                           @RequestParam(defaultValue = "0") long afterUserId,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        return trainingService.aggregateByUser(criteria, afterUserId, limit);
+    }
+
+    /**
+     * Zwraca agregaty sesji treningowych według dnia, tygodnia lub miesiąca zakończenia.
+     *
+     * @param period okres grupowania
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty posortowane chronologicznie
+     */
+    @GetMapping("/by-period")
+    public List<PeriodTrainingAggregate> getAggregatesByPeriod(@RequestParam AggregationPeriod period,
+                                                               TrainingAggregateCriteria criteria) {
+        return trainingService.aggregateByPeriod(period, criteria);
+    }
+}
@@ -0,0 +1,41 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Opcjonalne kryteria zawężające sesje treningowe objęte agregatem. Pominięte kryterium nie zawęża wyniku.
+ *
+ * @param userId identyfikator użytkownika
+ * @param activityType typ aktywności
+ * @param from początek okresu zakończenia sesji treningowych (włącznie)
+ * @param to koniec okresu zakończenia sesji treningowych (wyłącznie)
+ */
+public record TrainingAggregateCriteria(@Nullable Long userId,
+                                        @Nullable ActivityType activityType,
+                                        @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @Nullable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    /**
+     * Zwraca początek okresu jako chwilę rozpoczęcia dnia {@link #from()} w strefie czasowej serwera.
+     *
+     * @return początek okresu lub null, jeśli nie został podany
+     */
+    @Nullable
+    Instant fromInstant() {
+        return TrainingTimestamps.startOfDayOrNull(from);
+    }
+
+    /**
+     * Zwraca koniec okresu jako chwilę rozpoczęcia dnia {@link #to()} w strefie czasowej serwera.
+     *
+     * @return koniec okresu lub null, jeśli nie został podany
+     */
+    @Nullable
+    Instant toInstant() {
+        return TrainingTimestamps.startOfDayOrNull(to);
+    }
+}
@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * Zapytania agregujące sesje treningowe według opcjonalnych kryteriów, dołączane do {@link TrainingRepository}.
+ *
+ * <p>Zapytanie zawiera warunki tylko dla podanych kryteriów. Warunki postaci {@code (:p IS NULL OR kolumna = :p)}
+ * nie pozwalają planiście wybrać indeksu, ponieważ plan zapytania przygotowywany jest niezależnie od wartości
+ * parametrów.</p>
+ */
+public interface TrainingAggregateRepository {
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregat sesji treningowych
+     */
+    TrainingAggregate aggregate(TrainingAggregateCriteria criteria);
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria, grupując je według typu aktywności.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty posortowane według typu aktywności
+     */
+    List<ActivityTypeAggregate> aggregateByActivityType(TrainingAggregateCriteria criteria);
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria, grupując je według użytkownika. Wyniki stronicowane są
+     * po identyfikatorze użytkownika (keyset pagination).
+     *
+     * @param criteria kryteria sesji treningowych
+     * @param afterUserId identyfikator ostatniego użytkownika z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych agregatów
+     * @return agregaty posortowane według identyfikatora użytkownika
+     */
+    List<UserTrainingAggregate> aggregateByUser(TrainingAggregateCriteria criteria, long afterUserId, Limit limit);
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria, grupując je według okresu zakończenia.
+     *
+     * @param period okres grupowania
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty posortowane chronologicznie
+     */
+    List<PeriodTrainingAggregate> aggregateByPeriod(AggregationPeriod period, TrainingAggregateCriteria criteria);
+}
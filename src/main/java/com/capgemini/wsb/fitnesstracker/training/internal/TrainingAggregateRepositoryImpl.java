@@ -0,0 +1,113 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implementacja {@link TrainingAggregateRepository}. Projekcja i grupowanie zapisane są w HQL, a warunki dla podanych
+ * kryteriów dodawane są do zapytania przez Criteria API.
+ */
+@RequiredArgsConstructor
+class TrainingAggregateRepositoryImpl implements TrainingAggregateRepository {
+
+    /**
+     * Wartości wspólne dla wszystkich agregatów: liczba sesji, łączny i średni dystans oraz średnia prędkość.
+     */
+    private static final String AGGREGATE_VALUES = "count(t), coalesce(sum(t.distance), 0.0), coalesce(avg(t.distance), 0.0), "
+            + "coalesce(avg(t.averageSpeed), 0.0)";
+
+    private static final String AGGREGATE = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.TrainingAggregate("
+            + AGGREGATE_VALUES + ") FROM Training t";
+
+    private static final String BY_ACTIVITY_TYPE = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.ActivityTypeAggregate("
+            + "t.activityType, " + AGGREGATE_VALUES + ") FROM Training t GROUP BY t.activityType ORDER BY t.activityType";
+
+    private static final String BY_USER = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.UserTrainingAggregate("
+            + "t.user.id, " + AGGREGATE_VALUES + ") FROM Training t GROUP BY t.user.id ORDER BY t.user.id";
+
+    /**
+     * Agregat według okresu; {@code %s} to jednostka, do której obcinany jest czas zakończenia sesji.
+     */
+    private static final String BY_PERIOD = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.PeriodTrainingAggregate("
+            + "trunc(t.endTime, %1$s), " + AGGREGATE_VALUES + ") FROM Training t "
+            + "GROUP BY trunc(t.endTime, %1$s) ORDER BY trunc(t.endTime, %1$s)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public TrainingAggregate aggregate(TrainingAggregateCriteria criteria) {
+        return query(AGGREGATE, TrainingAggregate.class, criteria, List.of()).getSingleResult();
+    }
+
+    @Override
+    public List<ActivityTypeAggregate> aggregateByActivityType(TrainingAggregateCriteria criteria) {
+        return query(BY_ACTIVITY_TYPE, ActivityTypeAggregate.class, criteria, List.of()).getResultList();
+    }
+
+    @Override
+    public List<UserTrainingAggregate> aggregateByUser(TrainingAggregateCriteria criteria, long afterUserId, Limit limit) {
+        return query(BY_USER, UserTrainingAggregate.class, criteria,
+                     List.of((builder, training) -> builder.gt(userId(training), afterUserId)))
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    @Override
+    public List<PeriodTrainingAggregate> aggregateByPeriod(AggregationPeriod period, TrainingAggregateCriteria criteria) {
+        String unit = period.name().toLowerCase(Locale.ROOT);
+        return query(BY_PERIOD.formatted(unit), PeriodTrainingAggregate.class, criteria, List.of()).getResultList();
+    }
+
+    private <T> TypedQuery<T> query(String hql, Class<T> resultType, TrainingAggregateCriteria criteria,
+                                    List<Restriction> restrictions) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<T> query = builder.createQuery(hql, resultType);
+        @SuppressWarnings("unchecked")
+        Root<Training> training = (Root<Training>) query.getRoots().iterator().next();
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.userId() != null) {
+            predicates.add(builder.equal(userId(training), criteria.userId()));
+        }
+        if (criteria.activityType() != null) {
+            predicates.add(builder.equal(training.get("activityType"), criteria.activityType()));
+        }
+        Instant from = criteria.fromInstant();
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(training.get("endTime"), from));
+        }
+        Instant to = criteria.toInstant();
+        if (to != null) {
+            predicates.add(builder.lessThan(training.get("endTime"), to));
+        }
+        restrictions.forEach(restriction -> predicates.add(restriction.toPredicate(builder, training)));
+        query.where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query);
+    }
+
+    private static Path<Long> userId(Root<Training> training) {
+        return training.get("user").get("id");
+    }
+
+    /**
+     * Dodatkowy warunek zapytania, niezależny od kryteriów.
+     */
+    @FunctionalInterface
+    private interface Restriction {
+
+        Predicate toPredicate(HibernateCriteriaBuilder builder, Root<Training> training);
+    }
+}
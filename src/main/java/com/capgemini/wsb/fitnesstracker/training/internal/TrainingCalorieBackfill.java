@@ -0,0 +1,133 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCaloriesBackfilledEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Uzupełnia szacunki spalonych kilokalorii dla sesji treningowych zapisanych bez nich (sprzed wprowadzenia szacunku
+ * albo wstawionych bezpośrednio do bazy).
+ *
+ * <p>Sesje przetwarzane są porcjami w kolejności identyfikatorów, każda porcja we własnej transakcji: odczyt
+ * stronicowany kursorem po kluczu, wyliczenie szacunku przez {@link CalorieModel} i wsadowy zapis przez JDBC.
+ * Przerwane uzupełnianie można bezpiecznie wznowić, ponieważ przetwarzane są tylko wiersze bez szacunku. Zapis
+ * również dotyczy tylko wierszy bez szacunku, więc sesja zmieniona równolegle (i przy tym już oszacowana) nie jest
+ * nadpisywana ani liczona w statystykach drugi raz.
+ * Dla każdej porcji publikowane jest {@link TrainingCaloriesBackfilledEvent}, dzięki któremu statystyki użytkowników
+ * są aktualizowane przyrostowo, bez ponownego przeliczania wszystkich sesji.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingCalorieBackfill {
+
+    /**
+     * Liczba sesji treningowych przetwarzanych w jednej transakcji.
+     */
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String SELECT_BATCH = """
+            select t.id, t.user_id, t.start_time, t.end_time, t.activity_type, t.distance, t.average_speed, u.birthdate
+            from trainings t
+            left join users u on u.id = t.user_id
+            where t.calories is null and t.id > ?
+            order by t.id
+            limit ?""";
+    private static final String UPDATE_CALORIES = "update trainings set calories = ? where id = ? and calories is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Uzupełnia szacunki dla wszystkich sesji treningowych, które ich nie mają.
+     *
+     * @return podsumowanie uzupełniania
+     */
+    public CalorieBackfillResult backfill() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            long cursor = afterId;
+            BatchResult batch = transactionTemplate.execute(status -> backfillBatch(cursor));
+            if (batch == null || batch.read() == 0) {
+                break;
+            }
+            updated += batch.updated();
+            afterId = batch.lastId();
+            if (batch.read() < BATCH_SIZE) {
+                break;
+            }
+        }
+        log.info("Calorie estimates backfilled for {} trainings", updated);
+        return new CalorieBackfillResult(updated);
+    }
+
+    private BatchResult backfillBatch(long afterId) {
+        List<EstimatedTraining> batch = jdbcTemplate.query(SELECT_BATCH, TrainingCalorieBackfill::estimate, afterId, BATCH_SIZE);
+        if (batch.isEmpty()) {
+            return new BatchResult(0, afterId, 0);
+        }
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (EstimatedTraining training : batch) {
+            rows.add(new Object[]{training.calories(), training.id()});
+        }
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_CALORIES, rows);
+        int updated = 0;
+        // Uporządkowane według użytkownika, żeby wiersze statystyk były blokowane zawsze w tej samej kolejności.
+        Map<Long, Integer> caloriesByUser = new TreeMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (updateCounts[i] != 1) {
+                // Sesja została w międzyczasie zmieniona i oszacowana, więc jej kilokalorie są już w statystykach.
+                continue;
+            }
+            EstimatedTraining training = batch.get(i);
+            updated++;
+            if (training.userId() != null) {
+                caloriesByUser.merge(training.userId(), training.calories(), Integer::sum);
+            }
+        }
+        eventPublisher.publishEvent(new TrainingCaloriesBackfilledEvent(caloriesByUser));
+        return new BatchResult(batch.size(), batch.get(batch.size() - 1).id(), updated);
+    }
+
+    private static EstimatedTraining estimate(ResultSet resultSet, int rowNumber) throws SQLException {
+        long userId = resultSet.getLong("user_id");
+        Long owner = resultSet.wasNull() ? null : userId;
+        Timestamp startTime = resultSet.getTimestamp("start_time");
+        Timestamp endTime = resultSet.getTimestamp("end_time");
+        Date birthdate = resultSet.getDate("birthdate");
+        int age = birthdate == null
+                ? CalorieModel.REFERENCE_AGE
+                : CalorieModel.ageInYears(birthdate.toLocalDate().toEpochDay(),
+                                          CalorieModel.epochDay(startTime.toInstant()));
+        int calories = CalorieModel.estimate(ActivityType.values()[resultSet.getInt("activity_type")],
+                                             (endTime.getTime() - startTime.getTime()) / 1_000,
+                                             resultSet.getDouble("distance"),
+                                             resultSet.getDouble("average_speed"),
+                                             age);
+        return new EstimatedTraining(resultSet.getLong("id"), owner, calories);
+    }
+
+    private record EstimatedTraining(long id, Long userId, int calories) {
+    }
+
+    /**
+     * Wynik porcji: liczba odczytanych sesji, identyfikator ostatniej z nich i liczba faktycznie zapisanych szacunków.
+     */
+    private record BatchResult(int read, long lastId, int updated) {
+    }
+}
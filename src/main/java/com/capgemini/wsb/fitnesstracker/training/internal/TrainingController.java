@@ -1,37 +1,91 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.concurrency.api.EntityTags;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.Date;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/v1/trainings")
 @RequiredArgsConstructor
 public class TrainingController {
 
+    /**
+     * Nagłówek odpowiedzi zawierający kursor kolejnej strony.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TrainingServiceImpl trainingService;
+    private final TrainingImportService trainingImportService;
+    private final TrainingCalorieBackfill trainingCalorieBackfill;
     private final TrainingMapper trainingMapper;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Zwraca listę wszystkich sesji treningowych.
+     * Zwraca stronę sesji treningowych. Kursor kolejnej strony zwracany jest w nagłówku {@value #NEXT_CURSOR_HEADER};
+     * jego brak oznacza ostatnią stronę.
      *
-     * @return lista wszystkich sesji treningowych
+     * @param cursor kursor z poprzedniej odpowiedzi (pomijany dla pierwszej strony)
+     * @param limit maksymalna liczba sesji treningowych na stronie
+     * @return strona sesji treningowych
      */
     @GetMapping
-    public List<TrainingDto> getAllTrainings() {
-        return trainingService.getAllTrainings().stream()
-                .map(trainingMapper::toTrainingDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<TrainingSummaryDto>> getAllTrainings(@RequestParam(required = false) @Nullable String cursor,
+                                                                    @RequestParam(defaultValue = "100") int limit) {
+        TrainingPage page = trainingService.getTrainingsPage(cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.trainings());
+    }
+
+    /**
+     * Strumieniuje wszystkie sesje treningowe w formacie NDJSON (jeden obiekt JSON na linię).
+     * Zużycie pamięci jest stałe niezależnie od liczby sesji treningowych w bazie.
+     *
+     * @return strumień wszystkich sesji treningowych
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTrainings() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(TrainingSummaryDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                trainingService.streamAllTrainings(training -> {
+                    try {
+                        writer.write(training);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -41,10 +95,8 @@ public class TrainingController {
      * @return lista sesji treningowych dla danego użytkownika
      */
     @GetMapping("/{userId}")
-    public List<TrainingDto> getTrainingsByUserId(@PathVariable Long userId) {
-        return trainingService.getTrainingsByUserId(userId).stream()
-                .map(trainingMapper::toTrainingDto)
-                .collect(Collectors.toList());
+    public List<TrainingSummaryDto> getTrainingsByUserId(@PathVariable Long userId) {
+        return trainingService.getTrainingSummariesByUserId(userId);
     }
 
     /**
@@ -54,10 +106,30 @@ public class TrainingController {
      * @return lista sesji treningowych zakończonych po podanej dacie
      */
     @GetMapping("/finished/{date}")
-    public List<TrainingDto> getTrainingsByEndDateAfter(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date date) {
-        return trainingService.getTrainingsByEndDateAfter(date).stream()
-                .map(trainingMapper::toTrainingDto)
-                .collect(Collectors.toList());
+    public List<TrainingSummaryDto> getTrainingsByEndDateAfter(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return trainingService.getTrainingSummariesByEndDateAfter(TrainingTimestamps.startOfDay(date));
+    }
+
+    /**
+     * Zwraca sesje treningowe użytkownika zakończone w podanym okresie, posortowane po czasie zakończenia.
+     *
+     * @param userId identyfikator użytkownika
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @param activityType opcjonalny typ aktywności
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @param sort kierunek sortowania po czasie zakończenia ({@code ASC} lub {@code DESC})
+     * @return lista sesji treningowych z podanego okresu
+     */
+    @GetMapping("/range")
+    public List<TrainingSummaryDto> getTrainingsInRange(@RequestParam Long userId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) @Nullable ActivityType activityType,
+                                                        @RequestParam(defaultValue = "100") int limit,
+                                                        @RequestParam(defaultValue = "ASC") Sort.Direction sort) {
+        return trainingService.getTrainingSummariesInRange(userId, TrainingTimestamps.startOfDay(from),
+                                                           TrainingTimestamps.startOfDay(to), activityType, limit, sort);
     }
 
     /**
@@ -67,41 +139,104 @@ public class TrainingController {
      * @return lista sesji treningowych dla danego typu aktywności
      */
     @GetMapping("/activityType")
-    public List<TrainingDto> getTrainingsByActivityType(@RequestParam ActivityType activityType) {
-        return trainingService.getTrainingsByActivityType(activityType).stream()
-                .map(trainingMapper::toTrainingDto)
-                .collect(Collectors.toList());
+    public List<TrainingSummaryDto> getTrainingsByActivityType(@RequestParam ActivityType activityType) {
+        return trainingService.getTrainingSummariesByActivityType(activityType);
     }
 
     /**
-     * Tworzy nową sesję treningową.
+     * Tworzy nową sesję treningową. Użytkownik sprawdzany jest w pamięci podręcznej kopii stanu użytkowników,
+     * a sesja wiązana jest z nim przez referencję, więc przy trafieniu w pamięć podręczną użytkownik nie jest
+     * odczytywany z bazy danych.
      *
      * @param trainingSupportDto obiekt DTO zawierający dane nowej sesji treningowej
      * @return odpowiedź z utworzoną sesją treningową
      */
     @PostMapping
     public ResponseEntity<TrainingDto> createTraining(@RequestBody TrainingSupportDto trainingSupportDto) {
-        User user = userService.getUser(trainingSupportDto.getUserId())
+        UserSnapshot user = userService.getUserSnapshot(trainingSupportDto.getUserId())
                 .orElseThrow(() -> new UserNotFoundException("Użytkownik nie istnieje."));
         TrainingDto trainingDto = trainingMapper.toTrainingFromTrainingSupportDto(trainingSupportDto);
-        trainingDto.setUser(user);
+        trainingDto.setUser(userService.getUserReference(user.id()));
         Training training = trainingMapper.toTrainingEntity(trainingDto);
-        TrainingDto newTraining = trainingMapper.toTrainingDto(trainingService.createTraining(training));
-        return new ResponseEntity<>(newTraining, HttpStatus.CREATED);
+        Training createdTraining = trainingService.createTraining(training, user.birthdate());
+        TrainingDto createdTrainingDto = trainingMapper.toTrainingDto(createdTraining);
+        createdTrainingDto.setUser(User.fromSnapshot(user));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(EntityTags.of(createdTraining.getVersion()))
+                .body(createdTrainingDto);
+    }
+
+    /**
+     * Importuje wiele sesji treningowych przekazanych jako tablica JSON. Poprawne sesje treningowe są zapisywane,
+     * a dla każdej pozycji zwracany jest identyfikator utworzonej sesji lub powód odrzucenia.
+     *
+     * @param trainings sesje treningowe do zaimportowania
+     * @return wyniki importu
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public TrainingImportSummary importTrainings(@RequestBody List<TrainingSupportDto> trainings) {
+        return trainingImportService.importTrainings(trainings);
     }
 
+    /**
+     * Importuje wiele sesji treningowych przekazanych w formacie NDJSON (jeden obiekt JSON na linię).
+     * Żądanie przetwarzane jest strumieniowo i nie jest w całości wczytywane do pamięci; w pamięci zbierane są tylko
+     * wyniki poszczególnych pozycji.
+     *
+     * @param body treść żądania
+     * @return wyniki importu
+     * @throws IOException jeśli nie udało się odczytać treści żądania
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TrainingImportSummary importTrainingsStream(InputStream body) throws IOException {
+        return trainingImportService.importTrainings(body);
+    }
+
+    /**
+     * Uzupełnia szacunki spalonych kilokalorii dla sesji treningowych, które ich nie mają.
+     *
+     * @return podsumowanie uzupełniania
+     */
+    @PostMapping("/calories/backfill")
+    public CalorieBackfillResult backfillCalories() {
+        return trainingCalorieBackfill.backfill();
+    }
+
+    /**
+     * Pobiera sesję treningową na podstawie ID. Nagłówek {@code ETag} zawiera wersję sesji treningowej, którą można
+     * przekazać w nagłówku {@code If-Match} aktualizacji.
+     *
+     * @param trainingId identyfikator sesji treningowej
+     * @return sesja treningowa
+     * @throws TrainingNotFoundException jeśli sesja treningowa nie istnieje
+     */
+    @GetMapping("/by-id/{trainingId}")
+    public ResponseEntity<TrainingDto> getTraining(@PathVariable Long trainingId) {
+        Training training = trainingService.getTraining(trainingId)
+                .orElseThrow(() -> new TrainingNotFoundException(trainingId));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(training.getVersion()))
+                .body(trainingMapper.toTrainingDto(training));
+    }
 
     /**
-     * Aktualizuje istniejącą sesję treningową.
+     * Aktualizuje istniejącą sesję treningową. Z nagłówkiem {@code If-Match} aktualizacja jest wykonywana tylko
+     * wtedy, gdy sesja nie zmieniła się od odczytu podanej wersji (w przeciwnym razie zwracany jest status 412).
+     * Bez niego podane pola są nakładane na bieżący stan, a konflikty z równoczesnymi aktualizacjami są ponawiane.
      *
      * @param trainingDto obiekt DTO zawierający zaktualizowane dane sesji treningowej
      * @param trainingId identyfikator sesji treningowej do aktualizacji
-     * @return zaktualizowana sesja treningowa
+     * @param ifMatch wersja sesji treningowej z nagłówka {@code ETag} poprzedniej odpowiedzi
+     * @return zaktualizowana sesja treningowa z nową wersją w nagłówku {@code ETag}
      */
     @PutMapping("/{trainingId}")
-    public TrainingDto updateTraining(@RequestBody TrainingDto trainingDto, @PathVariable Long trainingId) {
-        Training updatedTraining = trainingService.updateTraining(trainingId, trainingDto);
-        return trainingMapper.toTrainingDto(updatedTraining);
+    public ResponseEntity<TrainingDto> updateTraining(@RequestBody TrainingDto trainingDto,
+                                                      @PathVariable Long trainingId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch) {
+        Training updatedTraining = trainingService.updateTraining(trainingId, trainingDto, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedTraining.getVersion()))
+                .body(trainingMapper.toTrainingDto(updatedTraining));
     }
 
     /**
@@ -0,0 +1,54 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import jakarta.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Nieprzezroczysty kursor stronicowania sesji treningowych.
+ *
+ * <p>Kursor koduje identyfikator ostatniej zwróconej sesji treningowej, dzięki czemu kolejna strona
+ * jest pobierana warunkiem {@code id > :afterId} zamiast przesunięcia {@code OFFSET}.</p>
+ */
+final class TrainingCursor {
+
+    private static final String PREFIX = "t:";
+
+    private TrainingCursor() {
+    }
+
+    /**
+     * Koduje identyfikator ostatniej sesji treningowej na stronie do postaci kursora.
+     *
+     * @param lastId identyfikator ostatniej sesji treningowej
+     * @return kursor kolejnej strony
+     */
+    static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Dekoduje kursor do identyfikatora, po którym należy kontynuować odczyt.
+     *
+     * @param cursor kursor otrzymany od klienta (może być null)
+     * @return identyfikator ostatniej zwróconej sesji treningowej lub 0 dla pierwszej strony
+     * @throws BusinessException jeśli kursor jest nieprawidłowy
+     */
+    static long decode(@Nullable String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new BusinessException("Nieprawidłowy kursor stronicowania.");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Nieprawidłowy kursor stronicowania.");
+        }
+    }
+}
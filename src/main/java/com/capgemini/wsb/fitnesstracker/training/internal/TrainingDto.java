@@ -7,7 +7,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.Date;
+import java.time.Instant;
 
 /**
  * Klasa DTO reprezentująca dane sesji treningowej.
@@ -33,12 +33,14 @@ public class TrainingDto {
     /**
      * Czas rozpoczęcia sesji treningowej.
      */
-    private Date startTime;
+    @TrainingTimestamp
+    private Instant startTime;
 
     /**
      * Czas zakończenia sesji treningowej.
      */
-    private Date endTime;
+    @TrainingTimestamp
+    private Instant endTime;
 
     /**
      * Rodzaj aktywności wykonywanej podczas sesji treningowej.
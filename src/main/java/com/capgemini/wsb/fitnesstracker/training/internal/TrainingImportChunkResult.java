@@ -0,0 +1,16 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Wynik zapisu jednej porcji importu. Każda porcja zapisywana jest we własnej transakcji, więc błąd zapisu
+ * porcji nie wycofuje porcji zapisanych wcześniej.
+ *
+ * @param chunk numer porcji (liczony od 0)
+ * @param firstIndex pozycja pierwszej sesji treningowej porcji w żądaniu
+ * @param lastIndex pozycja ostatniej sesji treningowej porcji w żądaniu
+ * @param created liczba sesji treningowych utworzonych w porcji
+ * @param error powód wycofania porcji lub null, jeśli porcja została zatwierdzona
+ */
+public record TrainingImportChunkResult(int chunk, int firstIndex, int lastIndex, int created, @Nullable String error) {
+}
@@ -0,0 +1,21 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Wynik importu pojedynczej sesji treningowej.
+ *
+ * @param index pozycja sesji treningowej w żądaniu (liczona od 0)
+ * @param trainingId identyfikator utworzonej sesji treningowej lub null, jeśli została odrzucona
+ * @param error powód odrzucenia lub null, jeśli sesja treningowa została utworzona
+ */
+public record TrainingImportResult(int index, @Nullable Long trainingId, @Nullable String error) {
+
+    static TrainingImportResult created(int index, Long trainingId) {
+        return new TrainingImportResult(index, trainingId, null);
+    }
+
+    static TrainingImportResult rejected(int index, String error) {
+        return new TrainingImportResult(index, null, error);
+    }
+}
@@ -0,0 +1,242 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Import wielu sesji treningowych w jednym żądaniu.
+ *
+ * <p>Sesje treningowe walidowane są w jednym przebiegu i zapisywane porcjami po {@value #BATCH_SIZE}. Dla każdej porcji
+ * wszyscy wskazani użytkownicy pobierani są jednym zapytaniem {@code IN}, a wstawienia wysyłane są wsadowo
+ * (przy włączonym {@code hibernate.jdbc.batch_size}). Po zapisaniu porcji kontekst persystencji jest czyszczony,
+ * więc w pamięci trzymana jest co najwyżej jedna porcja encji. Wyniki poszczególnych pozycji zwracane są w odpowiedzi,
+ * więc ich lista rośnie liniowo z wielkością importu.</p>
+ *
+ * <p>Serwis nie jest transakcyjny: żądanie odczytywane jest poza transakcją, a każda porcja zatwierdzana jest
+ * w osobnej transakcji ({@link TransactionTemplate}). Połączenie z bazą i blokady wierszy statystyk, agregatów
+ * i postępów osiągnięć użytkowników trzymane są tylko na czas zapisu jednej porcji, a nie przez cały czas wysyłania
+ * żądania, więc czas transakcji importu nie zależy od jego wielkości ani od szybkości klienta. Dowolny błąd zapisu
+ * porcji, także zgłoszony przez słuchaczy zdarzenia importu, wycofuje tylko tę porcję; jej sesje treningowe są
+ * odrzucane, a import jest kontynuowany.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingImportService {
+
+    /**
+     * Liczba sesji treningowych zapisywanych w jednej porcji.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private final TrainingRepository trainingRepository;
+    private final UserProvider userProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Importuje sesje treningowe przekazane jako lista.
+     *
+     * @param trainings sesje treningowe do zaimportowania
+     * @return wyniki importu
+     */
+    public TrainingImportSummary importTrainings(List<TrainingSupportDto> trainings) {
+        ImportRun run = new ImportRun();
+        for (int i = 0; i < trainings.size(); i++) {
+            run.accept(i, trainings.get(i));
+        }
+        return run.finish();
+    }
+
+    /**
+     * Importuje sesje treningowe przekazane w formacie NDJSON (jeden obiekt JSON na linię), bez wczytywania
+     * całego żądania do pamięci. Linie, których nie da się odczytać, są odrzucane, a import jest kontynuowany.
+     *
+     * @param input strumień danych w formacie NDJSON
+     * @return wyniki importu
+     * @throws IOException jeśli nie udało się odczytać strumienia
+     */
+    public TrainingImportSummary importTrainings(InputStream input) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(TrainingSupportDto.class);
+        ImportRun run = new ImportRun();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int index = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.accept(index, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.reject(index, "Nieprawidłowy JSON: " + e.getOriginalMessage());
+            }
+            index++;
+        }
+        return run.finish();
+    }
+
+    @Nullable
+    private static String validate(TrainingSupportDto training) {
+        if (training.getUserId() == null) {
+            return "Brak identyfikatora użytkownika.";
+        }
+        if (training.getStartTime() == null || training.getEndTime() == null) {
+            return "Brak czasu rozpoczęcia lub zakończenia.";
+        }
+        if (training.getEndTime().isBefore(training.getStartTime())) {
+            return "Czas zakończenia jest wcześniejszy niż czas rozpoczęcia.";
+        }
+        if (training.getActivityType() == null) {
+            return "Brak typu aktywności.";
+        }
+        if (isNegative(training.getDistance()) || isNegative(training.getAverageSpeed())) {
+            return "Dystans i średnia prędkość nie mogą być ujemne.";
+        }
+        return null;
+    }
+
+    private static boolean isNegative(@Nullable Double value) {
+        return value != null && value < 0;
+    }
+
+    private static double valueOrZero(@Nullable Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private record PendingTraining(int index, TrainingSupportDto training) {
+    }
+
+    private record SavedChunk(List<Training> trainings, List<Integer> indexes, List<PendingTraining> unknownUsers) {
+    }
+
+    /**
+     * Stan pojedynczego importu: zebrane wyniki i porcja sesji treningowych oczekująca na zapis.
+     */
+    private final class ImportRun {
+
+        private final List<TrainingImportResult> results = new ArrayList<>();
+        private final List<TrainingImportChunkResult> chunks = new ArrayList<>();
+        private final List<PendingTraining> pending = new ArrayList<>(BATCH_SIZE);
+        private int created;
+
+        void accept(int index, TrainingSupportDto training) {
+            String error = validate(training);
+            if (error != null) {
+                reject(index, error);
+                return;
+            }
+            pending.add(new PendingTraining(index, training));
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(int index, String error) {
+            results.add(TrainingImportResult.rejected(index, error));
+        }
+
+        TrainingImportSummary finish() {
+            flush();
+            results.sort(Comparator.comparingInt(TrainingImportResult::index));
+            log.info("Imported {} trainings in {} chunks, rejected {}", created, chunks.size(), results.size() - created);
+            return new TrainingImportSummary(created, results.size() - created, results, chunks);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingTraining> chunk = List.copyOf(pending);
+            pending.clear();
+            int firstIndex = chunk.get(0).index();
+            int lastIndex = chunk.get(chunk.size() - 1).index();
+
+            SavedChunk saved;
+            try {
+                saved = transactionTemplate.execute(status -> save(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Import chunk {} (items {}-{}) rolled back", chunks.size(), firstIndex, lastIndex, e);
+                String error = "Porcja nie została zapisana: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                chunk.forEach(item -> reject(item.index(), error));
+                chunks.add(new TrainingImportChunkResult(chunks.size(), firstIndex, lastIndex, 0, error));
+                return;
+            }
+            if (saved == null) {
+                return;
+            }
+            for (PendingTraining item : saved.unknownUsers()) {
+                reject(item.index(), "Użytkownik %d nie istnieje.".formatted(item.training().getUserId()));
+            }
+            for (int i = 0; i < saved.trainings().size(); i++) {
+                results.add(TrainingImportResult.created(saved.indexes().get(i), saved.trainings().get(i).getId()));
+            }
+            created += saved.trainings().size();
+            chunks.add(new TrainingImportChunkResult(chunks.size(), firstIndex, lastIndex, saved.trainings().size(), null));
+        }
+
+        /**
+         * Zapisuje porcję w bieżącej transakcji. Wyniki dopisywane są dopiero po zatwierdzeniu, żeby wycofana
+         * porcja nie zostawiła wyników dla części swoich pozycji.
+         */
+        private SavedChunk save(List<PendingTraining> chunk) {
+            Set<Long> userIds = chunk.stream().map(item -> item.training().getUserId()).collect(toSet());
+            Map<Long, User> users = userProvider.findUsersByIds(userIds).stream()
+                    .collect(toMap(User::getId, Function.identity()));
+
+            List<Training> trainings = new ArrayList<>(chunk.size());
+            List<Integer> indexes = new ArrayList<>(chunk.size());
+            List<PendingTraining> unknownUsers = new ArrayList<>();
+            for (PendingTraining item : chunk) {
+                TrainingSupportDto dto = item.training();
+                User user = users.get(dto.getUserId());
+                if (user == null) {
+                    unknownUsers.add(item);
+                    continue;
+                }
+                Training training = new Training(user, dto.getStartTime(), dto.getEndTime(), dto.getActivityType(),
+                                                 valueOrZero(dto.getDistance()), valueOrZero(dto.getAverageSpeed()));
+                training.setCalories(CalorieModel.estimate(training));
+                trainings.add(training);
+                indexes.add(item.index());
+            }
+
+            trainingRepository.saveAll(trainings);
+            entityManager.flush();
+            eventPublisher.publishEvent(new TrainingsImportedEvent(trainings.stream().map(TrainingSnapshot::of).toList()));
+            entityManager.flush();
+            entityManager.clear();
+            return new SavedChunk(trainings, indexes, unknownUsers);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import java.util.List;
+
+/**
+ * Podsumowanie importu sesji treningowych.
+ *
+ * @param created liczba utworzonych sesji treningowych
+ * @param rejected liczba odrzuconych sesji treningowych
+ * @param results wyniki dla poszczególnych sesji treningowych, w kolejności z żądania
+ * @param chunks wyniki zapisu poszczególnych porcji, w kolejności zapisu
+ */
+public record TrainingImportSummary(int created, int rejected, List<TrainingImportResult> results,
+                                    List<TrainingImportChunkResult> chunks) {
+}
@@ -0,0 +1,14 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Pojedyncza strona sesji treningowych pobrana metodą stronicowania po kluczu.
+ *
+ * @param trainings sesje treningowe na stronie, posortowane rosnąco po identyfikatorze
+ * @param nextCursor kursor kolejnej strony lub null, jeśli to ostatnia strona
+ */
+public record TrainingPage(List<TrainingSummaryDto> trainings, @Nullable String nextCursor) {
+}
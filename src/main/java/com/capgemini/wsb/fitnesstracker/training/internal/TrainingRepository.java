@@ -1,17 +1,51 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Date;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interfejs repozytorium do zarządzania sesjami treningowymi.
+ *
+ * <p>Metody zwracające {@link TrainingSummaryDto} pobierają sesję treningową razem z podstawowymi danymi
+ * użytkownika jednym zapytaniem. Metody zwracające encje dociągają użytkownika przez graf encji,
+ * dzięki czemu nie wykonują osobnego zapytania dla każdego użytkownika.</p>
  */
-public interface TrainingRepository extends JpaRepository<Training, Long> {
+public interface TrainingRepository extends JpaRepository<Training, Long>, TrainingAggregateRepository {
+
+    /**
+     * Wspólna część zapytań tworzących {@link TrainingSummaryDto}.
+     */
+    String SUMMARY_PROJECTION = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.TrainingSummaryDto("
+            + "t.id, u.id, u.firstName, u.lastName, u.email, t.startTime, t.endTime, t.activityType, t.distance, t.averageSpeed) ";
+
+    /**
+     * Wspólna część zapytań tworzących {@link TrainingSummaryDto}, obejmująca również sesje bez użytkownika.
+     */
+    String SUMMARY_SELECT = SUMMARY_PROJECTION + "FROM Training t LEFT JOIN t.user u";
+
+    /**
+     * Projekcje sesji treningowych użytkownika zakończonych w zadanym okresie. Dane użytkownika czytane są ścieżkami
+     * {@code t.user}, więc warunek na użytkownika dotyczy kolumny {@code trainings.user_id}.
+     */
+    String RANGE_SELECT = "SELECT new com.capgemini.wsb.fitnesstracker.training.internal.TrainingSummaryDto("
+            + "t.id, t.user.id, t.user.firstName, t.user.lastName, t.user.email, t.startTime, t.endTime, t.activityType, "
+            + "t.distance, t.averageSpeed) "
+            + "FROM Training t WHERE t.user.id = :userId AND t.endTime >= :from AND t.endTime < :to";
 
     /**
      * Znajduje wszystkie sesje treningowe, które zakończyły się po podanej dacie.
@@ -19,7 +53,8 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param endDate data, po której sesje treningowe powinny być zakończone
      * @return lista sesji treningowych zakończonych po podanej dacie
      */
-    List<Training> findByEndTimeAfter(Date endDate);
+    @EntityGraph(attributePaths = "user")
+    List<Training> findByEndTimeAfter(Instant endDate);
 
     /**
      * Znajduje wszystkie sesje treningowe dla danego użytkownika.
@@ -27,6 +62,7 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param userId identyfikator użytkownika
      * @return lista sesji treningowych dla danego użytkownika
      */
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT t FROM Training t WHERE t.user.id = :userId")
     List<Training> findByUserId(@Param("userId") Long userId);
 
@@ -36,5 +72,154 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
      * @param activityType typ aktywności
      * @return lista sesji treningowych dla danego typu aktywności
      */
+    @EntityGraph(attributePaths = "user")
     List<Training> findByActivityType(ActivityType activityType);
+
+    /**
+     * Pobiera projekcje sesji treningowych zakończonych po podanej dacie.
+     *
+     * @param endDate data, po której sesje treningowe powinny być zakończone
+     * @return projekcje sesji treningowych posortowane po identyfikatorze
+     */
+    @Query(SUMMARY_SELECT + " WHERE t.endTime > :endDate ORDER BY t.id")
+    List<TrainingSummaryDto> findSummariesByEndTimeAfter(@Param("endDate") Instant endDate);
+
+    /**
+     * Pobiera projekcje sesji treningowych danego użytkownika.
+     *
+     * @param userId identyfikator użytkownika
+     * @return projekcje sesji treningowych posortowane po identyfikatorze
+     */
+    @Query(SUMMARY_PROJECTION + "FROM Training t JOIN t.user u WHERE u.id = :userId ORDER BY t.id")
+    List<TrainingSummaryDto> findSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Pobiera projekcje sesji treningowych dla danego typu aktywności.
+     *
+     * @param activityType typ aktywności
+     * @return projekcje sesji treningowych posortowane po identyfikatorze
+     */
+    @Query(SUMMARY_SELECT + " WHERE t.activityType = :activityType ORDER BY t.id")
+    List<TrainingSummaryDto> findSummariesByActivityType(@Param("activityType") ActivityType activityType);
+
+    /**
+     * Pobiera kolejną stronę projekcji sesji treningowych metodą stronicowania po kluczu (keyset pagination).
+     *
+     * @param afterId identyfikator ostatniej sesji treningowej z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych o identyfikatorze większym niż {@code afterId}, posortowane rosnąco
+     */
+    @Query(SUMMARY_SELECT + " WHERE t.id > :afterId ORDER BY t.id")
+    List<TrainingSummaryDto> findSummaryPageAfterId(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Pobiera kolejną stronę projekcji sesji treningowych danego użytkownika metodą stronicowania po kluczu.
+     *
+     * @param userId identyfikator użytkownika
+     * @param afterId identyfikator ostatniej sesji treningowej z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych o identyfikatorze większym niż {@code afterId}, posortowane rosnąco
+     */
+    @Query(SUMMARY_PROJECTION + "FROM Training t JOIN t.user u WHERE u.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<TrainingSummaryDto> findSummaryPageByUserId(@Param("userId") Long userId, @Param("afterId") long afterId,
+                                                     Limit limit);
+
+    /**
+     * Pobiera kolejną stronę projekcji sesji treningowych zakończonych po podanej dacie metodą stronicowania po kluczu.
+     *
+     * @param endDate data, po której sesje treningowe powinny być zakończone
+     * @param afterId identyfikator ostatniej sesji treningowej z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych o identyfikatorze większym niż {@code afterId}, posortowane rosnąco
+     */
+    @Query(SUMMARY_SELECT + " WHERE t.endTime > :endDate AND t.id > :afterId ORDER BY t.id")
+    List<TrainingSummaryDto> findSummaryPageByEndTimeAfter(@Param("endDate") Instant endDate, @Param("afterId") long afterId,
+                                                           Limit limit);
+
+    /**
+     * Pobiera kolejną stronę projekcji sesji treningowych danego typu aktywności metodą stronicowania po kluczu.
+     *
+     * @param activityType typ aktywności
+     * @param afterId identyfikator ostatniej sesji treningowej z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych o identyfikatorze większym niż {@code afterId}, posortowane rosnąco
+     */
+    @Query(SUMMARY_SELECT + " WHERE t.activityType = :activityType AND t.id > :afterId ORDER BY t.id")
+    List<TrainingSummaryDto> findSummaryPageByActivityType(@Param("activityType") ActivityType activityType,
+                                                           @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Pobiera projekcje sesji treningowych użytkownika zakończonych w zadanym okresie (indeks {@code (user_id, end_time)}).
+     *
+     * @param userId identyfikator użytkownika
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @param sort kolejność sesji treningowych
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych w podanej kolejności
+     */
+    @Query(RANGE_SELECT)
+    List<TrainingSummaryDto> findSummariesInRange(@Param("userId") Long userId, @Param("from") Instant from, @Param("to") Instant to,
+                                                  Sort sort, Limit limit);
+
+    /**
+     * Pobiera projekcje sesji treningowych użytkownika danego typu aktywności zakończonych w zadanym okresie
+     * (indeks {@code (user_id, activity_type, end_time)}).
+     *
+     * @param userId identyfikator użytkownika
+     * @param activityType typ aktywności
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @param sort kolejność sesji treningowych
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @return projekcje sesji treningowych w podanej kolejności
+     */
+    @Query(RANGE_SELECT + " AND t.activityType = :activityType")
+    List<TrainingSummaryDto> findSummariesInRangeByActivityType(@Param("userId") Long userId,
+                                                                @Param("activityType") ActivityType activityType,
+                                                                @Param("from") Instant from, @Param("to") Instant to,
+                                                                Sort sort, Limit limit);
+
+    /**
+     * Strumieniuje projekcje wszystkich sesji treningowych posortowane po identyfikatorze.
+     * Strumień musi zostać skonsumowany i zamknięty w obrębie transakcji.
+     *
+     * @return strumień projekcji wszystkich sesji treningowych
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + " ORDER BY t.id")
+    Stream<TrainingSummaryDto> streamAllSummaries();
+
+    /**
+     * Agreguje sesje treningowe podanych użytkowników zakończone w zadanym okresie, per użytkownik i typ aktywności.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @return agregaty sesji treningowych
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary(
+                t.user.id, t.activityType, count(t), sum(t.distance))
+            FROM Training t
+            WHERE t.user.id IN :userIds AND t.endTime >= :from AND t.endTime < :to
+            GROUP BY t.user.id, t.activityType
+            """)
+    List<UserActivitySummary> summarizeActivities(@Param("userIds") Collection<Long> userIds,
+                                                  @Param("from") Instant from,
+                                                  @Param("to") Instant to);
+
+    /**
+     * Zlicza sesje treningowe podanych użytkowników.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @return liczby sesji treningowych per użytkownik
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount(t.user.id, count(t))
+            FROM Training t
+            WHERE t.user.id IN :userIds
+            GROUP BY t.user.id
+            """)
+    List<UserTrainingCount> countByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,13 +1,30 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
+import com.capgemini.wsb.fitnesstracker.concurrency.api.RetryOnConflict;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.exception.api.PreconditionFailedException;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingUpdatedEvent;
+import com.capgemini.wsb.fitnesstracker.training.api.UserActivitySummary;
+import com.capgemini.wsb.fitnesstracker.training.api.UserTrainingCount;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementacja serwisu do zarządzania sesjami treningowymi.
@@ -16,7 +33,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TrainingServiceImpl implements TrainingProvider {
 
+    /**
+     * Maksymalny rozmiar strony zwracanej przez {@link #getTrainingsPage(String, int)}.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final TrainingRepository trainingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Zwraca listę wszystkich sesji treningowych.
@@ -28,6 +51,107 @@ public class TrainingServiceImpl implements TrainingProvider {
         return trainingRepository.findAll();
     }
 
+    /**
+     * Zwraca sesję treningową o podanym identyfikatorze.
+     *
+     * @param trainingId identyfikator sesji treningowej
+     * @return opcjonalna sesja treningowa
+     */
+    @Override
+    public Optional<Training> getTraining(Long trainingId) {
+        return trainingRepository.findById(trainingId);
+    }
+
+    /**
+     * Zwraca stronę sesji treningowych, kontynuując odczyt od miejsca wskazanego przez kursor.
+     *
+     * @param cursor kursor zwrócony z poprzedniej strony lub null dla pierwszej strony
+     * @param limit maksymalna liczba sesji treningowych na stronie
+     * @return strona sesji treningowych wraz z kursorem kolejnej strony
+     */
+    public TrainingPage getTrainingsPage(@Nullable String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Rozmiar strony musi mieścić się w przedziale 1-%d.".formatted(MAX_PAGE_SIZE));
+        }
+        long afterId = TrainingCursor.decode(cursor);
+        List<TrainingSummaryDto> trainings = trainingRepository.findSummaryPageAfterId(afterId, Limit.of(limit + 1));
+        if (trainings.size() <= limit) {
+            return new TrainingPage(trainings, null);
+        }
+        List<TrainingSummaryDto> page = trainings.subList(0, limit);
+        return new TrainingPage(page, TrainingCursor.encode(page.get(limit - 1).id()));
+    }
+
+    /**
+     * Przekazuje wszystkie sesje treningowe do konsumenta, jedna po drugiej, bez materializowania całej tabeli.
+     * Projekcje nie są zarządzane przez kontekst persystencji, więc zużycie pamięci nie zależy od liczby wierszy.
+     *
+     * @param consumer konsument kolejnych sesji treningowych
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTrainings(Consumer<TrainingSummaryDto> consumer) {
+        try (Stream<TrainingSummaryDto> trainings = trainingRepository.streamAllSummaries()) {
+            trainings.forEach(consumer);
+        }
+    }
+
+    /**
+     * Zwraca projekcje sesji treningowych dla danego użytkownika.
+     *
+     * @param userId identyfikator użytkownika
+     * @return lista projekcji sesji treningowych dla danego użytkownika
+     */
+    public List<TrainingSummaryDto> getTrainingSummariesByUserId(Long userId) {
+        return trainingRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * Zwraca projekcje sesji treningowych zakończonych po podanej dacie.
+     *
+     * @param endDate data, po której sesje treningowe powinny być zakończone
+     * @return lista projekcji sesji treningowych zakończonych po podanej dacie
+     */
+    public List<TrainingSummaryDto> getTrainingSummariesByEndDateAfter(Instant endDate) {
+        return trainingRepository.findSummariesByEndTimeAfter(endDate);
+    }
+
+    /**
+     * Zwraca projekcje sesji treningowych dla danego typu aktywności.
+     *
+     * @param activityType typ aktywności
+     * @return lista projekcji sesji treningowych dla danego typu aktywności
+     */
+    public List<TrainingSummaryDto> getTrainingSummariesByActivityType(ActivityType activityType) {
+        return trainingRepository.findSummariesByActivityType(activityType);
+    }
+
+    /**
+     * Zwraca projekcje sesji treningowych użytkownika zakończonych w ograniczonym okresie, posortowane po czasie
+     * zakończenia. Zapytanie przegląda wyłącznie wpisy indeksu danego użytkownika (i typu aktywności) z tego okresu.
+     *
+     * @param userId identyfikator użytkownika
+     * @param from początek okresu (włącznie)
+     * @param to koniec okresu (wyłącznie)
+     * @param activityType typ aktywności lub null dla wszystkich typów
+     * @param limit maksymalna liczba zwracanych sesji treningowych
+     * @param direction kierunek sortowania po czasie zakończenia
+     * @return projekcje sesji treningowych z podanego okresu
+     */
+    public List<TrainingSummaryDto> getTrainingSummariesInRange(Long userId, Instant from, Instant to, @Nullable ActivityType activityType,
+                                                                int limit, Sort.Direction direction) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Rozmiar strony musi mieścić się w przedziale 1-%d.".formatted(MAX_PAGE_SIZE));
+        }
+        if (!from.isBefore(to)) {
+            throw new BusinessException("Początek okresu musi być wcześniejszy niż jego koniec.");
+        }
+        Sort sort = Sort.by(direction, "endTime", "id");
+        if (activityType == null) {
+            return trainingRepository.findSummariesInRange(userId, from, to, sort, Limit.of(limit));
+        }
+        return trainingRepository.findSummariesInRangeByActivityType(userId, activityType, from, to, sort, Limit.of(limit));
+    }
+
     /**
      * Zwraca listę sesji treningowych dla danego użytkownika.
      *
@@ -44,7 +168,7 @@ public class TrainingServiceImpl implements TrainingProvider {
      * @param endDate data, po której sesje treningowe powinny być zakończone
      * @return lista sesji treningowych zakończonych po podanej dacie
      */
-    public List<Training> getTrainingsByEndDateAfter(Date endDate) {
+    public List<Training> getTrainingsByEndDateAfter(Instant endDate) {
         return trainingRepository.findByEndTimeAfter(endDate);
     }
 
@@ -59,7 +183,80 @@ public class TrainingServiceImpl implements TrainingProvider {
     }
 
     /**
-     * Tworzy nową sesję treningową.
+     * Agreguje sesje treningowe spełniające kryteria w bazie danych.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregat sesji treningowych
+     */
+    public TrainingAggregate aggregate(TrainingAggregateCriteria criteria) {
+        validate(criteria);
+        return trainingRepository.aggregate(criteria);
+    }
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria według typu aktywności.
+     *
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty dla typów aktywności, które mają sesje treningowe
+     */
+    public List<ActivityTypeAggregate> aggregateByActivityType(TrainingAggregateCriteria criteria) {
+        validate(criteria);
+        return trainingRepository.aggregateByActivityType(criteria);
+    }
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria według użytkownika, stronicując wynik po identyfikatorze
+     * użytkownika (keyset pagination).
+     *
+     * @param criteria kryteria sesji treningowych
+     * @param afterUserId identyfikator ostatniego użytkownika z poprzedniej strony
+     * @param limit maksymalna liczba agregatów na stronie
+     * @return agregaty użytkowników o identyfikatorze większym niż {@code afterUserId}
+     */
+    public List<UserTrainingAggregate> aggregateByUser(TrainingAggregateCriteria criteria, long afterUserId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException("Rozmiar strony musi mieścić się w przedziale 1-%d.".formatted(MAX_PAGE_SIZE));
+        }
+        validate(criteria);
+        return trainingRepository.aggregateByUser(criteria, afterUserId, Limit.of(limit));
+    }
+
+    /**
+     * Agreguje sesje treningowe spełniające kryteria według okresu, w którym zostały zakończone.
+     *
+     * @param period okres grupowania
+     * @param criteria kryteria sesji treningowych
+     * @return agregaty posortowane chronologicznie, tylko dla okresów z sesjami treningowymi
+     */
+    public List<PeriodTrainingAggregate> aggregateByPeriod(AggregationPeriod period, TrainingAggregateCriteria criteria) {
+        validate(criteria);
+        return trainingRepository.aggregateByPeriod(period, criteria);
+    }
+
+    private static void validate(TrainingAggregateCriteria criteria) {
+        if (criteria.from() != null && criteria.to() != null && !criteria.from().isBefore(criteria.to())) {
+            throw new BusinessException("Początek okresu musi być wcześniejszy niż jego koniec.");
+        }
+    }
+
+    @Override
+    public List<UserActivitySummary> getActivitySummaries(Collection<Long> userIds, Instant from, Instant to) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return trainingRepository.summarizeActivities(userIds, from, to);
+    }
+
+    @Override
+    public List<UserTrainingCount> countTrainings(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return trainingRepository.countByUserIds(userIds);
+    }
+
+    /**
+     * Tworzy nową sesję treningową z szacunkiem spalonych kilokalorii i publikuje {@link TrainingCreatedEvent} w tej samej transakcji.
      *
      * @param training obiekt sesji treningowej do utworzenia
      * @return utworzona sesja treningowa
@@ -67,21 +264,66 @@ public class TrainingServiceImpl implements TrainingProvider {
     @Override
     @Transactional
     public Training createTraining(Training training) {
-        return trainingRepository.save(training);
+        return create(training, CalorieModel.estimate(training));
     }
 
     /**
-     * Aktualizuje istniejącą sesję treningową.
+     * Tworzy nową sesję treningową użytkownika o podanej dacie urodzenia. Przypisany użytkownik nie jest odczytywany,
+     * więc może nim być referencja uzyskana bez odwołania do bazy danych.
+     *
+     * @param training obiekt sesji treningowej do utworzenia
+     * @param birthdate data urodzenia użytkownika, do szacunku spalonych kilokalorii
+     * @return utworzona sesja treningowa
+     */
+    @Transactional
+    public Training createTraining(Training training, LocalDate birthdate) {
+        return create(training, CalorieModel.estimate(training, birthdate));
+    }
+
+    private Training create(Training training, int calories) {
+        training.setCalories(calories);
+        Training createdTraining = trainingRepository.save(training);
+        eventPublisher.publishEvent(new TrainingCreatedEvent(createdTraining));
+        return createdTraining;
+    }
+
+    /**
+     * Aktualizuje istniejącą sesję treningową, przelicza szacunek spalonych kilokalorii i publikuje {@link TrainingUpdatedEvent} w tej samej transakcji.
+     * Zmieniane są tylko pola podane w DTO; przy konflikcie z równoczesną aktualizacją zmiany nakładane są ponownie
+     * na bieżący stan sesji treningowej.
      *
      * @param trainingId identyfikator sesji treningowej do aktualizacji
      * @param trainingDto obiekt DTO zawierający zaktualizowane dane sesji treningowej
      * @return zaktualizowana sesja treningowa
      */
     @Override
+    @RetryOnConflict
     @Transactional
     public Training updateTraining(Long trainingId, TrainingDto trainingDto) {
+        return updateTraining(trainingId, trainingDto, null);
+    }
+
+    /**
+     * Aktualizuje istniejącą sesję treningową, o ile jej bieżąca wersja jest równa oczekiwanej. Konflikt
+     * z równoczesną aktualizacją powoduje ponowienie, które kończy się {@link PreconditionFailedException},
+     * jeśli podano oczekiwaną wersję.
+     *
+     * @param trainingId identyfikator sesji treningowej do aktualizacji
+     * @param trainingDto obiekt DTO zawierający zaktualizowane dane sesji treningowej
+     * @param expectedVersion oczekiwana bieżąca wersja sesji treningowej lub null, jeśli dowolna
+     * @return zaktualizowana sesja treningowa
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public Training updateTraining(Long trainingId, TrainingDto trainingDto, @Nullable Long expectedVersion) {
         Training training = trainingRepository.findById(trainingId)
                 .orElseThrow(() -> new RuntimeException("Training with ID=%s was not found".formatted(trainingId)));
+        if (expectedVersion != null && expectedVersion != training.getVersion()) {
+            throw new PreconditionFailedException("Training with ID=%s has version %d, expected %d"
+                                                          .formatted(trainingId, training.getVersion(), expectedVersion));
+        }
+        TrainingSnapshot previous = TrainingSnapshot.of(training);
 
         if (trainingDto.getUser() != null) {
             training.setUser(trainingDto.getUser());
@@ -107,6 +349,11 @@ public class TrainingServiceImpl implements TrainingProvider {
             training.setAverageSpeed(trainingDto.getAverageSpeed());
         }
 
-        return trainingRepository.save(training);
+        training.setCalories(CalorieModel.estimate(training));
+        Training updatedTraining = trainingRepository.save(training);
+        // Konflikt wersji ujawnia się przy zapisie, zanim słuchacze zdarzenia zaktualizują agregaty.
+        trainingRepository.flush();
+        eventPublisher.publishEvent(new TrainingUpdatedEvent(previous, updatedTraining));
+        return updatedTraining;
     }
 }
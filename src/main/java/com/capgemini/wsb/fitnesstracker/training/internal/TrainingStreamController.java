@@ -0,0 +1,61 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Strumieniowe odpowiedniki zapytań z {@link TrainingController}. Sesje treningowe wysyłane są do klienta w miarę
+ * pobierania, w formacie NDJSON ({@code Accept: application/x-ndjson}) lub jako zdarzenia Server-Sent Events
+ * ({@code Accept: text/event-stream}). Kolejny element wysyłany jest dopiero po zapisaniu poprzedniego, więc wolny
+ * klient spowalnia odczyt z bazy danych zamiast zwiększać zużycie pamięci serwera.
+ */
+@RestController
+@RequestMapping(value = "/v1/trainings/stream",
+        produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+@RequiredArgsConstructor
+class TrainingStreamController {
+
+    private final TrainingStreamService trainingStreamService;
+
+    /**
+     * Strumieniuje sesje treningowe konkretnego użytkownika.
+     *
+     * @param userId identyfikator użytkownika
+     * @return strumień sesji treningowych dla danego użytkownika
+     */
+    @GetMapping("/user/{userId}")
+    public Flux<TrainingSummaryDto> streamTrainingsByUserId(@PathVariable Long userId) {
+        return trainingStreamService.streamByUserId(userId);
+    }
+
+    /**
+     * Strumieniuje sesje treningowe zakończone po podanej dacie.
+     *
+     * @param date data, po której sesje treningowe powinny być zakończone
+     * @return strumień sesji treningowych zakończonych po podanej dacie
+     */
+    @GetMapping("/finished/{date}")
+    public Flux<TrainingSummaryDto> streamTrainingsByEndDateAfter(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return trainingStreamService.streamByEndDateAfter(TrainingTimestamps.startOfDay(date));
+    }
+
+    /**
+     * Strumieniuje sesje treningowe dla danego typu aktywności.
+     *
+     * @param activityType typ aktywności
+     * @return strumień sesji treningowych dla danego typu aktywności
+     */
+    @GetMapping("/activityType")
+    public Flux<TrainingSummaryDto> streamTrainingsByActivityType(@RequestParam ActivityType activityType) {
+        return trainingStreamService.streamByActivityType(activityType);
+    }
+}
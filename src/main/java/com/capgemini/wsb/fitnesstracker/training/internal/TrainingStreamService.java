@@ -0,0 +1,94 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Nieblokujące strumienie sesji treningowych do odczytu.
+ *
+ * <p>Każdy strumień pobiera kolejne strony po {@value #PAGE_SIZE} sesji treningowych metodą stronicowania po kluczu,
+ * ale tylko wtedy, gdy odbiorca zgłosi zapotrzebowanie na kolejne elementy. Wolny klient wstrzymuje więc odczyt
+ * z bazy danych zamiast powodować buforowanie wyników w pamięci, a połączenie z bazą zajmowane jest jedynie
+ * na czas pobrania pojedynczej strony. Zapytania wykonywane są na {@link Schedulers#boundedElastic()},
+ * więc nie blokują wątków serwera obsługujących żądania.</p>
+ */
+@Service
+@RequiredArgsConstructor
+class TrainingStreamService {
+
+    /**
+     * Liczba sesji treningowych pobieranych z bazy danych jednym zapytaniem.
+     */
+    static final int PAGE_SIZE = 500;
+
+    /**
+     * Stan generatora oznaczający, że ostatnia strona została już pobrana.
+     */
+    private static final long EXHAUSTED = -1L;
+
+    private final TrainingRepository trainingRepository;
+
+    /**
+     * Strumieniuje sesje treningowe danego użytkownika.
+     *
+     * @param userId identyfikator użytkownika
+     * @return strumień sesji treningowych posortowanych po identyfikatorze
+     */
+    public Flux<TrainingSummaryDto> streamByUserId(Long userId) {
+        return stream((afterId, limit) -> trainingRepository.findSummaryPageByUserId(userId, afterId, limit));
+    }
+
+    /**
+     * Strumieniuje sesje treningowe zakończone po podanej dacie.
+     *
+     * @param endDate data, po której sesje treningowe powinny być zakończone
+     * @return strumień sesji treningowych posortowanych po identyfikatorze
+     */
+    public Flux<TrainingSummaryDto> streamByEndDateAfter(Instant endDate) {
+        return stream((afterId, limit) -> trainingRepository.findSummaryPageByEndTimeAfter(endDate, afterId, limit));
+    }
+
+    /**
+     * Strumieniuje sesje treningowe danego typu aktywności.
+     *
+     * @param activityType typ aktywności
+     * @return strumień sesji treningowych posortowanych po identyfikatorze
+     */
+    public Flux<TrainingSummaryDto> streamByActivityType(ActivityType activityType) {
+        return stream((afterId, limit) -> trainingRepository.findSummaryPageByActivityType(activityType, afterId, limit));
+    }
+
+    private Flux<TrainingSummaryDto> stream(PageQuery query) {
+        return Flux.<List<TrainingSummaryDto>, Long>generate(() -> 0L, (afterId, sink) -> {
+                    if (afterId == EXHAUSTED) {
+                        sink.complete();
+                        return afterId;
+                    }
+                    List<TrainingSummaryDto> page = query.fetch(afterId, Limit.of(PAGE_SIZE));
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return EXHAUSTED;
+                    }
+                    sink.next(page);
+                    return page.size() < PAGE_SIZE ? EXHAUSTED : page.get(page.size() - 1).id();
+                })
+                .flatMapIterable(Function.identity(), 1)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Zapytanie zwracające stronę sesji treningowych następujących po podanym identyfikatorze.
+     */
+    @FunctionalInterface
+    private interface PageQuery {
+
+        List<TrainingSummaryDto> fetch(long afterId, Limit limit);
+    }
+}
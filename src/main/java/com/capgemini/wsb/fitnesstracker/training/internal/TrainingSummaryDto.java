@@ -0,0 +1,59 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Projekcja sesji treningowej używana przez zapytania odczytu. Tworzona bezpośrednio w zapytaniu JPQL
+ * (wyrażenie {@code SELECT new ...}), więc użytkownik pobierany jest tym samym zapytaniem co sesja treningowa.
+ *
+ * @param id identyfikator sesji treningowej
+ * @param user podstawowe dane użytkownika (może być null)
+ * @param startTime czas rozpoczęcia sesji treningowej
+ * @param endTime czas zakończenia sesji treningowej
+ * @param activityType rodzaj aktywności
+ * @param distance dystans w kilometrach
+ * @param averageSpeed średnia prędkość w kilometrach na godzinę
+ */
+public record TrainingSummaryDto(Long id,
+                                 @Nullable TrainingUserDto user,
+                                 @TrainingTimestamp Instant startTime,
+                                 @TrainingTimestamp Instant endTime,
+                                 ActivityType activityType,
+                                 double distance,
+                                 double averageSpeed) {
+
+    /**
+     * Konstruktor używany przez wyrażenie konstruktora w zapytaniach JPQL, przyjmujący płaskie kolumny użytkownika.
+     *
+     * @param id identyfikator sesji treningowej
+     * @param userId identyfikator użytkownika (może być null)
+     * @param firstName imię użytkownika
+     * @param lastName nazwisko użytkownika
+     * @param email adres email użytkownika
+     * @param startTime czas rozpoczęcia sesji treningowej
+     * @param endTime czas zakończenia sesji treningowej
+     * @param activityType rodzaj aktywności
+     * @param distance dystans w kilometrach
+     * @param averageSpeed średnia prędkość w kilometrach na godzinę
+     */
+    public TrainingSummaryDto(Long id,
+                              @Nullable Long userId,
+                              @Nullable String firstName,
+                              @Nullable String lastName,
+                              @Nullable String email,
+                              Instant startTime,
+                              Instant endTime,
+                              ActivityType activityType,
+                              double distance,
+                              double averageSpeed) {
+        this(id,
+             userId == null ? null : new TrainingUserDto(userId, firstName, lastName, email),
+             startTime,
+             endTime,
+             activityType,
+             distance,
+             averageSpeed);
+    }
+}
@@ -7,7 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.Date;
+import java.time.Instant;
 
 /**
  * Klasa DTO wspierająca, używana do przekazywania danych sesji treningowej.
@@ -38,12 +38,14 @@ public class TrainingSupportDto {
     /**
      * Czas rozpoczęcia sesji treningowej.
      */
-    private Date startTime;
+    @TrainingTimestamp
+    private Instant startTime;
 
     /**
      * Czas zakończenia sesji treningowej.
      */
-    private Date endTime;
+    @TrainingTimestamp
+    private Instant endTime;
 
     /**
      * Rodzaj aktywności wykonywanej podczas sesji treningowej.
@@ -0,0 +1,174 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Reprezentacja znaczników czasu sesji treningowych w JSON i parametrach żądań.
+ *
+ * <p>Znaczniki zapisywane są w tym samym formacie co dotychczasowe pola {@link java.util.Date}
+ * ({@code 2024-01-19T08:00:00.000+00:00}, zawsze w UTC), ale bez {@code SimpleDateFormat}: znaki składane są
+ * bezpośrednio z sekund epoki do jednego bufora. Odczyt akceptuje wszystkie formaty przyjmowane wcześniej przez
+ * Jacksona dla {@code Date}: liczbę milisekund od epoki, datę i czas z przesunięciem strefy lub bez niego (UTC)
+ * oraz samą datę (północ UTC).</p>
+ */
+final class TrainingTimestamps {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final int TIMESTAMP_LENGTH = "2024-01-19T08:00:00.000+00:00".length();
+
+    private static final DateTimeFormatter OUTPUT_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx").withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter INPUT_FORMAT = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .optionalStart().appendOffset("+HH:MM", "Z").optionalEnd()
+            .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+            .toFormatter();
+
+    private TrainingTimestamps() {
+    }
+
+    /**
+     * Zwraca początek dnia w strefie czasowej serwera, tak jak dotychczasowe parametry {@code @DateTimeFormat(iso = DATE)}
+     * wiązane do {@link java.util.Date}.
+     *
+     * @param date dzień
+     * @return chwila rozpoczęcia dnia
+     */
+    static Instant startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Zwraca początek dnia w strefie czasowej serwera lub null, jeśli dzień nie został podany.
+     *
+     * @param date dzień (może być null)
+     * @return chwila rozpoczęcia dnia lub null
+     */
+    static @Nullable Instant startOfDayOrNull(@Nullable LocalDate date) {
+        return date == null ? null : startOfDay(date);
+    }
+
+    /**
+     * Zapisuje znacznik czasu w formacie {@code yyyy-MM-dd'T'HH:mm:ss.SSS+00:00}.
+     *
+     * @param instant znacznik czasu
+     * @param generator generator JSON
+     * @throws IOException jeśli zapis się nie powiódł
+     */
+    static void write(Instant instant, JsonGenerator generator) throws IOException {
+        long seconds = instant.getEpochSecond();
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(seconds, SECONDS_PER_DAY));
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            generator.writeString(OUTPUT_FORMAT.format(instant));
+            return;
+        }
+        int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+        char[] buffer = new char[TIMESTAMP_LENGTH];
+        writeDigits(buffer, 0, date.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, date.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, secondOfDay / 3600, 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, secondOfDay % 60, 2);
+        buffer[19] = '.';
+        writeDigits(buffer, 20, instant.getNano() / 1_000_000, 3);
+        "+00:00".getChars(0, 6, buffer, 23);
+        generator.writeString(buffer, 0, TIMESTAMP_LENGTH);
+    }
+
+    /**
+     * Odczytuje znacznik czasu zapisany jako data i czas z opcjonalnym przesunięciem strefy lub jako sama data.
+     *
+     * @param text tekst znacznika czasu
+     * @return znacznik czasu
+     * @throws DateTimeException jeśli tekst nie jest poprawnym znacznikiem czasu
+     */
+    static Instant parse(String text) {
+        String value = text.trim();
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        TemporalAccessor parsed = INPUT_FORMAT.parseBest(value, OffsetDateTime::from, LocalDateTime::from);
+        return parsed instanceof OffsetDateTime offsetDateTime
+                ? offsetDateTime.toInstant()
+                : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Serializator znaczników czasu sesji treningowych.
+     */
+    static final class Serializer extends StdScalarSerializer<Instant> {
+
+        Serializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            write(value, generator);
+        }
+    }
+
+    /**
+     * Deserializator znaczników czasu sesji treningowych.
+     */
+    static final class Deserializer extends StdScalarDeserializer<Instant> {
+
+        Deserializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public @Nullable Instant deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return Instant.ofEpochMilli(parser.getLongValue());
+            }
+            if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+                return (Instant) context.handleUnexpectedToken(Instant.class, parser);
+            }
+            String text = parser.getText();
+            if (text.isBlank()) {
+                return null;
+            }
+            try {
+                return parse(text);
+            } catch (DateTimeException e) {
+                return (Instant) context.handleWeirdStringValue(Instant.class, text,
+                                                                "expected ISO-8601 date-time or date");
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+/**
+ * Podstawowe dane użytkownika zwracane razem z sesją treningową, bez pełnej encji {@code User}.
+ *
+ * @param id identyfikator użytkownika
+ * @param firstName imię użytkownika
+ * @param lastName nazwisko użytkownika
+ * @param email adres email użytkownika
+ */
+public record TrainingUserDto(Long id, String firstName, String lastName, String email) {
+}
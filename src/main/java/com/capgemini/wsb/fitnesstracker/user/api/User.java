@@ -9,23 +9,38 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 /**
  * Klasa encji reprezentująca użytkownika w systemie.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       uniqueConstraints = @UniqueConstraint(name = User.EMAIL_NORMALIZED_CONSTRAINT, columnNames = "email_normalized"),
+       indexes = @Index(name = "ix_users_birthdate", columnList = "birthdate"))
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString
 public class User {
 
+    /**
+     * Liczba identyfikatorów rezerwowanych jednym odczytem sekwencji {@code users_seq}; musi być równa jej
+     * {@code INCREMENT BY}. Identyfikatory nadawane są bez odwołania do bazy, więc wstawienia mogą być wysyłane wsadowo.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Nazwa unikalnego indeksu na znormalizowanym adresie email.
+     */
+    public static final String EMAIL_NORMALIZED_CONSTRAINT = "uk_users_email_normalized";
+
     /**
      * Identyfikator użytkownika.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     @Nullable
     private Long id;
 
@@ -48,11 +63,28 @@ public class User {
     private LocalDate birthdate;
 
     /**
-     * Adres email użytkownika.
+     * Adres email użytkownika w postaci podanej przy rejestracji.
      */
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    /**
+     * Wersja użytkownika zwiększana przy każdej aktualizacji. Chroni przed nadpisaniem równoczesnych zmian
+     * (blokowanie optymistyczne) i jest udostępniana jako nagłówek {@code ETag}.
+     */
+    @Version
+    @Setter(AccessLevel.NONE)
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Adres email sprowadzony do postaci kanonicznej (bez białych znaków na brzegach, małymi literami).
+     * Unikalny indeks na tej kolumnie gwarantuje unikalność adresów niezależnie od wielkości liter.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized", nullable = false)
+    private String normalizedEmail;
+
     /**
      * Konstruktor tworzący użytkownika z podanymi danymi.
      *
@@ -69,7 +101,40 @@ public class User {
         this.firstName = firstName;
         this.lastName = lastName;
         this.birthdate = birthdate;
+        setEmail(email);
+    }
+
+    /**
+     * Ustawia adres email użytkownika razem z jego postacią kanoniczną.
+     *
+     * @param email adres email użytkownika
+     */
+    public void setEmail(String email) {
         this.email = email;
+        this.normalizedEmail = normalizeEmail(email);
+    }
+
+    /**
+     * Sprowadza adres email do postaci kanonicznej używanej do porównań.
+     *
+     * @param email adres email
+     * @return adres email bez białych znaków na brzegach, zapisany małymi literami
+     */
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tworzy niezarządzaną kopię użytkownika z kopii jego stanu, np. do zwrócenia w odpowiedzi bez odczytu z bazy danych.
+     *
+     * @param snapshot kopia stanu użytkownika
+     * @return niezarządzana kopia użytkownika
+     */
+    public static User fromSnapshot(UserSnapshot snapshot) {
+        User user = new User(snapshot.firstName(), snapshot.lastName(), snapshot.birthdate(), snapshot.email());
+        user.id = snapshot.id();
+        user.version = snapshot.version();
+        return user;
     }
 
     /**
@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+/**
+ * Zdarzenie publikowane w transakcji tworzącej nowego użytkownika.
+ *
+ * @param userId identyfikator utworzonego użytkownika
+ */
+public record UserCreatedEvent(Long userId) {
+}
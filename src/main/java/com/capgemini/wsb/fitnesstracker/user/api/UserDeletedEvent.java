@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+/**
+ * Zdarzenie publikowane w transakcji usuwającej użytkownika.
+ *
+ * @param userId identyfikator usuniętego użytkownika
+ */
+public record UserDeletedEvent(Long userId) {
+}
@@ -1,5 +1,6 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,10 +25,29 @@ public interface UserProvider {
      */
     Optional<User> getUserByEmail(String email);
 
+    /**
+     * Zwraca użytkowników o podanych identyfikatorach, pobranych jednym zapytaniem.
+     * Identyfikatory, dla których użytkownik nie istnieje, są pomijane.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @return znalezieni użytkownicy
+     */
+    List<User> findUsersByIds(Collection<Long> userIds);
+
     /**
      * Zwraca listę wszystkich użytkowników.
      *
      * @return lista wszystkich użytkowników
      */
     List<User> findAllUsers();
+
+    /**
+     * Zwraca kolejną porcję identyfikatorów i adresów email użytkowników, posortowaną rosnąco po identyfikatorze.
+     * Pozwala przejść po wszystkich użytkownikach porcjami, bez wczytywania całej tabeli.
+     *
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej porcji (0 dla pierwszej porcji)
+     * @param limit maksymalna liczba zwracanych użytkowników
+     * @return porcja użytkowników o identyfikatorze większym niż {@code afterId}
+     */
+    List<BasicUserEmailDto> findUserEmailsAfterId(long afterId, int limit);
 }
@@ -1,5 +1,7 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
+import jakarta.annotation.Nullable;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +35,31 @@ public interface UserService {
      */
     Optional<User> getUserByEmail(String email);
 
+    /**
+     * Zwraca kopię stanu użytkownika na podstawie jego identyfikatora. Wynik może pochodzić z pamięci podręcznej.
+     *
+     * @param userId identyfikator użytkownika
+     * @return opcjonalna kopia stanu użytkownika
+     */
+    Optional<UserSnapshot> getUserSnapshot(Long userId);
+
+    /**
+     * Zwraca referencję do użytkownika o podanym identyfikatorze bez odczytu z bazy danych. Służy do powiązania
+     * z użytkownikiem, którego istnienie sprawdzono wcześniej, np. przez {@link #getUserSnapshot(Long)}.
+     *
+     * @param userId identyfikator użytkownika
+     * @return referencja do użytkownika
+     */
+    User getUserReference(Long userId);
+
+    /**
+     * Zwraca kopię stanu użytkownika na podstawie jego adresu email. Wynik może pochodzić z pamięci podręcznej.
+     *
+     * @param email adres email użytkownika
+     * @return opcjonalna kopia stanu użytkownika
+     */
+    Optional<UserSnapshot> getUserSnapshotByEmail(String email);
+
     /**
      * Zwraca listę wszystkich użytkowników.
      *
@@ -55,12 +82,14 @@ public interface UserService {
     List<BasicUserInfoDto> findAllBasicUserInfo();
 
     /**
-     * Znajduje użytkowników na podstawie fragmentu ich adresu email.
+     * Znajduje stronę użytkowników na podstawie fragmentu ich adresu email.
      *
      * @param email fragment adresu email
-     * @return lista użytkowników pasujących do podanego fragmentu email
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej strony (0 dla pierwszej strony)
+     * @param limit maksymalna liczba zwracanych użytkowników
+     * @return lista użytkowników pasujących do podanego fragmentu email, posortowana rosnąco po identyfikatorze
      */
-    List<BasicUserEmailDto> findUsersByEmail(String email);
+    List<BasicUserEmailDto> findUsersByEmail(String email, long afterId, int limit);
 
     /**
      * Zwraca listę wszystkich użytkowników starszych niż podana data.
@@ -78,4 +107,16 @@ public interface UserService {
      * @return zaktualizowany użytkownik
      */
     User updateUser(Long id, UpdateUserDto updateUserDto);
+
+    /**
+     * Aktualizuje dane użytkownika, o ile nie zmieniły się od odczytu wersji oczekiwanej przez wywołującego.
+     *
+     * @param id identyfikator użytkownika
+     * @param updateUserDto obiekt DTO zawierający nowe dane użytkownika
+     * @param expectedVersion oczekiwana bieżąca wersja użytkownika lub null, jeśli zmiany mają zostać zastosowane
+     *                        do dowolnej wersji
+     * @return zaktualizowany użytkownik
+     * @throws com.capgemini.wsb.fitnesstracker.exception.api.PreconditionFailedException jeśli bieżąca wersja jest inna
+     */
+    User updateUser(Long id, UpdateUserDto updateUserDto, @Nullable Long expectedVersion);
 }
@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+import java.time.LocalDate;
+
+/**
+ * Niezmienna kopia stanu użytkownika z danej chwili. W przeciwieństwie do encji {@link User} może być bezpiecznie
+ * przechowywana w pamięci podręcznej i współdzielona między wątkami.
+ *
+ * @param id identyfikator użytkownika
+ * @param firstName imię użytkownika
+ * @param lastName nazwisko użytkownika
+ * @param birthdate data urodzenia użytkownika
+ * @param email adres email użytkownika w postaci podanej przy rejestracji
+ * @param version wersja użytkownika
+ */
+public record UserSnapshot(Long id, String firstName, String lastName, LocalDate birthdate, String email, long version) {
+
+    /**
+     * Tworzy kopię bieżącego stanu użytkownika.
+     *
+     * @param user użytkownik
+     * @return kopia stanu użytkownika
+     */
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getFirstName(), user.getLastName(), user.getBirthdate(),
+                                user.getEmail(), user.getVersion());
+    }
+}
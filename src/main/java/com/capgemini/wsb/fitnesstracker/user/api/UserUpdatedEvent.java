@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.user.api;
+
+/**
+ * Zdarzenie publikowane w transakcji aktualizującej dane użytkownika.
+ *
+ * @param userId identyfikator zaktualizowanego użytkownika
+ */
+public record UserUpdatedEvent(Long userId) {
+}
@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Konfiguracja pamięci podręcznej użytkowników wyszukiwanych po identyfikatorze i adresie email.
+ *
+ * <p>Pamięci są ograniczone rozmiarem i czasem życia wpisu oraz zbierają statystyki trafień, publikowane
+ * jako metryki {@code cache.gets} przez Spring Boot Actuator.</p>
+ */
+@Configuration
+@EnableCaching
+class UserCacheConfig {
+
+    /**
+     * Pamięć podręczna użytkowników według identyfikatora.
+     */
+    static final String USERS_BY_ID = "usersById";
+
+    /**
+     * Pamięć podręczna użytkowników według znormalizowanego adresu email.
+     */
+    static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> userCacheCustomizer(
+            @Value("${fitness-tracker.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${fitness-tracker.cache.users.time-to-live:10m}") Duration timeToLive) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(USERS_BY_ID, newCache(maximumSize, timeToLive));
+            cacheManager.registerCustomCache(USERS_BY_EMAIL, newCache(maximumSize, timeToLive));
+        };
+    }
+
+    private static Cache<Object, Object> newCache(long maximumSize, Duration timeToLive) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+}
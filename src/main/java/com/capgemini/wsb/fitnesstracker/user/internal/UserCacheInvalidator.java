@@ -0,0 +1,53 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Usuwa wpisy użytkowników z pamięci podręcznej po zatwierdzeniu transakcji, która ich dotyczy.
+ *
+ * <p>Usunięcie przed zatwierdzeniem pozwalałoby równoległemu odczytowi ponownie zapisać w pamięci podręcznej
+ * niezatwierdzony jeszcze, stary stan użytkownika na cały czas życia wpisu. Po wycofaniu transakcji wpisy
+ * pozostają bez zmian.</p>
+ */
+@Component
+@RequiredArgsConstructor
+class UserCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Usuwa wpisy użytkownika po zatwierdzeniu bieżącej transakcji (lub od razu, jeśli transakcji nie ma).
+     *
+     * @param userId identyfikator użytkownika
+     * @param normalizedEmails znormalizowane adresy email, pod którymi użytkownik mógł zostać zapisany
+     */
+    void evictAfterCommit(Long userId, Collection<String> normalizedEmails) {
+        Runnable eviction = () -> {
+            cache(UserCacheConfig.USERS_BY_ID).evict(userId);
+            Cache usersByEmail = cache(UserCacheConfig.USERS_BY_EMAIL);
+            normalizedEmails.forEach(usersByEmail::evict);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+}
@@ -1,7 +1,10 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.concurrency.api.EntityTags;
 import com.capgemini.wsb.fitnesstracker.user.api.*;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -60,16 +63,20 @@ class UserController {
     }
 
     /**
-     * Pobiera użytkownika na podstawie ID.
+     * Pobiera użytkownika na podstawie ID. Nagłówek {@code ETag} zawiera wersję użytkownika, którą można przekazać
+     * w nagłówku {@code If-Match} aktualizacji. Użytkownik odczytywany jest z bazy danych z pominięciem pamięci
+     * podręcznej, więc wersja jest zawsze aktualna.
      *
      * @param id identyfikator użytkownika
      * @return dane użytkownika
      */
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable Long id) {
-        return userService.getUser(id)
-                .map(userMapper::toDto)
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
+        User user = userService.getUser(id)
                 .orElseThrow(() -> new RuntimeException("Użytkownik nie znaleziony."));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(user.getVersion()))
+                .body(userMapper.toDto(user));
     }
 
     /**
@@ -80,7 +87,7 @@ class UserController {
      */
     @GetMapping("/details/{id}")
     public UserDto getUserDetails(@PathVariable Long id) {
-        return userService.getUser(id)
+        return userService.getUserSnapshot(id)
                 .map(userMapper::toDto)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
@@ -109,14 +116,19 @@ class UserController {
     }
 
     /**
-     * Wyszukuje użytkowników na podstawie adresu e-mail.
+     * Wyszukuje użytkowników, których adres e-mail zawiera podany fragment. Wyniki są stronicowane po kluczu:
+     * kolejną stronę pobiera się, przekazując identyfikator ostatniego użytkownika jako {@code afterId}.
      *
-     * @param email adres e-mail do wyszukania
+     * @param email fragment adresu e-mail do wyszukania
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych użytkowników
      * @return lista użytkowników z dopasowanym adresem e-mail
      */
     @GetMapping("/search")
-    public List<BasicUserEmailDto> findUsersByEmail(@RequestParam String email) {
-        return userService.findUsersByEmail(email);
+    public List<BasicUserEmailDto> findUsersByEmail(@RequestParam String email,
+                                                    @RequestParam(defaultValue = "0") long afterId,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return userService.findUsersByEmail(email, afterId, limit);
     }
 
     /**
@@ -134,27 +146,37 @@ class UserController {
     }
 
     /**
-     * Aktualizuje dane użytkownika na podstawie ID.
+     * Aktualizuje dane użytkownika na podstawie ID. Z nagłówkiem {@code If-Match} aktualizacja jest wykonywana tylko
+     * wtedy, gdy użytkownik nie zmienił się od odczytu podanej wersji (w przeciwnym razie zwracany jest status 412).
+     * Bez niego podane pola są nakładane na bieżący stan, a konflikty z równoczesnymi aktualizacjami są ponawiane.
      *
      * @param id identyfikator użytkownika
+     * @param ifMatch wersja użytkownika z nagłówka {@code ETag} poprzedniej odpowiedzi
      * @param updateUserDto dane do aktualizacji
-     * @return zaktualizowane dane użytkownika
+     * @return zaktualizowane dane użytkownika z nową wersją w nagłówku {@code ETag}
      */
     @PutMapping("/{id}")
-    public UserDto updateUser(@PathVariable Long id, @RequestBody UpdateUserDto updateUserDto) {
-        User updatedUser = userService.updateUser(id, updateUserDto);
-        return userMapper.toDto(updatedUser);
+    public ResponseEntity<UserDto> updateUser(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch,
+                                              @RequestBody UpdateUserDto updateUserDto) {
+        User updatedUser = userService.updateUser(id, updateUserDto, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedUser.getVersion()))
+                .body(userMapper.toDto(updatedUser));
     }
 
     /**
-     * Pobiera użytkowników na podstawie adresu e-mail.
+     * Pobiera użytkownika o podanym adresie e-mail (bez rozróżniania wielkości liter).
      *
-     * @param email adres e-mail do wyszukania
-     * @return lista użytkowników z dopasowanym adresem e-mail
+     * @param email adres e-mail użytkownika
+     * @return lista zawierająca użytkownika z podanym adresem e-mail lub pusta lista
      */
     @GetMapping("/email")
     public List<BasicUserEmailDto> getUserByEmail(@RequestParam String email) {
-        return userService.findUsersByEmail(email);
+        return userService.getUserSnapshotByEmail(email)
+                .map(user -> new BasicUserEmailDto(user.id(), user.email()))
+                .stream()
+                .toList();
     }
 
     /**
@@ -0,0 +1,229 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indeks n-gramowy (trigramy) adresów email użytkowników, utrzymywany w pamięci.
+ *
+ * <p>Dla każdego trigramu przechowywany jest posortowany zbiór identyfikatorów użytkowników, których adres email
+ * go zawiera. Wyszukiwanie fragmentu przechodzi po najmniejszym z tych zbiorów, więc nie przegląda całej tabeli
+ * użytkowników, a wyniki są naturalnie uporządkowane po identyfikatorze (stronicowanie po kluczu).</p>
+ *
+ * <p>Indeks budowany jest przy starcie aplikacji i aktualizowany po zatwierdzeniu transakcji tworzącej, zmieniającej
+ * lub usuwającej użytkownika. Może więc chwilowo zawierać nieaktualne wpisy, dlatego kandydaci zwracani przez indeks
+ * muszą zostać zweryfikowani w bazie danych.</p>
+ *
+ * <p>Budowa indeksu czyta użytkowników porcjami, więc zmiana zatwierdzona w trakcie budowy może zostać zastosowana,
+ * zanim porcja odczytana wcześniej trafi do indeksu. Dlatego zmiany wprowadzone w trakcie budowy są zapamiętywane,
+ * a budowa pomija tych użytkowników: ich wpis pochodzi ze zmiany, która nie jest starsza od odczytu.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class UserEmailSearchIndex {
+
+    /**
+     * Długość n-gramu. Fragmenty krótsze niż {@value} znaki nie mogą być wyszukiwane przez indeks.
+     */
+    static final int NGRAM_LENGTH = 3;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final Map<Long, String> emails = new HashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Użytkownicy zmienieni lub usunięci w trakcie budowy indeksu; {@code null}, gdy indeks nie jest budowany.
+     */
+    @Nullable
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Buduje indeks na podstawie wszystkich użytkowników zapisanych w bazie danych, wczytywanych porcjami.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuild() {
+        withWriteLock(() -> changedDuringRebuild = new HashSet<>());
+        long afterId = 0;
+        int indexed = 0;
+        List<BasicUserEmailDto> batch = userRepository.findEmailsAfterId(afterId, Limit.of(REBUILD_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            List<BasicUserEmailDto> users = batch;
+            withWriteLock(() -> {
+                for (BasicUserEmailDto user : users) {
+                    if (!changedDuringRebuild.contains(user.id())) {
+                        putUnderLock(user.id(), User.normalizeEmail(user.email()));
+                    }
+                }
+            });
+            indexed += batch.size();
+            afterId = batch.get(batch.size() - 1).id();
+            batch = userRepository.findEmailsAfterId(afterId, Limit.of(REBUILD_BATCH_SIZE));
+        }
+        withWriteLock(() -> changedDuringRebuild = null);
+        ready = true;
+        log.info("Email search index built for {} users", indexed);
+    }
+
+    /**
+     * Czy indeks został zbudowany i może obsługiwać wyszukiwanie.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Aktualizuje wpis użytkownika po zatwierdzeniu bieżącej transakcji (lub od razu, jeśli transakcji nie ma).
+     *
+     * @param userId identyfikator użytkownika
+     * @param email aktualny adres email użytkownika
+     */
+    void putAfterCommit(Long userId, String email) {
+        afterCommit(() -> put(userId, email));
+    }
+
+    /**
+     * Usuwa wpis użytkownika po zatwierdzeniu bieżącej transakcji (lub od razu, jeśli transakcji nie ma).
+     *
+     * @param userId identyfikator użytkownika
+     */
+    void removeAfterCommit(Long userId) {
+        afterCommit(() -> remove(userId));
+    }
+
+    /**
+     * Znajduje identyfikatory użytkowników, których znormalizowany adres email zawiera podany fragment.
+     *
+     * @param normalizedQuery znormalizowany fragment adresu email, co najmniej {@link #NGRAM_LENGTH} znaki
+     * @param afterId identyfikator, od którego (wyłącznie) rozpocząć wyszukiwanie
+     * @param limit maksymalna liczba zwracanych identyfikatorów
+     * @return identyfikatory posortowane rosnąco
+     */
+    List<Long> findCandidates(String normalizedQuery, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<NavigableSet<Long>> sets = new ArrayList<>();
+            for (String ngram : ngrams(normalizedQuery)) {
+                NavigableSet<Long> ids = postings.get(ngram);
+                if (ids == null) {
+                    return List.of();
+                }
+                sets.add(ids);
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+            NavigableSet<Long> smallest = sets.get(0);
+            List<NavigableSet<Long>> others = sets.subList(1, sets.size());
+
+            List<Long> candidates = new ArrayList<>(limit);
+            for (Long id : smallest.tailSet(afterId, false)) {
+                if (others.stream().allMatch(ids -> ids.contains(id)) && emails.get(id).contains(normalizedQuery)) {
+                    candidates.add(id);
+                    if (candidates.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long userId, String email) {
+        String normalizedEmail = User.normalizeEmail(email);
+        withWriteLock(() -> {
+            markChanged(userId);
+            putUnderLock(userId, normalizedEmail);
+        });
+    }
+
+    private void remove(Long userId) {
+        withWriteLock(() -> {
+            markChanged(userId);
+            removeUnderLock(userId);
+        });
+    }
+
+    private void markChanged(Long userId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(userId);
+        }
+    }
+
+    private void putUnderLock(Long userId, String normalizedEmail) {
+        removeUnderLock(userId);
+        emails.put(userId, normalizedEmail);
+        for (String ngram : ngrams(normalizedEmail)) {
+            postings.computeIfAbsent(ngram, key -> new TreeSet<>()).add(userId);
+        }
+    }
+
+    private void removeUnderLock(Long userId) {
+        String previous = emails.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        for (String ngram : ngrams(previous)) {
+            NavigableSet<Long> ids = postings.get(ngram);
+            if (ids != null && ids.remove(userId) && ids.isEmpty()) {
+                postings.remove(ngram);
+            }
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> ngrams(String value) {
+        Set<String> ngrams = new HashSet<>();
+        for (int i = 0; i + NGRAM_LENGTH <= value.length(); i++) {
+            ngrams.add(value.substring(i, i + NGRAM_LENGTH));
+        }
+        return ngrams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,6 +15,14 @@ public class UserMapper {
                 user.getEmail());
     }
 
+    public UserDto toDto(UserSnapshot user) {
+        return new UserDto(user.id(),
+                user.firstName(),
+                user.lastName(),
+                user.birthdate(),
+                user.email());
+    }
+
     public User toEntity(UserDto userDto) {
         return new User(
                 userDto.firstName(),
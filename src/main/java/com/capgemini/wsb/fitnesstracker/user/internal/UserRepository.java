@@ -1,20 +1,63 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByEmail(String email);
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
 
-    List<User> findByEmailContainingIgnoreCase(String email);
+    boolean existsByNormalizedEmail(String normalizedEmail);
+
+    boolean existsByNormalizedEmailAndIdNot(String normalizedEmail, Long id);
 
     @Query("SELECT u FROM User u WHERE u.birthdate <= :date")
     List<User> findAllUsersOlderThen(@Param("date") LocalDate date);
+
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto(u.id, u.email)
+            FROM User u
+            WHERE u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<BasicUserEmailDto> findEmailsAfterId(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Pobiera identyfikatory i adresy email wskazanych użytkowników.
+     *
+     * @param ids identyfikatory użytkowników
+     * @return użytkownicy posortowani rosnąco po identyfikatorze
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto(u.id, u.email)
+            FROM User u
+            WHERE u.id IN :ids
+            ORDER BY u.id
+            """)
+    List<BasicUserEmailDto> findEmailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Wyszukuje użytkowników, których znormalizowany adres email pasuje do wzorca {@code LIKE}.
+     *
+     * @param pattern wzorzec {@code LIKE} ze znakami specjalnymi poprzedzonymi znakiem {@code \}
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej strony
+     * @param limit maksymalna liczba zwracanych użytkowników
+     * @return użytkownicy posortowani rosnąco po identyfikatorze
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto(u.id, u.email)
+            FROM User u
+            WHERE u.normalizedEmail LIKE :pattern ESCAPE '\\' AND u.id > :afterId
+            ORDER BY u.id
+            """)
+    List<BasicUserEmailDto> findEmailsMatching(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
 }
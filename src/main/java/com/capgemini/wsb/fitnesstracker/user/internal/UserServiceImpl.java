@@ -1,12 +1,24 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.concurrency.api.RetryOnConflict;
+import com.capgemini.wsb.fitnesstracker.exception.api.ConflictException;
+import com.capgemini.wsb.fitnesstracker.exception.api.PreconditionFailedException;
 import com.capgemini.wsb.fitnesstracker.user.api.*;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,24 +32,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserServiceImpl implements UserService, UserProvider {
 
+    private static final String EMAIL_TAKEN_MESSAGE = "Email jest już zajęty!";
+
+    /**
+     * Maksymalna liczba użytkowników zwracanych przez jedno wyszukiwanie.
+     */
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final UserRepository userRepository;
+    private final UserEmailSearchIndex emailSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCacheInvalidator cacheInvalidator;
 
     /**
-     * Tworzy nowego użytkownika.
+     * Tworzy nowego użytkownika i publikuje {@link UserCreatedEvent} w tej samej transakcji.
+     *
+     * <p>Unikalność adresu email sprawdzana jest dokładnym porównaniem postaci kanonicznej (po indeksie).
+     * Przy równoczesnej rejestracji tego samego adresu rozstrzyga unikalny indeks w bazie danych.</p>
      *
      * @param user obiekt użytkownika do utworzenia
      * @return utworzony użytkownik
+     * @throws ConflictException jeśli adres email jest już zajęty
      */
     @Override
+    @Transactional
     public User createUser(final User user) {
         log.info("Tworzenie użytkownika {}", user);
         if (user.getId() != null) {
             throw new IllegalArgumentException("Użytkownik ma już ID w bazie danych, aktualizacja nie jest dozwolona!");
         }
-        if (!userRepository.findByEmailContainingIgnoreCase(user.getEmail()).isEmpty()) {
-            throw new IllegalArgumentException("Email jest już zajęty!");
+        if (userRepository.existsByNormalizedEmail(user.getNormalizedEmail())) {
+            throw new ConflictException(EMAIL_TAKEN_MESSAGE);
         }
-        return userRepository.save(user);
+        User savedUser = saveUser(user);
+        emailSearchIndex.putAfterCommit(savedUser.getId(), savedUser.getEmail());
+        eventPublisher.publishEvent(new UserCreatedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     /**
@@ -59,7 +89,58 @@ public class UserServiceImpl implements UserService, UserProvider {
      */
     @Override
     public Optional<User> getUserByEmail(final String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByNormalizedEmail(User.normalizeEmail(email));
+    }
+
+    /**
+     * Pobiera kopię stanu użytkownika na podstawie ID. Znalezione kopie trafiają do pamięci podręcznej.
+     *
+     * @param userId identyfikator użytkownika
+     * @return opcjonalna kopia stanu użytkownika
+     */
+    @Override
+    @Cacheable(cacheNames = UserCacheConfig.USERS_BY_ID, key = "#userId", unless = "#result == null")
+    public Optional<UserSnapshot> getUserSnapshot(final Long userId) {
+        return userRepository.findById(userId).map(UserSnapshot::of);
+    }
+
+    /**
+     * Zwraca referencję do użytkownika bez odczytu z bazy danych.
+     *
+     * @param userId identyfikator użytkownika
+     * @return referencja do użytkownika
+     */
+    @Override
+    public User getUserReference(final Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Pobiera kopię stanu użytkownika na podstawie adresu e-mail. Znalezione kopie trafiają do pamięci podręcznej.
+     *
+     * @param email adres e-mail użytkownika
+     * @return opcjonalna kopia stanu użytkownika
+     */
+    @Override
+    @Cacheable(cacheNames = UserCacheConfig.USERS_BY_EMAIL,
+               key = "T(com.capgemini.wsb.fitnesstracker.user.api.User).normalizeEmail(#email)",
+               unless = "#result == null")
+    public Optional<UserSnapshot> getUserSnapshotByEmail(final String email) {
+        return userRepository.findByNormalizedEmail(User.normalizeEmail(email)).map(UserSnapshot::of);
+    }
+
+    /**
+     * Pobiera użytkowników o podanych identyfikatorach jednym zapytaniem.
+     *
+     * @param userIds identyfikatory użytkowników
+     * @return znalezieni użytkownicy
+     */
+    @Override
+    public List<User> findUsersByIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findAllById(userIds);
     }
 
     /**
@@ -73,14 +154,20 @@ public class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Usuwa użytkownika na podstawie ID.
+     * Usuwa użytkownika na podstawie ID i publikuje {@link UserDeletedEvent} w tej samej transakcji. Wpisy użytkownika
+     * są usuwane z pamięci podręcznej po zatwierdzeniu transakcji.
      *
      * @param id identyfikator użytkownika
      */
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
+        Optional<User> user = userRepository.findById(id);
+        if (user.isPresent()) {
+            userRepository.delete(user.get());
+            emailSearchIndex.removeAfterCommit(id);
+            cacheInvalidator.evictAfterCommit(id, List.of(user.get().getNormalizedEmail()));
+            eventPublisher.publishEvent(new UserDeletedEvent(id));
             log.info("Usunięto użytkownika z ID {}", id);
         } else {
             throw new IllegalArgumentException("Użytkownik z ID " + id + " nie istnieje.");
@@ -100,16 +187,55 @@ public class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Wyszukuje użytkowników na podstawie adresu e-mail.
+     * Wyszukuje użytkowników, których adres e-mail zawiera podany fragment (bez rozróżniania wielkości liter).
+     *
+     * <p>Fragmenty o długości co najmniej {@value UserEmailSearchIndex#NGRAM_LENGTH} znaków wyszukiwane są
+     * w indeksie trigramowym, a znalezieni kandydaci weryfikowani jednym zapytaniem po kluczu głównym.
+     * Krótsze fragmenty, podobnie jak wszystkie fragmenty przed zbudowaniem indeksu trigramowego, wyszukiwane są
+     * bezpośrednio w bazie danych, w dowolnym miejscu adresu; takie zapytanie przegląda tabelę użytkowników.</p>
      *
-     * @param email adres e-mail do wyszukania
-     * @return lista użytkowników z dopasowanym adresem e-mail
+     * @param email fragment adresu e-mail do wyszukania
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej strony (0 dla pierwszej strony)
+     * @param limit maksymalna liczba zwracanych użytkowników
+     * @return strona użytkowników z dopasowanym adresem e-mail, posortowana rosnąco po identyfikatorze
      */
     @Override
-    public List<BasicUserEmailDto> findUsersByEmail(String email) {
-        return userRepository.findByEmailContainingIgnoreCase(email).stream()
-                .map(user -> new BasicUserEmailDto(user.getId(), user.getEmail()))
-                .collect(Collectors.toList());
+    public List<BasicUserEmailDto> findUsersByEmail(String email, long afterId, int limit) {
+        String query = User.normalizeEmail(email);
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        if (query.length() < UserEmailSearchIndex.NGRAM_LENGTH || !emailSearchIndex.isReady()) {
+            return userRepository.findEmailsMatching("%" + escapeLike(query) + "%", afterId, Limit.of(pageSize));
+        }
+
+        List<BasicUserEmailDto> result = new ArrayList<>(pageSize);
+        long cursor = afterId;
+        while (result.size() < pageSize) {
+            int requested = pageSize - result.size();
+            List<Long> candidates = emailSearchIndex.findCandidates(query, cursor, requested);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            userRepository.findEmailsByIdIn(candidates).stream()
+                    .filter(user -> User.normalizeEmail(user.email()).contains(query))
+                    .forEach(result::add);
+            if (candidates.size() < requested) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Pobiera kolejną porcję identyfikatorów i adresów email użytkowników.
+     *
+     * @param afterId identyfikator ostatniego użytkownika z poprzedniej porcji
+     * @param limit maksymalna liczba zwracanych użytkowników
+     * @return porcja użytkowników posortowana rosnąco po identyfikatorze
+     */
+    @Override
+    public List<BasicUserEmailDto> findUserEmailsAfterId(long afterId, int limit) {
+        return userRepository.findEmailsAfterId(afterId, Limit.of(limit));
     }
 
     /**
@@ -124,18 +250,50 @@ public class UserServiceImpl implements UserService, UserProvider {
     }
 
     /**
-     * Aktualizuje dane użytkownika na podstawie ID.
+     * Aktualizuje dane użytkownika na podstawie ID i publikuje {@link UserUpdatedEvent} w tej samej transakcji. Wpisy
+     * użytkownika są usuwane z pamięci podręcznej po zatwierdzeniu transakcji. Zmieniane są tylko pola podane w DTO; przy konflikcie z równoczesną aktualizacją
+     * zmiany nakładane są ponownie na bieżący stan użytkownika.
      *
      * @param id identyfikator użytkownika
      * @param updateUserDto dane do aktualizacji
      * @return zaktualizowany użytkownik
      */
     @Override
+    @RetryOnConflict
+    @Transactional
     public User updateUser(Long id, UpdateUserDto updateUserDto) {
+        return updateUser(id, updateUserDto, null);
+    }
+
+    /**
+     * Aktualizuje dane użytkownika, o ile jego bieżąca wersja jest równa oczekiwanej. Konflikt z równoczesną
+     * aktualizacją powoduje ponowienie, które kończy się {@link PreconditionFailedException}, jeśli podano
+     * oczekiwaną wersję.
+     *
+     * @param id identyfikator użytkownika
+     * @param updateUserDto dane do aktualizacji
+     * @param expectedVersion oczekiwana bieżąca wersja użytkownika lub null, jeśli dowolna
+     * @return zaktualizowany użytkownik
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public User updateUser(Long id, UpdateUserDto updateUserDto, @Nullable Long expectedVersion) {
         Optional<User> existingUserOptional = userRepository.findById(id);
 
         if (existingUserOptional.isPresent()) {
             User existingUser = existingUserOptional.get();
+            if (expectedVersion != null && expectedVersion != existingUser.getVersion()) {
+                throw new PreconditionFailedException("Użytkownik z ID: %s ma wersję %d, oczekiwano %d."
+                                                              .formatted(id, existingUser.getVersion(), expectedVersion));
+            }
+            // Sprawdzenie adresu email wykonywane jest przed zmianą pól: zapytanie opróżnia kontekst persystencji,
+            // a zapis wcześniej zmienionych pól zwiększyłby wersję dwukrotnie w jednej aktualizacji.
+            if (updateUserDto.email() != null
+                    && userRepository.existsByNormalizedEmailAndIdNot(User.normalizeEmail(updateUserDto.email()), id)) {
+                throw new ConflictException(EMAIL_TAKEN_MESSAGE);
+            }
+            String previousEmail = existingUser.getNormalizedEmail();
 
             if (updateUserDto.firstName() != null) {
                 existingUser.setFirstName(updateUserDto.firstName());
@@ -150,9 +308,36 @@ public class UserServiceImpl implements UserService, UserProvider {
                 existingUser.setEmail(updateUserDto.email());
             }
 
-            return userRepository.save(existingUser);
+            User savedUser = saveUser(existingUser);
+            emailSearchIndex.putAfterCommit(savedUser.getId(), savedUser.getEmail());
+            cacheInvalidator.evictAfterCommit(id, List.of(previousEmail, savedUser.getNormalizedEmail()));
+            eventPublisher.publishEvent(new UserUpdatedEvent(savedUser.getId()));
+            return savedUser;
         } else {
             throw new IllegalArgumentException("Użytkownik z ID: " + id + " nie istnieje.");
         }
     }
+
+    /**
+     * Zapisuje użytkownika, zamieniając naruszenie unikalnego indeksu adresu email na {@link ConflictException}.
+     */
+    private User saveUser(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraintViolation(e)) {
+                throw new ConflictException(EMAIL_TAKEN_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_NORMALIZED_CONSTRAINT);
+    }
 }
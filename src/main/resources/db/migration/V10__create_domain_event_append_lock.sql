@@ -0,0 +1,10 @@
+-- Single row locked by every transaction right before it writes its domain events and held until it commits.
+-- Event ids are therefore allocated in commit order: an id can only become visible after every lower id has been
+-- committed or rolled back, so a gap in the feed is final and readers never have to wait for it.
+create table domain_event_append_lock
+(
+    id int not null,
+    primary key (id)
+);
+
+insert into domain_event_append_lock (id) values (1);
@@ -0,0 +1,5 @@
+-- Zero totals let a statistics row be created from its user id alone (MERGE ... KEY (user_id)), which is how the
+-- row for a user's first training is inserted without racing a concurrent first training of the same user.
+alter table statistics alter column total_trainings set default 0;
+alter table statistics alter column total_distance set default 0;
+alter table statistics alter column total_calories_burned set default 0;
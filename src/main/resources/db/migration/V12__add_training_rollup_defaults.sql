@@ -0,0 +1,6 @@
+-- Empty-bucket defaults let a rollup bucket be created from its key alone (MERGE ... KEY), which is how a missing
+-- bucket is inserted without racing a concurrent transaction adding the first training of the same bucket.
+alter table training_rollups alter column trainings set default 0;
+alter table training_rollups alter column total_distance set default 0;
+alter table training_rollups alter column total_duration_seconds set default 0;
+alter table training_rollups alter column max_speed set default 0;
@@ -0,0 +1,5 @@
+-- Empty running-state defaults let a progress row be created from its user id alone (MERGE ... KEY (user_id)), which
+-- is how the row for a user's first evaluated training is inserted without racing a concurrent first training.
+alter table achievement_progress alter column unlocked set default 0;
+alter table achievement_progress alter column cycling_month_distance set default 0;
+alter table achievement_progress alter column streak_days set default 0;
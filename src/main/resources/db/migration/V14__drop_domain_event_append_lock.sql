@@ -0,0 +1,3 @@
+-- Event ids are now kept in commit order by the application: readers only see ids below the lowest id of
+-- a transaction that has written events but not yet committed. Transactions no longer lock a shared row to commit.
+drop table domain_event_append_lock;
@@ -0,0 +1,60 @@
+create table users
+(
+    id               bigint generated by default as identity,
+    first_name       varchar(255) not null,
+    last_name        varchar(255) not null,
+    birthdate        date         not null,
+    email            varchar(255) not null,
+    email_normalized varchar(255) not null,
+    primary key (id),
+    constraint uk_users_email_normalized unique (email_normalized)
+);
+
+create table trainings
+(
+    id            bigint generated by default as identity,
+    user_id       bigint,
+    start_time    timestamp(6) not null,
+    end_time      timestamp(6) not null,
+    activity_type tinyint      not null check (activity_type between 0 and 4),
+    distance      float(53),
+    average_speed float(53),
+    primary key (id),
+    constraint fk_trainings_user foreign key (user_id) references users
+);
+
+create table statistics
+(
+    id                    bigint generated by default as identity,
+    user_id               bigint unique,
+    total_trainings       integer not null,
+    total_distance        float(53),
+    total_calories_burned integer,
+    primary key (id),
+    constraint fk_statistics_user foreign key (user_id) references users on delete cascade
+);
+
+create table weekly_report_checkpoints
+(
+    week_start   date    not null,
+    last_user_id bigint  not null,
+    completed    boolean not null,
+    primary key (week_start)
+);
+
+create table mail_outbox
+(
+    id              bigint generated by default as identity,
+    to_address      varchar(255)                not null,
+    subject         varchar(255)                not null,
+    content         varchar(65535)              not null,
+    status          varchar(16)                 not null check (status in ('PENDING', 'SENT', 'DEAD')),
+    attempts        integer                     not null,
+    created_at      timestamp(6) with time zone not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    sent_at         timestamp(6) with time zone,
+    last_error      varchar(1000),
+    primary key (id)
+);
+
+create index ix_mail_outbox_status_next_attempt on mail_outbox (status, next_attempt_at);
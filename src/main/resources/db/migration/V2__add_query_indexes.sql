@@ -0,0 +1,12 @@
+-- TrainingRepository: trainings of a user bounded by end time (reports, aggregations).
+-- On databases that do not index foreign keys automatically it also serves plain lookups by user_id.
+create index ix_trainings_user_end_time on trainings (user_id, end_time);
+
+-- TrainingRepository: trainings of an activity type, optionally bounded by end time
+create index ix_trainings_activity_end_time on trainings (activity_type, end_time);
+
+-- TrainingRepository: trainings finished after a date
+create index ix_trainings_end_time on trainings (end_time);
+
+-- UserRepository: users born before a date
+create index ix_users_birthdate on users (birthdate);
@@ -0,0 +1,8 @@
+-- Users and trainings take their ids from pooled sequences (allocation size 50) instead of identity columns,
+-- so that Hibernate can assign ids up front and batch the inserts.
+-- With the pooled optimizer a sequence value is the upper bound of the reserved block, hence the + 50 below.
+create sequence users_seq start with 1 increment by 50;
+alter sequence users_seq restart with (select coalesce(max(id) + 50, 1) from users);
+
+create sequence trainings_seq start with 1 increment by 50;
+alter sequence trainings_seq restart with (select coalesce(max(id) + 50, 1) from trainings);
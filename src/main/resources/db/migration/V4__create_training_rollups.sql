@@ -0,0 +1,34 @@
+-- Daily and weekly (starting on Monday) per-user, per-activity buckets of trainings, keyed by the day the training ended.
+-- Maintained incrementally by the rollup module; the inserts below backfill the existing trainings.
+create table training_rollups
+(
+    id                     bigint generated by default as identity,
+    user_id                bigint     not null,
+    granularity            varchar(8) not null check (granularity in ('DAY', 'WEEK')),
+    bucket_start           date       not null,
+    activity_type          tinyint    not null check (activity_type between 0 and 4),
+    trainings              integer    not null,
+    total_distance         float(53)  not null,
+    total_duration_seconds bigint     not null,
+    max_speed              float(53)  not null,
+    primary key (id),
+    constraint uk_training_rollups_bucket unique (user_id, granularity, bucket_start, activity_type),
+    constraint fk_training_rollups_user foreign key (user_id) references users on delete cascade
+);
+
+insert into training_rollups (user_id, granularity, bucket_start, activity_type, trainings, total_distance,
+                              total_duration_seconds, max_speed)
+select user_id, 'DAY', cast(end_time as date), activity_type, count(*), coalesce(sum(distance), 0),
+       coalesce(sum(datediff(second, start_time, end_time)), 0), coalesce(max(average_speed), 0)
+from trainings
+where user_id is not null
+group by user_id, cast(end_time as date), activity_type;
+
+insert into training_rollups (user_id, granularity, bucket_start, activity_type, trainings, total_distance,
+                              total_duration_seconds, max_speed)
+select user_id, 'WEEK', dateadd(day, 1 - iso_day_of_week(end_time), cast(end_time as date)), activity_type, count(*),
+       coalesce(sum(distance), 0), coalesce(sum(datediff(second, start_time, end_time)), 0),
+       coalesce(max(average_speed), 0)
+from trainings
+where user_id is not null
+group by user_id, dateadd(day, 1 - iso_day_of_week(end_time), cast(end_time as date)), activity_type;
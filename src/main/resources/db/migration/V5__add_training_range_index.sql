@@ -0,0 +1,3 @@
+-- TrainingRepository: trainings of a user of one activity type within a bounded end time range.
+-- Range lookups without an activity type are served by ix_trainings_user_end_time.
+create index ix_trainings_user_activity_end_time on trainings (user_id, activity_type, end_time);
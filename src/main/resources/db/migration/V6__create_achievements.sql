@@ -0,0 +1,26 @@
+-- Per-user running state of the achievement rules, updated incrementally as trainings are created.
+-- Bits of "unlocked" are the ordinals of the unlocked achievements.
+create table achievement_progress
+(
+    user_id                bigint    not null,
+    unlocked               integer   not null,
+    cycling_month          date,
+    cycling_month_distance float(53) not null,
+    streak_last_day        date,
+    streak_days            integer   not null,
+    primary key (user_id),
+    constraint fk_achievement_progress_user foreign key (user_id) references users on delete cascade
+);
+
+create table user_achievements
+(
+    id          bigint generated by default as identity,
+    user_id     bigint                      not null,
+    achievement varchar(32)                 not null check (achievement in ('FIRST_10_KM_RUN', 'CYCLING_100_KM_MONTH',
+                                                                            'SEVEN_DAY_STREAK')),
+    training_id bigint,
+    achieved_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_user_achievements_achievement unique (user_id, achievement),
+    constraint fk_user_achievements_user foreign key (user_id) references users on delete cascade
+);
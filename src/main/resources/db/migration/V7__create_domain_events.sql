@@ -0,0 +1,20 @@
+-- Append-only change feed of trainings and users. Rows are written in the transaction of the change they describe,
+-- so the feed never contains a change that was rolled back. Ids are assigned in insertion order.
+create table domain_events
+(
+    id             bigint generated by default as identity,
+    aggregate_type varchar(16)                 not null check (aggregate_type in ('TRAINING', 'USER')),
+    aggregate_id   bigint                      not null,
+    change_type    varchar(16)                 not null check (change_type in ('CREATED', 'UPDATED', 'DELETED')),
+    user_id        bigint,
+    occurred_at    timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+-- Position of every in-process subscriber in the feed.
+create table domain_event_subscriptions
+(
+    subscriber    varchar(100) not null,
+    last_event_id bigint       not null,
+    primary key (subscriber)
+);
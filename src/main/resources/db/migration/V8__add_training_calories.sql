@@ -0,0 +1,3 @@
+-- Estimated energy expenditure of a training in kcal, computed when the training is written.
+-- NULL marks rows written before the estimate existed (or inserted directly); they are filled by the calorie backfill.
+alter table trainings add column calories integer;
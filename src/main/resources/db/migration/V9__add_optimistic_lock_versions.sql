@@ -0,0 +1,4 @@
+-- Optimistic locking of trainings and users: incremented by every update made through JPA and exposed as the ETag
+-- of the PUT endpoints. Existing rows start at version 0.
+alter table trainings add column version bigint default 0 not null;
+alter table users add column version bigint default 0 not null;
@@ -2,15 +2,21 @@ package com.capgemini.wsb.fitnesstracker;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.Before;
 import org.junit.jupiter.api.AfterEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import static java.util.UUID.randomUUID;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 public abstract class IntegrationTestBase {
@@ -21,10 +27,20 @@ public abstract class IntegrationTestBase {
     @Autowired
     private JpaRepository<Training, Long> trainingRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @AfterEach
     void cleanUpDB() {
         trainingRepository.deleteAll();
         userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
 
     }
 
@@ -44,6 +60,14 @@ public abstract class IntegrationTestBase {
         return userRepository.save(user);
     }
 
+    /**
+     * Creates a not yet persisted adult user with random names and a unique, valid email address.
+     */
+    protected static User generateUser() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.of(1990, 1, 1),
+                        randomUUID() + "@domain.com");
+    }
+
     protected List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -58,5 +82,14 @@ public abstract class IntegrationTestBase {
         return trainingRepository.findAll();
     }
 
+    protected void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    protected QueryCounter queryCounter() {
+        return new QueryCounter(entityManagerFactory);
+    }
+
 
 }
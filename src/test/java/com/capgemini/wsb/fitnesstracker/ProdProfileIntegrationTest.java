@@ -0,0 +1,89 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uruchamia aplikację z profilem {@code prod} na bazie H2 zapisywanej w pliku (tryb AUTO_SERVER).
+ */
+@IntegrationTest
+@ActiveProfiles("prod")
+class ProdProfileIntegrationTest extends IntegrationTestBase {
+
+    private static final int TRAININGS = 120;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void dataDirectory(DynamicPropertyRegistry registry) throws IOException {
+        Path dataDir = Files.createTempDirectory("fitness-tracker-prod");
+        registry.add("fitness-tracker.data-dir", dataDir::toString);
+    }
+
+    @Test
+    void shouldUseTunedConnectionPool_whenProdProfileIsActive() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+
+        assertThat(hikari.getJdbcUrl()).startsWith("jdbc:h2:file:").contains("AUTO_SERVER=TRUE");
+        assertThat(hikari.getPoolName()).isEqualTo("fitness-tracker");
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldBatchInserts_whenPersistingManyTrainings() throws SQLException {
+        QueryCounter queryCounter = queryCounter();
+        queryCounter.reset();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User("Mike", "Scott", LocalDate.of(1990, 1, 1), "mike.scott@domain.com");
+            entityManager.persist(user);
+            for (int i = 0; i < TRAININGS; i++) {
+                entityManager.persist(new Training(user, Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(2_000L), ActivityType.RUNNING, i, 10.0));
+            }
+        });
+
+        // 1 insert użytkownika, 3 wsady treningów i kilka odczytów sekwencji zamiast 121 osobnych zapytań
+        assertThat(queryCounter.count()).isLessThan(10);
+        assertThat(countTrainingsFromSecondConnection()).isEqualTo(TRAININGS);
+    }
+
+    private long countTrainingsFromSecondConnection() throws SQLException {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        try (Connection connection = DriverManager.getConnection(hikari.getJdbcUrl(), hikari.getUsername(), hikari.getPassword());
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT count(*) FROM trainings")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Licznik zapytań SQL oparty o statystyki Hibernate, używany do wykrywania regresji typu N+1.
+ * Wymaga włączonej właściwości {@code hibernate.generate_statistics}.
+ */
+public final class QueryCounter {
+
+    private final Statistics statistics;
+
+    QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Zeruje licznik zapytań.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Zwraca liczbę zapytań przygotowanych od ostatniego wyzerowania licznika.
+     *
+     * @return liczba zapytań
+     */
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Sprawdza, czy od ostatniego wyzerowania licznika wykonano dokładnie podaną liczbę zapytań.
+     *
+     * @param expected oczekiwana liczba zapytań
+     */
+    public void assertQueryCount(long expected) {
+        assertEquals(expected, count(), "Nieoczekiwana liczba zapytań SQL");
+    }
+}
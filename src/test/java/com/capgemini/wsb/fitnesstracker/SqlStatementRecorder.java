@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zapamiętuje zapytania SQL generowane przez Hibernate, aby można je było przeanalizować (np. przez {@code EXPLAIN}).
+ * Rejestrowany właściwością {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Usuwa zapamiętane zapytania.
+     */
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Zwraca wszystkie zapamiętane zapytania w kolejności wykonania.
+     *
+     * @return treści zapytań SQL
+     */
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    /**
+     * Zwraca ostatnie zapamiętane zapytanie.
+     *
+     * @return treść zapytania SQL
+     */
+    public static String lastStatement() {
+        synchronized (STATEMENTS) {
+            if (STATEMENTS.isEmpty()) {
+                throw new IllegalStateException("Nie zarejestrowano żadnego zapytania SQL");
+            }
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import com.capgemini.wsb.fitnesstracker.achievement.api.UnlockedAchievement;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class AchievementIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private AchievementServiceImpl achievementService;
+
+    @Autowired
+    private AchievementProgressRepository progressRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldUnlockFirst10KmRunOnce_whenCreatingLongRuns() throws Exception {
+        User user = existingUser(generateUser());
+
+        trainingProvider.createTraining(generateTraining(user, MARCH, ActivityType.RUNNING, 8.0));
+        trainingProvider.createTraining(generateTraining(user, MARCH, ActivityType.CYCLING, 25.0));
+        assertThat(achievementService.getAchievements(user.getId())).isEmpty();
+
+        Training longRun = trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(3), ActivityType.RUNNING, 10.5));
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(6), ActivityType.RUNNING, 21.1));
+
+        mockMvc.perform(get("/v1/achievements/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].achievement").value("FIRST_10_KM_RUN"))
+                .andExpect(jsonPath("$[0].trainingId").value(longRun.getId()));
+    }
+
+    @Test
+    void shouldUnlockMonthlyCycling_whenDistanceWithinOneMonthReaches100Km() {
+        User user = existingUser(generateUser());
+
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(20), ActivityType.CYCLING, 60.0));
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusMonths(1), ActivityType.CYCLING, 50.0));
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusMonths(1).plusDays(1), ActivityType.RUNNING, 5.0));
+        assertThat(achievementService.getAchievements(user.getId())).isEmpty();
+
+        Training unlocking = trainingProvider.createTraining(
+                generateTraining(user, MARCH.plusMonths(1).plusDays(10), ActivityType.CYCLING, 50.0));
+
+        assertThat(achievementService.getAchievements(user.getId()))
+                .extracting(UnlockedAchievement::achievement, UnlockedAchievement::trainingId)
+                .containsExactly(tuple(Achievement.CYCLING_100_KM_MONTH, unlocking.getId()));
+    }
+
+    @Test
+    void shouldUnlockStreak_whenTrainingOnSevenConsecutiveDays() {
+        User user = existingUser(generateUser());
+        for (int day = 0; day < 6; day++) {
+            trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(day), ActivityType.WALKING, 3.0));
+        }
+        for (int day = 7; day < 13; day++) {
+            trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(day), ActivityType.SWIMMING, 1.0));
+        }
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(12), ActivityType.TENNIS, 0.0));
+        assertThat(achievementService.getAchievements(user.getId())).isEmpty();
+
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(13), ActivityType.TENNIS, 0.0));
+
+        assertThat(achievementService.getAchievements(user.getId()))
+                .extracting(UnlockedAchievement::achievement)
+                .containsExactly(Achievement.SEVEN_DAY_STREAK);
+    }
+
+    @Test
+    void shouldUnlockFromHistoryAndContinueStreak_whenBackfillingTrainingsCreatedBeforeEngine() throws Exception {
+        User user = existingUser(generateUser());
+        Training longRun = persistTraining(generateTraining(user, MARCH, ActivityType.RUNNING, 12.0));
+        for (int day = 1; day < 6; day++) {
+            persistTraining(generateTraining(user, MARCH.plusDays(day), ActivityType.WALKING, 3.0));
+        }
+
+        mockMvc.perform(post("/v1/achievements/backfill"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/v1/achievements/backfill"))
+                .andExpect(status().isNoContent());
+        assertThat(achievementService.getAchievements(user.getId()))
+                .extracting(UnlockedAchievement::achievement, UnlockedAchievement::trainingId)
+                .containsExactly(tuple(Achievement.FIRST_10_KM_RUN, longRun.getId()));
+
+        trainingProvider.createTraining(generateTraining(user, MARCH.plusDays(6), ActivityType.TENNIS, 0.0));
+
+        assertThat(achievementService.getAchievements(user.getId()))
+                .extracting(UnlockedAchievement::achievement)
+                .containsExactly(Achievement.FIRST_10_KM_RUN, Achievement.SEVEN_DAY_STREAK);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldApplyBothTrainings_whenFirstTrainingsOfUserAreEvaluatedConcurrently() throws Exception {
+        User user = existingUser(generateUser());
+        TrainingSnapshot firstDay = TrainingSnapshot.of(generateTraining(user, MARCH, ActivityType.WALKING, 3.0));
+        TrainingSnapshot secondDay = TrainingSnapshot.of(generateTraining(user, MARCH.plusDays(1), ActivityType.WALKING, 3.0));
+        CountDownLatch firstEvaluated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                achievementService.evaluate(user.getId(), List.of(firstDay));
+                firstEvaluated.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            assertThat(firstEvaluated.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> achievementService.evaluate(user.getId(), List.of(secondDay))));
+            // Daje drugiej transakcji czas, by natrafiła na niezatwierdzony wiersz pierwszej.
+            Thread.sleep(200);
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        AchievementProgress progress = progressRepository.findById(user.getId()).orElseThrow();
+        assertThat(progress.getStreakDays()).isEqualTo(2);
+        assertThat(progress.getStreakLastDay()).isEqualTo(MARCH.plusDays(1));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Training generateTraining(User user, LocalDate day, ActivityType activityType, double distance) {
+        Instant end = day.atTime(18, 0).atZone(ZoneId.systemDefault()).toInstant();
+        return new Training(user, end.minusSeconds(3_600), end, activityType, distance, distance);
+    }
+}
@@ -0,0 +1,35 @@
+package com.capgemini.wsb.fitnesstracker.achievement.internal;
+
+import com.capgemini.wsb.fitnesstracker.achievement.api.Achievement;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AchievementProgressTest {
+
+    @Test
+    void shouldKeepStoredBits_whenAchievementsAreReordered() {
+        assertThat(Achievement.FIRST_10_KM_RUN.getBit()).isZero();
+        assertThat(Achievement.CYCLING_100_KM_MONTH.getBit()).isEqualTo(1);
+        assertThat(Achievement.SEVEN_DAY_STREAK.getBit()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAssignDistinctBitsFittingTheColumn_whenAchievementsAreDefined() {
+        assertThat(Arrays.stream(Achievement.values()).map(Achievement::getBit))
+                .doesNotHaveDuplicates()
+                .allMatch(bit -> bit >= 0 && bit < Integer.SIZE - 1);
+    }
+
+    @Test
+    void shouldUnlockOnlyOwnBit_whenAchievementIsUnlocked() {
+        AchievementProgress progress = new AchievementProgress();
+        progress.unlock(Achievement.SEVEN_DAY_STREAK);
+
+        assertThat(progress.getUnlocked()).isEqualTo(1 << 2);
+        assertThat(progress.isUnlocked(Achievement.SEVEN_DAY_STREAK)).isTrue();
+        assertThat(progress.isUnlocked(Achievement.FIRST_10_KM_RUN)).isFalse();
+    }
+}
@@ -0,0 +1,121 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UpdateUserDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = "fitness-tracker.conflict-retry.max-attempts=50")
+class ConflictRetryIntegrationTest extends IntegrationTestBase {
+
+    private static final int THREADS = 4;
+    private static final int UPDATES_PER_THREAD = 10;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldApplyEveryPartialUpdate_whenTrainingIsUpdatedConcurrently() throws Exception {
+        User user = userService.createUser(generateUser());
+        Instant end = Instant.parse("2024-03-01T11:00:00Z");
+        Training training = trainingProvider.createTraining(
+                new Training(user, end.minusSeconds(3_600), end, ActivityType.RUNNING, 10.0, 10.0));
+
+        runConcurrently(thread -> () -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                TrainingDto update = new TrainingDto();
+                update.setDistance(thread * 100.0 + i);
+                trainingProvider.updateTraining(training.getId(), update);
+            }
+            return null;
+        });
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap(
+                "SELECT version, distance FROM trainings WHERE id = ?", training.getId());
+        Statistics statistics = statisticsProvider.getStatisticsForUser(user.getId()).orElseThrow();
+        assertThat(stored.get("version")).isEqualTo((long) THREADS * UPDATES_PER_THREAD);
+        assertThat(statistics.getTotalTrainings()).isEqualTo(1);
+        assertThat(statistics.getTotalDistance()).isEqualTo(stored.get("distance"));
+    }
+
+    @Test
+    void shouldKeepFieldsOfEveryWriter_whenUserIsUpdatedConcurrently() throws Exception {
+        User user = userService.createUser(generateUser());
+
+        runConcurrently(thread -> () -> {
+            for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                UpdateUserDto update = thread % 2 == 0
+                        ? new UpdateUserDto(null, "First-%d-%d".formatted(thread, i), null, null, null)
+                        : new UpdateUserDto(null, null, "Last-%d-%d".formatted(thread, i), null, null);
+                userService.updateUser(user.getId(), update);
+            }
+            return null;
+        });
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap(
+                "SELECT version, first_name, last_name FROM users WHERE id = ?", user.getId());
+        assertThat(stored.get("version")).isEqualTo((long) THREADS * UPDATES_PER_THREAD);
+        assertThat((String) stored.get("first_name")).matches("First-[02]-" + (UPDATES_PER_THREAD - 1));
+        assertThat((String) stored.get("last_name")).matches("Last-[13]-" + (UPDATES_PER_THREAD - 1));
+    }
+
+    private static void runConcurrently(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                Callable<Void> updates = writer.updates(thread);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return updates.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+
+        Callable<Void> updates(int thread);
+    }
+}
@@ -0,0 +1,21 @@
+package com.capgemini.wsb.fitnesstracker.concurrency.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void shouldFailFast_whenRuntimeIsOlderThanJava21() {
+        assertThatThrownBy(() -> VirtualThreadsConfig.requireVirtualThreads(17))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+
+    @Test
+    void shouldAcceptRuntime_whenItSupportsVirtualThreads() {
+        assertThatCode(() -> VirtualThreadsConfig.requireVirtualThreads(21)).doesNotThrowAnyException();
+    }
+}
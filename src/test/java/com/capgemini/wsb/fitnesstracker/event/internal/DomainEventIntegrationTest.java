@@ -0,0 +1,230 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.event.api.AggregateType;
+import com.capgemini.wsb.fitnesstracker.event.api.ChangeType;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEventSubscriber;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UpdateUserDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@TestPropertySource(properties = "fitness-tracker.events.relay-poll-interval=PT0.1S")
+@AutoConfigureMockMvc(addFilters = false)
+class DomainEventIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private RecordingSubscriber recordingSubscriber;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DomainEventServiceImpl eventService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldServeChangesInOrder_whenReadingFeedPageByPage() throws Exception {
+        User user = userService.createUser(generateUser());
+        Training training = trainingProvider.createTraining(generateTraining(user));
+        TrainingDto update = new TrainingDto();
+        update.setDistance(12.0);
+        trainingProvider.updateTraining(training.getId(), update);
+        userService.updateUser(user.getId(), new UpdateUserDto(null, "Anna", null, null, null));
+        long firstEventId = jdbcTemplate.queryForObject(
+                "SELECT id FROM domain_events WHERE aggregate_type = 'USER' AND aggregate_id = ? AND change_type = 'CREATED'",
+                Long.class, user.getId());
+
+        mockMvc.perform(get("/v1/events").param("after", Long.toString(firstEventId - 1)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(DomainEventController.NEXT_CURSOR_HEADER, Long.toString(firstEventId + 1)))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].aggregateType").value("USER"))
+                .andExpect(jsonPath("$[0].changeType").value("CREATED"))
+                .andExpect(jsonPath("$[1].aggregateType").value("TRAINING"))
+                .andExpect(jsonPath("$[1].aggregateId").value(training.getId()))
+                .andExpect(jsonPath("$[1].userId").value(user.getId()))
+                .andExpect(jsonPath("$[1].changeType").value("CREATED"));
+
+        mockMvc.perform(get("/v1/events").param("after", Long.toString(firstEventId + 1)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(DomainEventController.NEXT_CURSOR_HEADER, Long.toString(firstEventId + 3)))
+                .andExpect(jsonPath("$[0].aggregateType").value("TRAINING"))
+                .andExpect(jsonPath("$[0].changeType").value("UPDATED"))
+                .andExpect(jsonPath("$[1].aggregateType").value("USER"))
+                .andExpect(jsonPath("$[1].changeType").value("UPDATED"));
+    }
+
+    @Test
+    void shouldRelayChangesToSubscribers_whenTransactionsCommit() {
+        User user = userService.createUser(generateUser());
+        Training training = trainingProvider.createTraining(generateTraining(user));
+        User removed = userService.createUser(generateUser());
+        userService.deleteUser(removed.getId());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(recordingSubscriber.events)
+                .filteredOn(event -> Objects.equals(event.userId(), user.getId())
+                        || Objects.equals(event.userId(), removed.getId()))
+                .extracting(DomainEvent::aggregateType, DomainEvent::aggregateId, DomainEvent::changeType)
+                .containsExactly(tuple(AggregateType.USER, user.getId(), ChangeType.CREATED),
+                                 tuple(AggregateType.TRAINING, training.getId(), ChangeType.CREATED),
+                                 tuple(AggregateType.USER, removed.getId(), ChangeType.CREATED),
+                                 tuple(AggregateType.USER, removed.getId(), ChangeType.DELETED)));
+    }
+
+    @Test
+    void shouldPlaceEventAfterLaterCommits_whenTransactionCommitsLate() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<User> slow = executor.submit(() -> transactionTemplate.execute(status -> {
+                User user = userService.createUser(generateUser());
+                recorded.countDown();
+                awaitUninterruptibly(release);
+                return user;
+            }));
+            assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+            User fast = userService.createUser(generateUser());
+            long fastEventId = userCreatedEventId(fast);
+            release.countDown();
+            User late = slow.get(10, TimeUnit.SECONDS);
+
+            assertThat(userCreatedEventId(late)).isGreaterThan(fastEventId);
+            assertThat(eventService.getEventsAfter(fastEventId, 10))
+                    .extracting(DomainEvent::aggregateId)
+                    .contains(late.getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldHoldBackLaterEvents_whenEarlierTransactionHasNotCommittedYet() throws Exception {
+        long lastEventId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM domain_events", Long.class);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> slow = executor.submit(() -> transactionTemplate.execute(status -> {
+                User user = userService.createUser(generateUser());
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        written.countDown();
+                        awaitUninterruptibly(release);
+                    }
+                });
+                return user;
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // transakcja z zapisanym, niezatwierdzonym zdarzeniem nie blokuje zatwierdzenia kolejnej
+            User fast = executor.submit(() -> userService.createUser(generateUser())).get(5, TimeUnit.SECONDS);
+            assertThat(eventService.getEventsAfter(lastEventId, 10))
+                    .extracting(DomainEvent::aggregateId)
+                    .doesNotContain(fast.getId());
+
+            release.countDown();
+            User late = slow.get(10, TimeUnit.SECONDS);
+            assertThat(eventService.getEventsAfter(lastEventId, 10))
+                    .extracting(DomainEvent::aggregateId)
+                    .containsSubsequence(late.getId(), fast.getId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private long userCreatedEventId(User user) {
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM domain_events WHERE aggregate_type = 'USER' AND aggregate_id = ? AND change_type = 'CREATED'",
+                Long.class, user.getId());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Training generateTraining(User user) {
+        Instant end = Instant.parse("2024-03-01T11:00:00Z");
+        return new Training(user, end.minusSeconds(3_600), end, ActivityType.RUNNING, 10.0, 10.0);
+    }
+
+    @TestConfiguration
+    static class RecordingSubscriberConfig {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements DomainEventSubscriber {
+
+        private final List<DomainEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String subscriberName() {
+            return "recording-subscriber";
+        }
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.event.internal;
+
+import com.capgemini.wsb.fitnesstracker.event.api.AggregateType;
+import com.capgemini.wsb.fitnesstracker.event.api.ChangeType;
+import com.capgemini.wsb.fitnesstracker.event.api.DomainEvent;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DomainEventServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Mock
+    private DomainEventRepository eventRepository;
+
+    @Mock
+    private DomainEventWatermark watermark;
+
+    @InjectMocks
+    private DomainEventServiceImpl eventService;
+
+    @Test
+    void shouldPassOverGap_whenEventsAfterItAreReadable() {
+        when(watermark.visibleBelow()).thenReturn(15L);
+        when(eventRepository.findAfter(10, 15, Limit.of(3))).thenReturn(List.of(event(11), event(13), event(14)));
+
+        assertThat(eventService.getEventsAfter(10, 3))
+                .extracting(DomainEvent::id)
+                .containsExactly(11L, 13L, 14L);
+    }
+
+    @Test
+    void shouldRejectPageSize_whenOutsideBounds() {
+        assertThatThrownBy(() -> eventService.getEventsAfter(0, 0)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> eventService.getEventsAfter(0, DomainEventServiceImpl.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(BusinessException.class);
+        verify(eventRepository, never()).findAfter(anyLong(), anyLong(), any());
+    }
+
+    private static DomainEvent event(long id) {
+        return new DomainEvent(id, AggregateType.TRAINING, id, ChangeType.CREATED, 1L, NOW);
+    }
+}
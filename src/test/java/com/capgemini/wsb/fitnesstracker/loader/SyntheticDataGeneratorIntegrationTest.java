@@ -0,0 +1,100 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@ActiveProfiles(SyntheticDataGenerator.PROFILE)
+@TestPropertySource(properties = {
+        "fitness-tracker.generator.users=7",
+        "fitness-tracker.generator.trainings-per-user=3",
+        "fitness-tracker.generator.chunk-size=2",
+        "fitness-tracker.generator.batch-size=4",
+        "fitness-tracker.generator.threads=3",
+        "fitness-tracker.generator.history-days=30",
+        "fitness-tracker.generator.end-date=2024-01-31"
+})
+class SyntheticDataGeneratorIntegrationTest extends IntegrationTestBase {
+
+    private static final String USERS_QUERY = "select first_name, last_name, birthdate from users order by id";
+    private static final String TRAININGS_QUERY = """
+            select start_time, end_time, activity_type, distance, average_speed
+            from trainings order by id""";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void removeDataGeneratedOnStartup() {
+        jdbcTemplate.update("delete from trainings");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void shouldGenerateConfiguredNumberOfTrainingsPerUser_withRebuiltStatistics() {
+        generator.generate();
+
+        assertThat(getAllUsers()).hasSize(7);
+        assertThat(jdbcTemplate.queryForList("select count(*) from trainings group by user_id", Long.class))
+                .hasSize(7)
+                .containsOnly(3L);
+        assertThat(jdbcTemplate.queryForList("select total_trainings from statistics", Integer.class))
+                .hasSize(7)
+                .containsOnly(3);
+
+        Instant firstDay = Timestamp.valueOf(LocalDate.of(2024, 1, 2).atStartOfDay()).toInstant();
+        Instant dayAfterLast = Timestamp.valueOf(LocalDate.of(2024, 2, 1).atStartOfDay()).toInstant();
+        assertThat(getAllTrainings()).allSatisfy(training -> {
+            assertThat(training.getStartTime()).isAfterOrEqualTo(firstDay).isBefore(dayAfterLast);
+            assertThat(training.getEndTime()).isAfter(training.getStartTime());
+            assertThat(training.getDistance()).isPositive();
+            assertThat(training.getAverageSpeed()).isPositive();
+        });
+    }
+
+    @Test
+    void shouldGenerateSameData_whenRunTwiceWithSameSeed() {
+        generator.generate();
+        List<Map<String, Object>> firstUsers = jdbcTemplate.queryForList(USERS_QUERY);
+        List<Map<String, Object>> firstTrainings = jdbcTemplate.queryForList(TRAININGS_QUERY);
+        removeDataGeneratedOnStartup();
+
+        generator.generate();
+
+        assertThat(jdbcTemplate.queryForList(USERS_QUERY)).isEqualTo(firstUsers);
+        assertThat(jdbcTemplate.queryForList(TRAININGS_QUERY)).isEqualTo(firstTrainings);
+    }
+
+    @Test
+    void shouldAssignFreeIds_whenSavingEntitiesAfterGeneration() {
+        generator.generate();
+        Long maxUserId = jdbcTemplate.queryForObject("select max(id) from users", Long.class);
+        Long maxTrainingId = jdbcTemplate.queryForObject("select max(id) from trainings", Long.class);
+
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 5, 1), "emma.johnson@domain.com"));
+        Training training = persistTraining(new Training(user, Instant.EPOCH, Instant.ofEpochSecond(3_600), ActivityType.RUNNING, 10, 10));
+
+        assertThat(user.getId()).isGreaterThan(maxUserId);
+        assertThat(training.getId()).isGreaterThan(maxTrainingId);
+    }
+}
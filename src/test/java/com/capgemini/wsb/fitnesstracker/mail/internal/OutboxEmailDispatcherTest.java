@@ -0,0 +1,116 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEmailDispatcherTest {
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private OutboxEmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MailProperties.Outbox outbox = new MailProperties.Outbox(10, 1000, 3, Duration.ofSeconds(30), Duration.ofMinutes(1));
+        dispatcher = new OutboxEmailDispatcher(outboxEmailRepository, mailSender, new MailProperties("tracker@fitness.com", outbox));
+    }
+
+    @Test
+    void shouldSendWholeBatchAtOnce_whenEmailsAreDue() throws Exception {
+        OutboxEmail first = email("first@domain.com");
+        OutboxEmail second = email("second@domain.com");
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of(first, second), List.of());
+
+        int delivered = dispatcher.dispatchPending();
+
+        ArgumentCaptor<SimpleMailMessage[]> captor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(mailSender).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(delivered).isEqualTo(2);
+        assertThat(first.getStatus()).isEqualTo(OutboxEmailStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(OutboxEmailStatus.SENT);
+        verify(outboxEmailRepository).saveAll(List.of(first, second));
+    }
+
+    @Test
+    void shouldRetryOnlyFailedEmail_whenPartOfBatchFails() throws Exception {
+        OutboxEmail delivered = email("ok@domain.com");
+        OutboxEmail rejected = email("rejected@domain.com");
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of(delivered, rejected), List.of());
+        doAnswer(invocation -> {
+            Object failed = Arrays.stream(invocation.getArguments())
+                    .filter(message -> ((SimpleMailMessage) message).getTo()[0].equals("rejected@domain.com"))
+                    .findFirst()
+                    .orElseThrow();
+            throw new MailSendException(Map.of(failed, new IllegalStateException("mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+        Instant before = Instant.now();
+
+        dispatcher.dispatchPending();
+
+        assertThat(delivered.getStatus()).isEqualTo(OutboxEmailStatus.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(OutboxEmailStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getLastError()).contains("mailbox unavailable");
+        assertThat(rejected.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+    }
+
+    @Test
+    void shouldMoveToDeadLetter_whenMaxAttemptsReached() throws Exception {
+        OutboxEmail email = email("broken@domain.com");
+        email.setAttempts(2);
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of(email), List.of());
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        int delivered = dispatcher.dispatchPending();
+
+        assertThat(delivered).isZero();
+        assertThat(email.getStatus()).isEqualTo(OutboxEmailStatus.DEAD);
+        assertThat(email.getAttempts()).isEqualTo(3);
+        assertThat(email.getLastError()).contains("connection refused");
+    }
+
+    @Test
+    void shouldDoubleBackoff_whenRetryingAgain() {
+        MailProperties.Outbox outbox = new MailProperties.Outbox(10, 1000, 10, Duration.ofSeconds(30), Duration.ofMinutes(1));
+        OutboxEmail email = email("slow@domain.com");
+        Instant now = Instant.now();
+
+        email.markFailed("timeout", now, outbox);
+        assertThat(email.getNextAttemptAt()).isEqualTo(now.plusSeconds(30));
+        email.markFailed("timeout", now, outbox);
+        assertThat(email.getNextAttemptAt()).isEqualTo(now.plusSeconds(60));
+        email.markFailed("timeout", now, outbox);
+        assertThat(email.getNextAttemptAt()).isEqualTo(now.plusSeconds(60));
+    }
+
+    private static OutboxEmail email(String toAddress) {
+        return new OutboxEmail(new EmailDto(toAddress, "Subject", "Content"), Instant.now());
+    }
+}
@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "mail.from=tracker@fitness.com",
+        "mail.outbox.poll-interval=PT0.1S",
+        "mail.outbox.batch-size=2"
+})
+class OutboxEmailIntegrationTest extends IntegrationTestBase {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @AfterEach
+    void cleanUpOutbox() {
+        outboxEmailRepository.deleteAll();
+    }
+
+    @Test
+    void shouldDeliverQueuedEmails_whenDispatcherDrainsOutbox() {
+        emailSender.send(new EmailDto("first@domain.com", "Subject 1", "Content 1"));
+        emailSender.send(new EmailDto("second@domain.com", "Subject 2", "Content 2"));
+        emailSender.send(new EmailDto("third@domain.com", "Subject 3", "Content 3"));
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(outboxEmailRepository.countByStatus(OutboxEmailStatus.SENT)).isEqualTo(3));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(Arrays.stream(received).map(message -> GreenMailUtil.getBody(message).trim()))
+                .containsExactlyInAnyOrder("Content 1", "Content 2", "Content 3");
+        assertThat(outboxEmailRepository.findAll())
+                .allSatisfy(email -> {
+                    assertThat(email.getAttempts()).isEqualTo(1);
+                    assertThat(email.getSentAt()).isNotNull();
+                });
+    }
+}
@@ -0,0 +1,118 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static com.capgemini.wsb.fitnesstracker.monitoring.internal.MethodMetricsInterceptor.CALLS_METRIC;
+import static com.capgemini.wsb.fitnesstracker.monitoring.internal.MethodMetricsInterceptor.ERRORS_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureObservability
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=prometheus")
+class MethodMetricsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TrainingServiceImpl trainingService;
+
+    @Autowired
+    private UserProvider userProvider;
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldTimeServiceMethodAndRepositoryQuery_whenServiceIsCalled() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 5, 1), "emma.johnson@domain.com"));
+        long serviceCalls = calls("TrainingServiceImpl", "getTrainingSummariesByUserId");
+        long repositoryCalls = calls("TrainingRepository", "findSummariesByUserId");
+
+        trainingService.getTrainingSummariesByUserId(user.getId());
+        trainingService.getTrainingSummariesByUserId(user.getId());
+
+        assertThat(calls("TrainingServiceImpl", "getTrainingSummariesByUserId")).isEqualTo(serviceCalls + 2);
+        assertThat(calls("TrainingRepository", "findSummariesByUserId")).isEqualTo(repositoryCalls + 2);
+        assertThat(meterRegistry.get(CALLS_METRIC).tag("component", "TrainingRepository").tag("layer", "repository").timers())
+                .isNotEmpty();
+    }
+
+    @Test
+    void shouldTimeInheritedRepositoryMethodPerRepository_whenServicesAreCalled() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 5, 1), "emma.johnson@domain.com"));
+        long userCalls = calls("UserRepository", "findById");
+        long statisticsCalls = calls("StatisticsRepository", "findById");
+        long statisticsServiceCalls = calls("StatisticsServiceImpl", "getStatistics");
+
+        userProvider.getUser(user.getId());
+        statisticsProvider.getStatistics(user.getId());
+
+        assertThat(calls("UserRepository", "findById")).isEqualTo(userCalls + 1);
+        assertThat(calls("StatisticsRepository", "findById")).isEqualTo(statisticsCalls + 1);
+        assertThat(calls("StatisticsServiceImpl", "getStatistics")).isEqualTo(statisticsServiceCalls + 1);
+    }
+
+    @Test
+    void shouldCountError_whenServiceMethodThrows() {
+        double errors = errors("TrainingServiceImpl", "updateTraining");
+
+        assertThatThrownBy(() -> trainingService.updateTraining(-1L, new TrainingDto()))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(errors("TrainingServiceImpl", "updateTraining")).isEqualTo(errors + 1);
+        assertThat(calls("TrainingServiceImpl", "updateTraining")).isPositive();
+    }
+
+    @Test
+    void shouldExposeTimersWithPercentiles_whenScrapingPrometheusEndpoint() throws Exception {
+        trainingService.getTrainingsPage(null, 10);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "fitness_tracker_calls_seconds_bucket{component=\"TrainingServiceImpl\",layer=\"service\",method=\"getTrainingsPage\"")))
+                .andExpect(content().string(containsString(
+                        "fitness_tracker_calls_seconds{component=\"TrainingServiceImpl\",layer=\"service\",method=\"getTrainingsPage\",quantile=\"0.99\"")))
+                .andExpect(content().string(containsString(
+                        "fitness_tracker_errors_total{component=\"TrainingServiceImpl\",layer=\"service\",method=\"getTrainingsPage\"")));
+    }
+
+    private long calls(String component, String method) {
+        Timer timer = meterRegistry.find(CALLS_METRIC).tag("component", component).tag("method", method).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double errors(String component, String method) {
+        Counter counter = meterRegistry.find(ERRORS_METRIC).tag("component", component).tag("method", method).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
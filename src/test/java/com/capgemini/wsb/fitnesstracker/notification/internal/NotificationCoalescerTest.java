@@ -0,0 +1,69 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationDigest;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(Duration.ofSeconds(30), 2);
+
+    @Test
+    void shouldMergeBurstOfOneUser_whenWindowElapses() {
+        for (int i = 0; i < 400; i++) {
+            coalescer.add(new Notification(1L, NotificationType.TRAINING_CREATED, null), START.plusMillis(i));
+        }
+        coalescer.add(new Notification(1L, NotificationType.TRAINING_CREATED, 100, null), START.plusMillis(400));
+        coalescer.add(new Notification(1L, NotificationType.ACHIEVEMENT_UNLOCKED, "first"), START.plusSeconds(1));
+
+        assertThat(coalescer.drainDue(START.plusSeconds(29))).isEmpty();
+        assertThat(coalescer.nextDeadline()).isEqualTo(START.plusSeconds(30));
+
+        List<NotificationDigest> digests = coalescer.drainDue(START.plusSeconds(30));
+
+        assertThat(digests).singleElement().satisfies(digest -> {
+            assertThat(digest.userId()).isEqualTo(1L);
+            assertThat(digest.count(NotificationType.TRAINING_CREATED)).isEqualTo(500);
+            assertThat(digest.count(NotificationType.ACHIEVEMENT_UNLOCKED)).isEqualTo(1);
+            assertThat(digest.count(NotificationType.USER_UPDATED)).isZero();
+            assertThat(digest.details()).containsExactly("first");
+            assertThat(digest.lastAt()).isEqualTo(START.plusSeconds(1));
+        });
+        assertThat(coalescer.nextDeadline()).isNull();
+    }
+
+    @Test
+    void shouldDrainOnlyDueUsers_whenWindowsOpenedAtDifferentTimes() {
+        coalescer.add(new Notification(1L, NotificationType.USER_UPDATED, null), START);
+        coalescer.add(new Notification(2L, NotificationType.USER_UPDATED, null), START.plusSeconds(20));
+        coalescer.add(new Notification(1L, NotificationType.USER_UPDATED, null), START.plusSeconds(25));
+
+        assertThat(coalescer.drainDue(START.plusSeconds(35)))
+                .extracting(NotificationDigest::userId)
+                .containsExactly(1L);
+        assertThat(coalescer.nextDeadline()).isEqualTo(START.plusSeconds(50));
+        assertThat(coalescer.drainAll())
+                .extracting(NotificationDigest::userId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void shouldCapDetails_whenManyDescribedNotificationsArrive() {
+        coalescer.add(new Notification(1L, NotificationType.ACHIEVEMENT_UNLOCKED, "first"), START);
+        coalescer.add(new Notification(1L, NotificationType.ACHIEVEMENT_UNLOCKED, "second"), START);
+        coalescer.add(new Notification(1L, NotificationType.ACHIEVEMENT_UNLOCKED, "third"), START);
+
+        assertThat(coalescer.drainAll()).singleElement().satisfies(digest -> {
+            assertThat(digest.count(NotificationType.ACHIEVEMENT_UNLOCKED)).isEqualTo(3);
+            assertThat(digest.details()).containsExactly("first", "second");
+        });
+    }
+}
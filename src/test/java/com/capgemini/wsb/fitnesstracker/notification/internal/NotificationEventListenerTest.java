@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventListenerTest {
+
+    private static final Instant END = Instant.parse("2024-03-01T11:00:00Z");
+
+    @Mock
+    private NotificationBus notificationBus;
+
+    @InjectMocks
+    private NotificationEventListener listener;
+
+    @Test
+    void shouldPublishOneNotificationPerUser_whenChunkOfTrainingsIsImported() {
+        listener.onTrainingsImported(new TrainingsImportedEvent(List.of(
+                training(1L), training(2L), training(1L), training(null), training(1L), training(2L))));
+
+        ArgumentCaptor<Notification> published = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationBus, times(2)).publish(published.capture());
+        assertThat(published.getAllValues()).containsExactly(
+                new Notification(1L, NotificationType.TRAINING_CREATED, 3, null),
+                new Notification(2L, NotificationType.TRAINING_CREATED, 2, null));
+    }
+
+    private static TrainingSnapshot training(Long userId) {
+        return new TrainingSnapshot(null, userId, END.minusSeconds(3_600), END, ActivityType.RUNNING, 5.0, 5.0, 300);
+    }
+}
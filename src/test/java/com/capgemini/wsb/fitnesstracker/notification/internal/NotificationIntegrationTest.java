@@ -0,0 +1,99 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationChannel;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationDigest;
+import com.capgemini.wsb.fitnesstracker.notification.api.NotificationType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "fitness-tracker.notification.enabled=true",
+        "fitness-tracker.notification.coalesce-window=PT2S"
+})
+@AutoConfigureMockMvc(addFilters = false)
+class NotificationIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecordingChannel recordingChannel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUpNotifications() {
+        recordingChannel.digests.clear();
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+    }
+
+    @Test
+    void shouldSendSingleDigest_whenUserUploadsManyTrainings() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1990, 1, 1), "emma.digest@domain.com"));
+        String trainings = IntStream.range(0, 500)
+                .mapToObj(i -> """
+                        {"userId": %d, "startTime": "2024-03-01T10:00:00", "endTime": "2024-03-01T11:00:00",
+                         "activityType": "RUNNING", "distance": %s, "averageSpeed": 10.0}
+                        """.formatted(user.getId(), i == 0 ? "12.0" : "5.0"))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(trainings))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(500));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> !recordingChannel.digests.isEmpty());
+
+        assertThat(recordingChannel.digests).singleElement().satisfies(digest -> {
+            assertThat(digest.userId()).isEqualTo(user.getId());
+            assertThat(digest.count(NotificationType.TRAINING_CREATED)).isEqualTo(500);
+            assertThat(digest.count(NotificationType.ACHIEVEMENT_UNLOCKED)).isEqualTo(1);
+        });
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM mail_outbox WHERE to_address = ?", Integer.class, user.getEmail())).isEqualTo(1));
+    }
+
+    @TestConfiguration
+    static class RecordingChannelConfig {
+
+        @Bean
+        RecordingChannel recordingChannel() {
+            return new RecordingChannel();
+        }
+    }
+
+    static class RecordingChannel implements NotificationChannel {
+
+        private final List<NotificationDigest> digests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void deliver(NotificationDigest digest) {
+            digests.add(digest);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.capgemini.wsb.fitnesstracker.report.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "fitness-tracker.report.weekly.enabled=true",
+        "fitness-tracker.report.weekly.chunk-size=2",
+        "fitness-tracker.report.weekly.parallelism=2"
+})
+class WeeklyReportGeneratorIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 1, 1);
+
+    @MockBean
+    private EmailSender emailSender;
+
+    @Autowired
+    private WeeklyReportGenerator generator;
+
+    @Autowired
+    private WeeklyReportCheckpointRepository checkpointRepository;
+
+    @AfterEach
+    void cleanUpCheckpoints() {
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    void shouldSendReportToEveryUser_whenProcessingInParallelChunks() {
+        List<User> users = List.of(existingUser(generateUser()), existingUser(generateUser()),
+                                   existingUser(generateUser()), existingUser(generateUser()),
+                                   existingUser(generateUser()));
+        User active = users.get(0);
+        persistTraining(generateTraining(active, WEEK_START.atTime(10, 0), ActivityType.RUNNING, 5.0));
+        persistTraining(generateTraining(active, WEEK_START.plusDays(2).atTime(10, 0), ActivityType.RUNNING, 7.5));
+        persistTraining(generateTraining(active, WEEK_START.plusDays(3).atTime(10, 0), ActivityType.CYCLING, 20.0));
+        persistTraining(generateTraining(active, WEEK_START.minusDays(1).atTime(10, 0), ActivityType.CYCLING, 30.0));
+
+        int sent = generator.generate(WEEK_START);
+
+        assertThat(sent).isEqualTo(users.size());
+        ArgumentCaptor<EmailDto> captor = ArgumentCaptor.forClass(EmailDto.class);
+        verify(emailSender, times(users.size())).send(captor.capture());
+        Map<String, EmailDto> emails = captor.getAllValues().stream().collect(toMap(EmailDto::toAddress, email -> email));
+        assertThat(emails).containsOnlyKeys(users.stream().map(User::getEmail).toList());
+        assertThat(emails.get(active.getEmail()).content())
+                .contains("Bieganie: 2 trening(i), 12.50 km")
+                .contains("Jazda na rowerze: 1 trening(i), 20.00 km")
+                .contains("Razem w tygodniu %s - %s: 3 trening(i), 32.50 km".formatted(WEEK_START, WEEK_START.plusDays(6)))
+                .contains("Łącznie zarejestrowanych treningów: 4");
+        assertThat(emails.get(users.get(1).getEmail()).content())
+                .contains("W tygodniu %s - %s nie zarejestrowano żadnych treningów.".formatted(WEEK_START, WEEK_START.plusDays(6)));
+        assertThat(checkpointRepository.findById(WEEK_START).orElseThrow().isCompleted()).isTrue();
+    }
+
+    @Test
+    void shouldNotSendAgain_whenWeekWasAlreadyCompleted() {
+        existingUser(generateUser());
+        generator.generate(WEEK_START);
+
+        int sent = generator.generate(WEEK_START);
+
+        assertThat(sent).isZero();
+        verify(emailSender, times(1)).send(any());
+    }
+
+    @Test
+    void shouldResumeAfterCheckpoint_whenPreviousRunWasInterrupted() {
+        User processed = existingUser(generateUser());
+        User pending = existingUser(generateUser());
+        WeeklyReportCheckpoint checkpoint = new WeeklyReportCheckpoint(WEEK_START);
+        checkpoint.setLastUserId(processed.getId());
+        checkpointRepository.save(checkpoint);
+
+        int sent = generator.generate(WEEK_START);
+
+        assertThat(sent).isEqualTo(1);
+        ArgumentCaptor<EmailDto> captor = ArgumentCaptor.forClass(EmailDto.class);
+        verify(emailSender).send(captor.capture());
+        verifyNoMoreInteractions(emailSender);
+        assertThat(captor.getValue().toAddress()).isEqualTo(pending.getEmail());
+    }
+
+    private static Training generateTraining(User user, LocalDateTime start, ActivityType activityType, double distance) {
+        Instant startTime = start.atZone(ZoneId.systemDefault()).toInstant();
+        Instant endTime = start.plusHours(1).atZone(ZoneId.systemDefault()).toInstant();
+        return new Training(user, startTime, endTime, activityType, distance, 10.0);
+    }
+}
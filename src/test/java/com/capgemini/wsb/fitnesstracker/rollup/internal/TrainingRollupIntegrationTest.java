@@ -0,0 +1,210 @@
+package com.capgemini.wsb.fitnesstracker.rollup.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.rollup.api.ActivityRollup;
+import com.capgemini.wsb.fitnesstracker.rollup.api.RollupWindow;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingSnapshot;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+@Transactional
+class TrainingRollupIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 3);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 20);
+
+    @Autowired
+    private TrainingServiceImpl trainingService;
+
+    @Autowired
+    private TrainingRollupServiceImpl rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Training wednesdayRun;
+
+    @BeforeEach
+    void createTrainings() {
+        user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 5, 1), "emma.johnson@domain.com"));
+        trainingService.createTraining(training(LocalDateTime.of(2024, 1, 8, 7, 0), 60, ActivityType.RUNNING, 10, 10));
+        wednesdayRun = trainingService.createTraining(training(LocalDateTime.of(2024, 1, 10, 7, 0), 25, ActivityType.RUNNING, 5, 12));
+        trainingService.createTraining(training(LocalDateTime.of(2024, 1, 15, 17, 0), 60, ActivityType.CYCLING, 20, 20));
+        trainingService.createTraining(training(LocalDateTime.of(2024, 1, 19, 7, 0), 20, ActivityType.RUNNING, 3, 9));
+        trainingService.createTraining(training(LocalDateTime.of(2024, 1, 22, 7, 0), 60, ActivityType.RUNNING, 12, 11));
+    }
+
+    @Test
+    void shouldMergeWeeklyAndDailyBuckets_whenWindowSpansFullWeekAndPartialWeeks() {
+        RollupWindow window = rollupService.getWindow(user.getId(), FROM, TO);
+
+        assertThat(window.trainings()).isEqualTo(4);
+        assertThat(window.totalDistance()).isEqualTo(38.0);
+        assertThat(window.totalDurationSeconds()).isEqualTo((60 + 25 + 60 + 20) * 60);
+        assertThat(window.maxSpeed()).isEqualTo(20.0);
+        assertThat(window.activityTypes()).containsExactly(
+                new ActivityRollup(ActivityType.RUNNING, 3, 18.0, (60 + 25 + 20) * 60, 12.0),
+                new ActivityRollup(ActivityType.CYCLING, 1, 20.0, 60 * 60, 20.0));
+    }
+
+    @Test
+    void shouldAnswerFromDailyBuckets_whenWindowIsShorterThanWeek() {
+        RollupWindow window = rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 9), LocalDate.of(2024, 1, 11));
+
+        assertThat(window.activityTypes()).containsExactly(new ActivityRollup(ActivityType.RUNNING, 1, 5.0, 25 * 60, 12.0));
+    }
+
+    @Test
+    void shouldRecomputeBuckets_whenTrainingChangesActivityType() {
+        TrainingDto change = new TrainingDto();
+        change.setActivityType(ActivityType.WALKING);
+        change.setAverageSpeed(6.0);
+
+        trainingService.updateTraining(wednesdayRun.getId(), change);
+
+        RollupWindow window = rollupService.getWindow(user.getId(), FROM, TO);
+        assertThat(window.trainings()).isEqualTo(4);
+        assertThat(window.activityTypes()).containsExactly(
+                new ActivityRollup(ActivityType.RUNNING, 2, 13.0, (60 + 20) * 60, 10.0),
+                new ActivityRollup(ActivityType.CYCLING, 1, 20.0, 60 * 60, 20.0),
+                new ActivityRollup(ActivityType.WALKING, 1, 5.0, 25 * 60, 6.0));
+    }
+
+    @Test
+    void shouldMatchIncrementalRollups_whenRebuildingFromTrainings() {
+        RollupWindow incremental = rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+
+        rollupService.rebuildAllRollups();
+
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)))
+                .isEqualTo(incremental);
+        assertThat(incremental.trainings()).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldCreateSingleBucket_whenFirstTrainingsOfBucketAreAddedConcurrently() throws Exception {
+        TrainingSnapshot morningSwim = TrainingSnapshot.of(training(LocalDateTime.of(2024, 1, 17, 7, 0), 30, ActivityType.SWIMMING, 1, 2));
+        TrainingSnapshot eveningSwim = TrainingSnapshot.of(training(LocalDateTime.of(2024, 1, 17, 19, 0), 45, ActivityType.SWIMMING, 2, 3));
+        CountDownLatch firstAdded = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                rollupService.add(List.of(morningSwim));
+                firstAdded.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            assertThat(firstAdded.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> rollupService.add(List.of(eveningSwim))));
+            // Daje drugiej transakcji czas, by natrafiła na niezatwierdzone kubełki pierwszej.
+            Thread.sleep(200);
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 17), LocalDate.of(2024, 1, 18)).activityTypes())
+                .contains(new ActivityRollup(ActivityType.SWIMMING, 2, 3.0, (30 + 45) * 60, 3.0));
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 22)).activityTypes())
+                .contains(new ActivityRollup(ActivityType.SWIMMING, 2, 3.0, (30 + 45) * 60, 3.0));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldKeepSingleBucket_whenBucketIsRecomputedConcurrently() throws Exception {
+        trainingService.createTraining(training(LocalDateTime.of(2024, 1, 10, 18, 0), 30, ActivityType.RUNNING, 4, 8));
+        List<RollupBucket> buckets = RollupBucket.of(TrainingSnapshot.of(wednesdayRun));
+        CountDownLatch firstRecomputed = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                rollupService.recompute(buckets);
+                firstRecomputed.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            assertThat(firstRecomputed.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> rollupService.recompute(buckets)));
+            // Daje drugiej transakcji czas, by natrafiła na niezatwierdzone kubełki pierwszej.
+            Thread.sleep(200);
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ActivityRollup wednesday = new ActivityRollup(ActivityType.RUNNING, 2, 9.0, (25 + 30) * 60, 12.0);
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 11)).activityTypes())
+                .containsExactly(wednesday);
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15)).activityTypes())
+                .containsExactly(new ActivityRollup(ActivityType.RUNNING, 3, 19.0, (60 + 25 + 30) * 60, 12.0));
+    }
+
+    @Test
+    void shouldDeleteBucket_whenLastTrainingLeavesIt() {
+        TrainingDto change = new TrainingDto();
+        change.setActivityType(ActivityType.WALKING);
+
+        trainingService.updateTraining(wednesdayRun.getId(), change);
+
+        assertThat(rollupService.getWindow(user.getId(), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 11)).activityTypes())
+                .extracting(ActivityRollup::activityType)
+                .containsExactly(ActivityType.WALKING);
+    }
+
+    @Test
+    void shouldRejectWindow_whenStartIsNotBeforeEnd() {
+        assertThatThrownBy(() -> rollupService.getWindow(user.getId(), TO, FROM))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private Training training(LocalDateTime startTime, int minutes, ActivityType activityType, double distance, double averageSpeed) {
+        ZoneId zone = ZoneId.systemDefault();
+        return new Training(user,
+                            startTime.atZone(zone).toInstant(),
+                            startTime.plusMinutes(minutes).atZone(zone).toInstant(),
+                            activityType,
+                            distance,
+                            averageSpeed);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
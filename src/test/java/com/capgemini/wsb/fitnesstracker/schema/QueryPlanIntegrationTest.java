@@ -0,0 +1,145 @@
+package com.capgemini.wsb.fitnesstracker.schema;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.SqlStatementRecorder;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.AggregationPeriod;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingAggregateCriteria;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sprawdza planem zapytania ({@code EXPLAIN}), że zapytania repozytoriów korzystają z indeksów
+ * zakładanych przez migracje bazy danych.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.capgemini.wsb.fitnesstracker.SqlStatementRecorder")
+class QueryPlanIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetRecorder() {
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void shouldLookUpTrainingsByUserIndex_whenFindingTrainingsOfUser() {
+        trainingRepository.findSummariesByUserId(1L);
+
+        // H2 zakłada dla klucza obcego własny indeks na user_id, więc planista może wybrać dowolny z nich
+        assertThat(explainLastStatement(1L)).containsPattern("/\\* PUBLIC\\.\\w+: USER_ID = \\?1 \\*/");
+    }
+
+    @Test
+    void shouldUseUserEndTimeIndex_whenSummarizingActivities() {
+        Instant from = Instant.EPOCH;
+        Instant to = Instant.now();
+        trainingRepository.summarizeActivities(List.of(1L, 2L), from, to);
+
+        assertThat(explainLastStatement(1L, 2L, from, to)).containsIgnoringCase("IX_TRAININGS_USER_END_TIME");
+    }
+
+    @Test
+    void shouldUseActivityEndTimeIndex_whenFindingTrainingsByActivityType() {
+        trainingRepository.findSummariesByActivityType(ActivityType.RUNNING);
+
+        assertThat(explainLastStatement(ActivityType.RUNNING.ordinal())).containsIgnoringCase("IX_TRAININGS_ACTIVITY_END_TIME");
+    }
+
+    @Test
+    void shouldUseEndTimeIndex_whenFindingTrainingsEndedAfterDate() {
+        Instant endDate = Instant.now();
+        trainingRepository.findSummariesByEndTimeAfter(endDate);
+
+        assertThat(explainLastStatement(endDate)).containsIgnoringCase("IX_TRAININGS_END_TIME");
+    }
+
+    @Test
+    void shouldUseUserEndTimeIndex_whenFindingTrainingsInRange() {
+        Instant from = Instant.EPOCH;
+        Instant to = Instant.now();
+        trainingRepository.findSummariesInRange(1L, from, to, Sort.by("endTime"), Limit.of(10));
+
+        assertThat(explainLastStatement(1L, from, to)).containsIgnoringCase("IX_TRAININGS_USER_END_TIME");
+    }
+
+    @Test
+    void shouldUseUserActivityEndTimeIndex_whenFindingTrainingsOfActivityTypeInRange() {
+        Instant from = Instant.EPOCH;
+        Instant to = Instant.now();
+        trainingRepository.findSummariesInRangeByActivityType(1L, ActivityType.RUNNING, from, to, Sort.by("endTime"), Limit.of(10));
+
+        assertThat(explainLastStatement(1L, ActivityType.RUNNING.ordinal(), from, to))
+                .containsIgnoringCase("IX_TRAININGS_USER_ACTIVITY_END_TIME");
+    }
+
+    @Test
+    void shouldUseUserEndTimeIndex_whenAggregatingTrainingsOfUserInRange() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 2, 1);
+        trainingRepository.aggregate(new TrainingAggregateCriteria(1L, null, from, to));
+
+        assertThat(explainLastStatement(1L, startOfDay(from), startOfDay(to)))
+                .containsIgnoringCase("IX_TRAININGS_USER_END_TIME");
+    }
+
+    @Test
+    void shouldUseActivityEndTimeIndex_whenAggregatingTrainingsOfActivityTypeByPeriod() {
+        trainingRepository.aggregateByPeriod(AggregationPeriod.WEEK,
+                                             new TrainingAggregateCriteria(null, ActivityType.RUNNING, null, null));
+
+        assertThat(explainLastStatement(ActivityType.RUNNING.ordinal())).containsIgnoringCase("IX_TRAININGS_ACTIVITY_END_TIME");
+    }
+
+    @Test
+    void shouldUseBirthdateIndex_whenFindingUsersOlderThanDate() {
+        LocalDate date = LocalDate.of(1950, 1, 1);
+        userRepository.findAllUsersOlderThen(date);
+
+        assertThat(explainLastStatement(date)).containsIgnoringCase("IX_USERS_BIRTHDATE");
+    }
+
+    @Test
+    void shouldUseNormalizedEmailIndex_whenFindingUserByEmail() {
+        userRepository.findByNormalizedEmail(User.normalizeEmail("john@domain.com"));
+
+        assertThat(explainLastStatement("john@domain.com")).containsIgnoringCase(User.EMAIL_NORMALIZED_CONSTRAINT);
+    }
+
+    private static Instant startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    private String explainLastStatement(Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + SqlStatementRecorder.lastStatement(), String.class, parameters);
+        assertThat(plan).isNotNull();
+        return plan;
+    }
+}
@@ -0,0 +1,241 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CalorieModel;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class StatisticsIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private StatisticsServiceImpl statisticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldAccumulateStatistics_whenCreatingTrainings() throws Exception {
+        User user = existingUser(generateUser());
+
+        trainingProvider.createTraining(generateTraining(user, 10.0));
+        trainingProvider.createTraining(generateTraining(user, 2.5));
+
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user.getId()))
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(12.5));
+    }
+
+    @Test
+    void shouldApplyDistanceDelta_whenUpdatingTraining() {
+        User user = existingUser(generateUser());
+        Training training = trainingProvider.createTraining(generateTraining(user, 10.0));
+
+        TrainingDto update = new TrainingDto();
+        update.setDistance(4.0);
+        trainingProvider.updateTraining(training.getId(), update);
+
+        assertThat(statisticsOf(user).getTotalTrainings()).isEqualTo(1);
+        assertThat(statisticsOf(user).getTotalDistance()).isEqualTo(4.0);
+    }
+
+    @Test
+    void shouldMoveTrainingBetweenUsers_whenUpdatingTrainingOwner() {
+        User oldOwner = existingUser(generateUser());
+        User newOwner = existingUser(generateUser());
+        Training training = trainingProvider.createTraining(generateTraining(oldOwner, 7.0));
+
+        TrainingDto update = new TrainingDto();
+        update.setUser(newOwner);
+        trainingProvider.updateTraining(training.getId(), update);
+
+        assertThat(statisticsOf(oldOwner).getTotalTrainings()).isZero();
+        assertThat(statisticsOf(oldOwner).getTotalDistance()).isZero();
+        assertThat(statisticsOf(newOwner).getTotalTrainings()).isEqualTo(1);
+        assertThat(statisticsOf(newOwner).getTotalDistance()).isEqualTo(7.0);
+    }
+
+    @Test
+    void shouldRebuildStatistics_whenTrainingsWereWrittenWithoutEngine() {
+        User user = existingUser(generateUser());
+        persistTraining(generateTraining(user, 3.0));
+        persistTraining(generateTraining(user, 4.0));
+        flushAndClear();
+
+        assertThat(statisticsService.findInconsistentUsers(10)).containsExactly(user.getId());
+
+        StatisticsRebuildResult result = statisticsService.rebuildAll();
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(statisticsOf(user).getTotalTrainings()).isEqualTo(2);
+        assertThat(statisticsOf(user).getTotalDistance()).isEqualTo(7.0);
+        assertThat(statisticsService.findInconsistentUsers(10)).isEmpty();
+    }
+
+    @Test
+    void shouldAccumulateCalories_whenCreatingAndUpdatingTrainings() {
+        User user = existingUser(generateAdult());
+        Training run = trainingProvider.createTraining(generateHourLongTraining(user, ActivityType.RUNNING, 10.0));
+        Training ride = trainingProvider.createTraining(generateHourLongTraining(user, ActivityType.CYCLING, 25.0));
+
+        assertThat(run.getCalories()).isPositive();
+        assertThat(statisticsOf(user).getTotalCaloriesBurned()).isEqualTo(run.getCalories() + ride.getCalories());
+
+        TrainingDto update = new TrainingDto();
+        update.setActivityType(ActivityType.WALKING);
+        update.setDistance(5.0);
+        update.setAverageSpeed(5.0);
+        Training walk = trainingProvider.updateTraining(run.getId(), update);
+
+        assertThat(walk.getCalories()).isLessThan(run.getCalories());
+        assertThat(statisticsOf(user).getTotalCaloriesBurned()).isEqualTo(walk.getCalories() + ride.getCalories());
+    }
+
+    @Test
+    void shouldBackfillCalories_whenTrainingsWereWrittenWithoutEstimate() throws Exception {
+        User user = existingUser(generateAdult());
+        Training run = persistTraining(generateHourLongTraining(user, ActivityType.RUNNING, 10.0));
+        Training swim = persistTraining(generateHourLongTraining(user, ActivityType.SWIMMING, 2.0));
+        flushAndClear();
+        statisticsService.rebuildAll();
+
+        mockMvc.perform(post("/v1/trainings/calories/backfill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        int expected = CalorieModel.estimate(run) + CalorieModel.estimate(swim);
+        assertThat(expected).isPositive();
+        assertThat(statisticsOf(user).getTotalCaloriesBurned()).isEqualTo(expected);
+        assertThat(statisticsService.findInconsistentUsers(10)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldCreateSingleAggregate_whenFirstTrainingsOfUserAreConcurrent() throws Exception {
+        User user = existingUser(generateUser());
+        CountDownLatch firstApplied = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                statisticsService.applyDelta(user.getId(), 1, 10.0, 100);
+                firstApplied.countDown();
+                awaitUninterruptibly(commitFirst);
+            }));
+            assertThat(firstApplied.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> statisticsService.applyDelta(user.getId(), 1, 2.5, 50)));
+            // Daje drugiej transakcji czas, by natrafiła na niezatwierdzony wiersz pierwszej.
+            Thread.sleep(200);
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Statistics statistics = statisticsService.getStatisticsForUser(user.getId()).orElseThrow();
+        assertThat(statistics.getTotalTrainings()).isEqualTo(2);
+        assertThat(statistics.getTotalDistance()).isEqualTo(12.5);
+        assertThat(statistics.getTotalCaloriesBurned()).isEqualTo(150);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldNotCountCaloriesTwice_whenTrainingIsUpdatedDuringBackfill() throws Exception {
+        User user = existingUser(generateAdult());
+        Training run = persistTraining(generateHourLongTraining(user, ActivityType.RUNNING, 10.0));
+        statisticsService.rebuildAll();
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commitUpdate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Training> update = executor.submit(() -> transactionTemplate.execute(status -> {
+                TrainingDto change = new TrainingDto();
+                change.setDistance(12.0);
+                Training changed = trainingProvider.updateTraining(run.getId(), change);
+                updated.countDown();
+                awaitUninterruptibly(commitUpdate);
+                return changed;
+            }));
+            assertThat(updated.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> backfill = executor.submit(() -> mockMvc.perform(post("/v1/trainings/calories/backfill"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(0)));
+            // Daje uzupełnianiu czas, by odczytało sesję bez szacunku i czekało na blokadę jej wiersza.
+            Thread.sleep(200);
+            commitUpdate.countDown();
+            Training changed = update.get(10, TimeUnit.SECONDS);
+            backfill.get(10, TimeUnit.SECONDS);
+
+            assertThat(changed.getCalories()).isPositive();
+            assertThat(statisticsService.getStatisticsForUser(user.getId()).orElseThrow().getTotalCaloriesBurned())
+                    .isEqualTo(changed.getCalories());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Statistics statisticsOf(User user) {
+        flushAndClear();
+        return statisticsService.getStatisticsForUser(user.getId()).orElseThrow();
+    }
+
+    private static User generateAdult() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.of(1990, 1, 1), randomUUID().toString());
+    }
+
+    private static Training generateHourLongTraining(User user, ActivityType activityType, double distance) {
+        Instant start = Instant.parse("2024-03-01T10:00:00Z");
+        return new Training(user, start, start.plusSeconds(3_600), activityType, distance, distance);
+    }
+
+    private static Training generateTraining(User user, double distance) {
+        return new Training(user, Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(2_000L), ActivityType.RUNNING, distance, 10.0);
+    }
+}
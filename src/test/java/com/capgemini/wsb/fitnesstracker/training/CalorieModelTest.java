@@ -0,0 +1,64 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.CalorieModel;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalorieModelTest {
+
+    private static final long HOUR = 3_600;
+
+    @Test
+    void shouldScaleWithDuration_whenIntensityIsTheSame() {
+        assertThat(CalorieModel.estimate(ActivityType.RUNNING, HOUR, 10.0, 10.0, 30)).isEqualTo(648);
+        assertThat(CalorieModel.estimate(ActivityType.RUNNING, 2 * HOUR, 20.0, 10.0, 30)).isEqualTo(1297);
+    }
+
+    @Test
+    void shouldUseSpeedBands_whenEstimatingActivity() {
+        int slowRide = CalorieModel.estimate(ActivityType.CYCLING, HOUR, 15.0, 15.0, 30);
+        int fastRide = CalorieModel.estimate(ActivityType.CYCLING, HOUR, 30.0, 30.0, 30);
+
+        assertThat(slowRide).isEqualTo(265);
+        assertThat(fastRide).isEqualTo(794);
+        assertThat(CalorieModel.estimate(ActivityType.TENNIS, HOUR, 0.0, 0.0, 30))
+                .isEqualTo(CalorieModel.estimate(ActivityType.TENNIS, HOUR, 0.0, 50.0, 30));
+    }
+
+    @Test
+    void shouldBurnLess_whenUserIsOlder() {
+        assertThat(CalorieModel.estimate(ActivityType.RUNNING, HOUR, 10.0, 10.0, 60)).isEqualTo(578);
+    }
+
+    @Test
+    void shouldDeriveSpeedFromDistance_whenAverageSpeedIsUnknown() {
+        assertThat(CalorieModel.estimate(ActivityType.RUNNING, HOUR, 10.0, 0.0, 30))
+                .isEqualTo(CalorieModel.estimate(ActivityType.RUNNING, HOUR, 10.0, 10.0, 30));
+    }
+
+    @Test
+    void shouldReturnZero_whenDurationIsNotPositive() {
+        assertThat(CalorieModel.estimate(ActivityType.WALKING, 0, 5.0, 5.0, 30)).isZero();
+        assertThat(CalorieModel.estimate(ActivityType.WALKING, -HOUR, 5.0, 5.0, 30)).isZero();
+    }
+
+    @Test
+    void shouldUseUserAgeOnTrainingDay_whenEstimatingTraining() {
+        User user = new User("Jan", "Nowak", LocalDate.of(1964, 3, 2), "jan.nowak@domain.com");
+        Instant start = Instant.parse("2024-03-01T10:00:00Z");
+        Training training = new Training(user, start, start.plusSeconds(HOUR), ActivityType.RUNNING, 10.0, 10.0);
+
+        assertThat(CalorieModel.estimate(training)).isEqualTo(CalorieModel.estimate(ActivityType.RUNNING, HOUR, 10.0, 10.0, 59));
+        assertThat(CalorieModel.ageInYears(LocalDate.of(1990, 3, 1).toEpochDay(), LocalDate.of(2024, 2, 28).toEpochDay()))
+                .isEqualTo(33);
+        assertThat(CalorieModel.ageInYears(LocalDate.of(1990, 3, 1).toEpochDay(), LocalDate.of(2024, 3, 1).toEpochDay()))
+                .isEqualTo(34);
+    }
+}
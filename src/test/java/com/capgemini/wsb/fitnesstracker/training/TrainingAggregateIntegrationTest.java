@@ -0,0 +1,171 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingAggregateIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User emma;
+    private User ethan;
+
+    @BeforeEach
+    void createTrainings() {
+        emma = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 5, 1), "emma.johnson@domain.com"));
+        ethan = existingUser(new User("Ethan", "Taylor", LocalDate.of(1973, 2, 11), "ethan.taylor@domain.com"));
+        persistTraining(training(emma, LocalDateTime.of(2024, 1, 15, 9, 0), ActivityType.RUNNING, 10, 10));
+        persistTraining(training(emma, LocalDateTime.of(2024, 1, 17, 18, 0), ActivityType.RUNNING, 5, 8));
+        persistTraining(training(emma, LocalDateTime.of(2024, 2, 3, 12, 0), ActivityType.CYCLING, 20, 20));
+        persistTraining(training(ethan, LocalDateTime.of(2024, 1, 15, 10, 0), ActivityType.WALKING, 4, 5));
+    }
+
+    /**
+     * Testuje agregat wszystkich sesji treningowych oraz zawężanie go kryteriami.
+     */
+    @Test
+    void shouldReturnTotals_whenGettingAggregate() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(4))
+                .andExpect(jsonPath("$.totalDistance").value(39.0))
+                .andExpect(jsonPath("$.averageDistance").value(9.75))
+                .andExpect(jsonPath("$.averageSpeed").value(10.75));
+
+        mockMvc.perform(get("/v1/trainings/aggregates")
+                                .param("userId", emma.getId().toString())
+                                .param("activityType", "RUNNING")
+                                .param("from", "2024-01-01")
+                                .param("to", "2024-02-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(15.0))
+                .andExpect(jsonPath("$.averageDistance").value(7.5))
+                .andExpect(jsonPath("$.averageSpeed").value(9.0));
+    }
+
+    /**
+     * Testuje agregat, gdy żadna sesja treningowa nie spełnia kryteriów.
+     */
+    @Test
+    void shouldReturnZeroes_whenNoTrainingMatches() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates").param("from", "2030-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trainings").value(0))
+                .andExpect(jsonPath("$.totalDistance").value(0.0))
+                .andExpect(jsonPath("$.averageDistance").value(0.0));
+    }
+
+    /**
+     * Testuje agregaty według typu aktywności.
+     */
+    @Test
+    void shouldGroupByActivityType_whenGettingAggregatesByActivityType() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates/by-activity-type"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$[0].trainings").value(2))
+                .andExpect(jsonPath("$[0].totalDistance").value(15.0))
+                .andExpect(jsonPath("$[1].activityType").value("CYCLING"))
+                .andExpect(jsonPath("$[1].averageSpeed").value(20.0))
+                .andExpect(jsonPath("$[2].activityType").value("WALKING"))
+                .andExpect(jsonPath("$[2].trainings").value(1));
+    }
+
+    /**
+     * Testuje stronicowanie agregatów według użytkownika.
+     */
+    @Test
+    void shouldReturnUserAggregatesPageByPage_whenGettingAggregatesByUser() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates/by-user").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(emma.getId()))
+                .andExpect(jsonPath("$[0].trainings").value(3))
+                .andExpect(jsonPath("$[0].totalDistance").value(35.0));
+
+        mockMvc.perform(get("/v1/trainings/aggregates/by-user")
+                                .param("afterUserId", emma.getId().toString())
+                                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].userId").value(ethan.getId()))
+                .andExpect(jsonPath("$[0].trainings").value(1));
+    }
+
+    /**
+     * Testuje agregaty według tygodnia i miesiąca zakończenia sesji treningowych.
+     */
+    @Test
+    void shouldGroupByPeriod_whenGettingAggregatesByPeriod() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates/by-period").param("period", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].periodStart").value(format(LocalDate.of(2024, 1, 15))))
+                .andExpect(jsonPath("$[0].trainings").value(3))
+                .andExpect(jsonPath("$[1].periodStart").value(format(LocalDate.of(2024, 1, 29))))
+                .andExpect(jsonPath("$[1].trainings").value(1));
+
+        mockMvc.perform(get("/v1/trainings/aggregates/by-period")
+                                .param("period", "MONTH")
+                                .param("userId", emma.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].periodStart").value(format(LocalDate.of(2024, 1, 1))))
+                .andExpect(jsonPath("$[0].totalDistance").value(15.0))
+                .andExpect(jsonPath("$[1].periodStart").value(format(LocalDate.of(2024, 2, 1))))
+                .andExpect(jsonPath("$[1].totalDistance").value(20.0));
+
+        mockMvc.perform(get("/v1/trainings/aggregates/by-period").param("period", "DAY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].periodStart").value(format(LocalDate.of(2024, 1, 15))))
+                .andExpect(jsonPath("$[0].trainings").value(2));
+    }
+
+    /**
+     * Testuje odrzucenie okresu, którego początek nie poprzedza końca.
+     */
+    @Test
+    void shouldReturnBadRequest_whenRangeIsEmpty() throws Exception {
+        mockMvc.perform(get("/v1/trainings/aggregates").param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Training training(User user, LocalDateTime endTime, ActivityType activityType, double distance, double averageSpeed) {
+        Instant end = endTime.atZone(ZoneId.systemDefault()).toInstant();
+        return new Training(user, end.minusSeconds(3_600), end, activityType, distance, averageSpeed);
+    }
+
+    private static String format(LocalDate date) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS+00:00");
+        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return sdf.format(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+}
@@ -8,17 +8,21 @@ import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Date;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -48,13 +52,55 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].user.firstName").value(user1.getFirstName()))
                 .andExpect(jsonPath("$[0].user.lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$[0].user.email").value(user1.getEmail()))
-                .andExpect(jsonPath("$[0].startTime").value(sdf.format(training1.getStartTime())))
-                .andExpect(jsonPath("$[0].endTime").value(sdf.format(training1.getEndTime())))
+                .andExpect(jsonPath("$[0].startTime").value(sdf.format(Date.from(training1.getStartTime()))))
+                .andExpect(jsonPath("$[0].endTime").value(sdf.format(Date.from(training1.getEndTime()))))
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
                 .andExpect(jsonPath("$[1]").doesNotExist());
     }
 
+    /**
+     * Testuje stronicowanie sesji treningowych z użyciem kursora.
+     */
+    @Test
+    void shouldReturnTrainingsPageByPage_whenFollowingCursor() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTraining(user1));
+        Training training2 = persistTraining(generateTraining(user1));
+        Training training3 = persistTraining(generateTraining(user1));
+
+        MvcResult firstPage = mockMvc.perform(get("/v1/trainings").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(training1.getId()))
+                .andExpect(jsonPath("$[1].id").value(training2.getId()))
+                .andExpect(jsonPath("$[2]").doesNotExist())
+                .andReturn();
+
+        mockMvc.perform(get("/v1/trainings")
+                        .param("limit", "2")
+                        .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(training3.getId()))
+                .andExpect(jsonPath("$[1]").doesNotExist());
+    }
+
+    /**
+     * Testuje odrzucenie nieprawidłowego kursora.
+     */
+    @Test
+    void shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+
+        mockMvc.perform(get("/v1/trainings").param("cursor", "???").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Testuje zwracanie wszystkich sesji treningowych dla danego użytkownika.
      */
@@ -73,8 +119,8 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].user.firstName").value(user1.getFirstName()))
                 .andExpect(jsonPath("$[0].user.lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$[0].user.email").value(user1.getEmail()))
-                .andExpect(jsonPath("$[0].startTime").value(sdf.format(training1.getStartTime())))
-                .andExpect(jsonPath("$[0].endTime").value(sdf.format(training1.getEndTime())))
+                .andExpect(jsonPath("$[0].startTime").value(sdf.format(Date.from(training1.getStartTime()))))
+                .andExpect(jsonPath("$[0].endTime").value(sdf.format(Date.from(training1.getEndTime()))))
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
                 .andExpect(jsonPath("$[1]").doesNotExist());
@@ -100,8 +146,8 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].user.firstName").value(user1.getFirstName()))
                 .andExpect(jsonPath("$[0].user.lastName").value(user1.getLastName()))
                 .andExpect(jsonPath("$[0].user.email").value(user1.getEmail()))
-                .andExpect(jsonPath("$[0].startTime").value(sdf.format(training1.getStartTime())))
-                .andExpect(jsonPath("$[0].endTime").value(sdf.format(training1.getEndTime())))
+                .andExpect(jsonPath("$[0].startTime").value(sdf.format(Date.from(training1.getStartTime()))))
+                .andExpect(jsonPath("$[0].endTime").value(sdf.format(Date.from(training1.getEndTime()))))
                 .andExpect(jsonPath("$[0].distance").value((training1.getDistance())))
                 .andExpect(jsonPath("$[0].averageSpeed").value(training1.getAverageSpeed()))
                 .andExpect(jsonPath("$[1]").doesNotExist());
@@ -164,6 +210,31 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.averageSpeed").value(8.2));
     }
 
+    /**
+     * Testuje tworzenie sesji treningowej ze znacznikami czasu w formatach akceptowanych dotychczas dla {@code Date}.
+     */
+    @Test
+    void shouldAcceptLegacyTimestampFormats_whenCreatingNewTraining() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        String requestBody = """
+                {
+                    "userId": "%s",
+                    "startTime": 1711965600000,
+                    "endTime": "2024-04-01T12:30:00.250+0200",
+                    "activityType": "RUNNING",
+                    "distance": 5.0,
+                    "averageSpeed": 10.0
+                }
+                """.formatted(user1.getId());
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.startTime").value("2024-04-01T10:00:00.000+00:00"))
+                .andExpect(jsonPath("$.endTime").value("2024-04-01T10:30:00.250+00:00"));
+    }
+
     /**
      * Testuje aktualizację istniejącej sesji treningowej.
      */
@@ -194,6 +265,106 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.averageSpeed").value(0.0));
     }
 
+    /**
+     * Testuje odrzucenie aktualizacji opartej na nieaktualnej wersji sesji treningowej.
+     */
+    @Test
+    void shouldRejectUpdate_whenIfMatchHoldsOutdatedVersion() throws Exception {
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.RUNNING));
+        flushAndClear();
+        String requestBody = """
+                {
+                "distance": 5.0
+                }
+                """;
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.distance").value(5.0));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Testuje pobranie sesji treningowej z wersją, na podstawie której można wykonać aktualizację warunkową.
+     */
+    @Test
+    void shouldReturnTrainingWithVersion_whenGettingTrainingById() throws Exception {
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.RUNNING));
+        flushAndClear();
+
+        mockMvc.perform(get("/v1/trainings/by-id/{trainingId}", training1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.id").value(training1.getId()))
+                .andExpect(jsonPath("$.user.id").value(user1.getId()));
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training1.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON).content("{\"distance\": 5.0}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/trainings/by-id/{trainingId}", training1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.distance").value(5.0));
+
+        mockMvc.perform(get("/v1/trainings/by-id/{trainingId}", training1.getId() + 1_000))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Testuje zwracanie sesji treningowych użytkownika z ograniczonego okresu.
+     */
+    @Test
+    void shouldReturnUserTrainingsWithinRange_whenGettingTrainingsInRange() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        persistTraining(generateTrainingWithDetails(user1, "2024-01-14 10:00:00", "2024-01-14 11:00:00", ActivityType.RUNNING, 5, 10));
+        Training training2 = persistTraining(generateTrainingWithDetails(user1, "2024-01-15 10:00:00", "2024-01-15 11:00:00", ActivityType.RUNNING, 6, 10));
+        Training training3 = persistTraining(generateTrainingWithDetails(user1, "2024-01-17 10:00:00", "2024-01-17 11:00:00", ActivityType.CYCLING, 20, 25));
+        Training training4 = persistTraining(generateTrainingWithDetails(user1, "2024-01-21 10:00:00", "2024-01-21 11:00:00", ActivityType.RUNNING, 7, 10));
+        persistTraining(generateTrainingWithDetails(user1, "2024-01-22 10:00:00", "2024-01-22 11:00:00", ActivityType.RUNNING, 8, 10));
+        persistTraining(generateTrainingWithDetails(user2, "2024-01-16 10:00:00", "2024-01-16 11:00:00", ActivityType.RUNNING, 9, 10));
+
+        mockMvc.perform(get("/v1/trainings/range").param("userId", user1.getId().toString())
+                                .param("from", "2024-01-15").param("to", "2024-01-22"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(training2.getId()))
+                .andExpect(jsonPath("$[1].id").value(training3.getId()))
+                .andExpect(jsonPath("$[2].id").value(training4.getId()))
+                .andExpect(jsonPath("$[3]").doesNotExist());
+
+        mockMvc.perform(get("/v1/trainings/range").param("userId", user1.getId().toString())
+                                .param("from", "2024-01-15").param("to", "2024-01-22")
+                                .param("activityType", "RUNNING").param("sort", "DESC").param("limit", "1"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(training4.getId()))
+                .andExpect(jsonPath("$[1]").doesNotExist());
+    }
+
+    /**
+     * Testuje odrzucenie okresu, którego początek nie jest wcześniejszy niż koniec.
+     */
+    @Test
+    void shouldReturnBadRequest_whenGettingTrainingsInInvertedRange() throws Exception {
+
+        User user1 = existingUser(generateClient());
+
+        mockMvc.perform(get("/v1/trainings/range").param("userId", user1.getId().toString())
+                                .param("from", "2024-01-22").param("to", "2024-01-15"))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Generuje użytkownika dla testów.
      *
@@ -215,8 +386,8 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
         return new Training(
                 user,
-                sdf.parse("2024-01-19 08:00:00"),
-                sdf.parse("2024-01-19 09:30:00"),
+                sdf.parse("2024-01-19 08:00:00").toInstant(),
+                sdf.parse("2024-01-19 09:30:00").toInstant(),
                 ActivityType.RUNNING,
                 10.5,
                 8.2);
@@ -235,8 +406,8 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
         return new Training(
                 user,
-                sdf.parse("2024-01-19 08:00:00"),
-                sdf.parse("2024-01-19 09:30:00"),
+                sdf.parse("2024-01-19 08:00:00").toInstant(),
+                sdf.parse("2024-01-19 09:30:00").toInstant(),
                 activityType,
                 0, 0);
     }
@@ -258,8 +429,8 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
 
         return new Training(
                 user,
-                sdf.parse(startTime),
-                sdf.parse(endTime),
+                sdf.parse(startTime).toInstant(),
+                sdf.parse(endTime).toInstant(),
                 activityType,
                 distance,
                 averageSpeed);
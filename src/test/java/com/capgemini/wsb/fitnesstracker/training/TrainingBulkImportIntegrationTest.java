@@ -0,0 +1,200 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingsImportedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingBulkImportIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Testuje import tablicy JSON z poprawnymi i niepoprawnymi sesjami treningowymi.
+     */
+    @Test
+    void shouldPersistValidTrainingsAndReportRejected_whenImportingJsonArray() throws Exception {
+        User user = existingUser(generateClient());
+
+        String requestBody = """
+                [
+                    %s,
+                    %s,
+                    %s,
+                    %s
+                ]
+                """.formatted(training(user.getId(), "2024-04-01T10:00:00", "2024-04-01T11:00:00", 10.0),
+                              training(-1L, "2024-04-01T10:00:00", "2024-04-01T11:00:00", 5.0),
+                              training(user.getId(), "2024-04-01T12:00:00", "2024-04-01T11:00:00", 5.0),
+                              training(user.getId(), "2024-04-02T10:00:00", "2024-04-02T11:00:00", 2.5));
+
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results", hasSize(4)))
+                .andExpect(jsonPath("$.results[0].trainingId").isNumber())
+                .andExpect(jsonPath("$.results[0].error").value(nullValue()))
+                .andExpect(jsonPath("$.results[1].trainingId").value(nullValue()))
+                .andExpect(jsonPath("$.results[1].error").value("Użytkownik -1 nie istnieje."))
+                .andExpect(jsonPath("$.results[2].error").value("Czas zakończenia jest wcześniejszy niż czas rozpoczęcia."))
+                .andExpect(jsonPath("$.results[3].index").value(3))
+                .andExpect(jsonPath("$.results[3].trainingId").isNumber())
+                .andExpect(jsonPath("$.chunks", hasSize(1)))
+                .andExpect(jsonPath("$.chunks[0].created").value(2))
+                .andExpect(jsonPath("$.chunks[0].error").value(nullValue()));
+
+        assertThat(getAllTrainings()).hasSize(2);
+        mockMvc.perform(get("/v1/statistics/user/{userId}", user.getId()))
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(12.5));
+    }
+
+    /**
+     * Testuje import strumienia NDJSON, w którym jedna z linii nie jest poprawnym JSON-em.
+     */
+    @Test
+    void shouldContinueAfterMalformedLine_whenImportingNdjson() throws Exception {
+        User user = existingUser(generateClient());
+
+        String requestBody = String.join("\n",
+                                         training(user.getId(), "2024-04-01T10:00:00", "2024-04-01T11:00:00", 3.0).replace("\n", ""),
+                                         "{\"userId\": ",
+                                         "",
+                                         training(user.getId(), "2024-04-02T10:00:00", "2024-04-02T11:00:00", 4.0).replace("\n", ""));
+
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_NDJSON).content(requestBody))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error").value(startsWith("Nieprawidłowy JSON")))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].trainingId").isNumber());
+
+        assertThat(getAllTrainings()).hasSize(2);
+    }
+
+    /**
+     * Testuje podział importu na porcje zapisywane w osobnych transakcjach.
+     */
+    @Test
+    void shouldReportEveryChunk_whenImportExceedsChunkSize() throws Exception {
+        User user = existingUser(generateClient());
+        int count = 501;
+        StringBuilder requestBody = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            requestBody.append(training(user.getId(), "2024-04-01T10:00:00", "2024-04-01T11:00:00", 1.0).replace("\n", ""))
+                    .append('\n');
+        }
+
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_NDJSON).content(requestBody.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(count))
+                .andExpect(jsonPath("$.chunks", hasSize(2)))
+                .andExpect(jsonPath("$.chunks[0].firstIndex").value(0))
+                .andExpect(jsonPath("$.chunks[0].lastIndex").value(499))
+                .andExpect(jsonPath("$.chunks[0].created").value(500))
+                .andExpect(jsonPath("$.chunks[1].chunk").value(1))
+                .andExpect(jsonPath("$.chunks[1].firstIndex").value(500))
+                .andExpect(jsonPath("$.chunks[1].created").value(1));
+
+        assertThat(getAllTrainings()).hasSize(count);
+    }
+
+    /**
+     * Testuje odrzucenie porcji, której zapis przerwał wyjątek słuchacza zdarzenia importu, i kontynuację importu.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldRejectOnlyFailedChunk_whenListenerThrows() throws Exception {
+        User user = existingUser(generateClient());
+        int count = 501;
+        StringBuilder requestBody = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double distance = i == 0 ? FailingImportListener.FAILING_DISTANCE : 1.0;
+            requestBody.append(training(user.getId(), "2024-04-01T10:00:00", "2024-04-01T11:00:00", distance).replace("\n", ""))
+                    .append('\n');
+        }
+
+        mockMvc.perform(post("/v1/trainings/bulk").contentType(MediaType.APPLICATION_NDJSON).content(requestBody.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(500))
+                .andExpect(jsonPath("$.results", hasSize(count)))
+                .andExpect(jsonPath("$.results[0].error").value(startsWith("Porcja nie została zapisana")))
+                .andExpect(jsonPath("$.chunks[0].created").value(0))
+                .andExpect(jsonPath("$.chunks[0].error").value(startsWith("Porcja nie została zapisana")))
+                .andExpect(jsonPath("$.chunks[1].created").value(1));
+
+        assertThat(getAllTrainings()).hasSize(1);
+    }
+
+    private static String training(Long userId, String startTime, String endTime, double distance) {
+        return """
+                {
+                    "userId": %d,
+                    "startTime": "%s",
+                    "endTime": "%s",
+                    "activityType": "RUNNING",
+                    "distance": %s,
+                    "averageSpeed": 8.0
+                }""".formatted(userId, startTime, endTime, distance);
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    @TestConfiguration
+    static class FailingImportListenerConfig {
+
+        @Bean
+        FailingImportListener failingImportListener() {
+            return new FailingImportListener();
+        }
+    }
+
+    /**
+     * Słuchacz zgłaszający wyjątek spoza warstwy dostępu do danych dla porcji zawierającej oznaczoną sesję treningową.
+     */
+    static class FailingImportListener {
+
+        static final double FAILING_DISTANCE = 13.13;
+
+        @EventListener
+        void onTrainingsImported(TrainingsImportedEvent event) {
+            if (event.trainings().stream().anyMatch(training -> training.distance() == FAILING_DISTANCE)) {
+                throw new IllegalStateException("Słuchacz importu nie obsłużył porcji");
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.capgemini.wsb.fitnesstracker.training.internal.*;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
 import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,8 +17,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,22 +50,35 @@ public class TrainingControllerTest {
     }
 
     /**
-     * Testuje metodę getAllTrainings().
+     * Testuje metodę getAllTrainings(String cursor, int limit).
      */
     @Test
     void testGetAllTrainings() {
-        Training training = new Training();
-        TrainingDto trainingDto = new TrainingDto();
+        TrainingSummaryDto summary = summary();
 
-        when(trainingService.getAllTrainings()).thenReturn(List.of(training));
-        when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
+        when(trainingService.getTrainingsPage(null, 100)).thenReturn(new TrainingPage(List.of(summary), "next"));
 
-        List<TrainingDto> result = trainingController.getAllTrainings();
+        ResponseEntity<List<TrainingSummaryDto>> result = trainingController.getAllTrainings(null, 100);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(trainingService, times(1)).getAllTrainings();
-        verify(trainingMapper, times(1)).toTrainingDto(training);
+        assertNotNull(result.getBody());
+        assertEquals(List.of(summary), result.getBody());
+        assertEquals("next", result.getHeaders().getFirst("X-Next-Cursor"));
+        verify(trainingService, times(1)).getTrainingsPage(null, 100);
+        verifyNoInteractions(trainingMapper);
+    }
+
+    /**
+     * Testuje, że ostatnia strona nie zawiera nagłówka z kursorem.
+     */
+    @Test
+    void testGetAllTrainingsLastPage() {
+        when(trainingService.getTrainingsPage("cursor", 10)).thenReturn(new TrainingPage(List.of(), null));
+
+        ResponseEntity<List<TrainingSummaryDto>> result = trainingController.getAllTrainings("cursor", 10);
+
+        assertNotNull(result.getBody());
+        assertTrue(result.getBody().isEmpty());
+        assertFalse(result.getHeaders().containsKey("X-Next-Cursor"));
     }
 
     /**
@@ -71,18 +87,15 @@ public class TrainingControllerTest {
     @Test
     void testGetTrainingsByUserId() {
         Long userId = 1L;
-        Training training = new Training();
-        TrainingDto trainingDto = new TrainingDto();
+        TrainingSummaryDto summary = summary();
 
-        when(trainingService.getTrainingsByUserId(userId)).thenReturn(List.of(training));
-        when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
+        when(trainingService.getTrainingSummariesByUserId(userId)).thenReturn(List.of(summary));
 
-        List<TrainingDto> result = trainingController.getTrainingsByUserId(userId);
+        List<TrainingSummaryDto> result = trainingController.getTrainingsByUserId(userId);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(trainingService, times(1)).getTrainingsByUserId(userId);
-        verify(trainingMapper, times(1)).toTrainingDto(training);
+        verify(trainingService, times(1)).getTrainingSummariesByUserId(userId);
     }
 
     /**
@@ -90,19 +103,17 @@ public class TrainingControllerTest {
      */
     @Test
     void testGetTrainingsByEndDateAfter() {
-        Date date = new Date();
-        Training training = new Training();
-        TrainingDto trainingDto = new TrainingDto();
+        LocalDate date = LocalDate.of(2024, 1, 15);
+        Instant startOfDay = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        TrainingSummaryDto summary = summary();
 
-        when(trainingService.getTrainingsByEndDateAfter(date)).thenReturn(List.of(training));
-        when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
+        when(trainingService.getTrainingSummariesByEndDateAfter(startOfDay)).thenReturn(List.of(summary));
 
-        List<TrainingDto> result = trainingController.getTrainingsByEndDateAfter(date);
+        List<TrainingSummaryDto> result = trainingController.getTrainingsByEndDateAfter(date);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(trainingService, times(1)).getTrainingsByEndDateAfter(date);
-        verify(trainingMapper, times(1)).toTrainingDto(training);
+        verify(trainingService, times(1)).getTrainingSummariesByEndDateAfter(startOfDay);
     }
 
     /**
@@ -111,18 +122,15 @@ public class TrainingControllerTest {
     @Test
     void testGetTrainingsByActivityType() {
         ActivityType activityType = ActivityType.RUNNING;
-        Training training = new Training();
-        TrainingDto trainingDto = new TrainingDto();
+        TrainingSummaryDto summary = summary();
 
-        when(trainingService.getTrainingsByActivityType(activityType)).thenReturn(List.of(training));
-        when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
+        when(trainingService.getTrainingSummariesByActivityType(activityType)).thenReturn(List.of(summary));
 
-        List<TrainingDto> result = trainingController.getTrainingsByActivityType(activityType);
+        List<TrainingSummaryDto> result = trainingController.getTrainingsByActivityType(activityType);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(trainingService, times(1)).getTrainingsByActivityType(activityType);
-        verify(trainingMapper, times(1)).toTrainingDto(training);
+        verify(trainingService, times(1)).getTrainingSummariesByActivityType(activityType);
     }
 
     /**
@@ -133,13 +141,16 @@ public class TrainingControllerTest {
         TrainingSupportDto trainingSupportDto = new TrainingSupportDto();
         trainingSupportDto.setUserId(1L);
         TrainingDto trainingDto = new TrainingDto();
-        User user = new User();
+        LocalDate birthdate = LocalDate.of(1990, 1, 1);
+        UserSnapshot snapshot = new UserSnapshot(1L, "John", "Doe", birthdate, "john@domain.com", 0L);
+        User reference = new User();
         Training training = new Training();
 
-        when(userService.getUser(trainingSupportDto.getUserId())).thenReturn(Optional.of(user));
+        when(userService.getUserSnapshot(trainingSupportDto.getUserId())).thenReturn(Optional.of(snapshot));
+        when(userService.getUserReference(1L)).thenReturn(reference);
         when(trainingMapper.toTrainingFromTrainingSupportDto(trainingSupportDto)).thenReturn(trainingDto);
         when(trainingMapper.toTrainingEntity(trainingDto)).thenReturn(training);
-        when(trainingService.createTraining(training)).thenReturn(training);
+        when(trainingService.createTraining(training, birthdate)).thenReturn(training);
         when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
 
         ResponseEntity<TrainingDto> response = trainingController.createTraining(trainingSupportDto);
@@ -147,10 +158,12 @@ public class TrainingControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(trainingDto, response.getBody());
-        verify(userService, times(1)).getUser(trainingSupportDto.getUserId());
+        assertEquals("john@domain.com", response.getBody().getUser().getEmail());
+        verify(userService, times(1)).getUserSnapshot(trainingSupportDto.getUserId());
+        verify(userService, never()).getUser(any());
         verify(trainingMapper, times(1)).toTrainingFromTrainingSupportDto(trainingSupportDto);
         verify(trainingMapper, times(1)).toTrainingEntity(trainingDto);
-        verify(trainingService, times(1)).createTraining(training);
+        verify(trainingService, times(1)).createTraining(training, birthdate);
         verify(trainingMapper, times(1)).toTrainingDto(training);
     }
 
@@ -162,7 +175,7 @@ public class TrainingControllerTest {
         TrainingSupportDto trainingSupportDto = new TrainingSupportDto();
         trainingSupportDto.setUserId(1L);
 
-        when(userService.getUser(trainingSupportDto.getUserId())).thenReturn(Optional.empty());
+        when(userService.getUserSnapshot(trainingSupportDto.getUserId())).thenReturn(Optional.empty());
 
         UserNotFoundException thrown = assertThrows(UserNotFoundException.class, () -> {
             trainingController.createTraining(trainingSupportDto);
@@ -170,14 +183,14 @@ public class TrainingControllerTest {
 
         assertEquals("Użytkownik nie istnieje.", thrown.getMessage());
 
-        verify(userService, times(1)).getUser(trainingSupportDto.getUserId());
+        verify(userService, times(1)).getUserSnapshot(trainingSupportDto.getUserId());
         verify(trainingMapper, never()).toTrainingFromTrainingSupportDto(any());
         verify(trainingMapper, never()).toTrainingEntity(any());
-        verify(trainingService, never()).createTraining(any());
+        verify(trainingService, never()).createTraining(any(), any());
     }
 
     /**
-     * Testuje metodę updateTraining(TrainingDto trainingDto, Long trainingId).
+     * Testuje metodę updateTraining(TrainingDto trainingDto, Long trainingId, String ifMatch).
      */
     @Test
     void testUpdateTraining() {
@@ -185,14 +198,15 @@ public class TrainingControllerTest {
         TrainingDto trainingDto = new TrainingDto();
         Training training = new Training();
 
-        when(trainingService.updateTraining(trainingId, trainingDto)).thenReturn(training);
+        when(trainingService.updateTraining(trainingId, trainingDto, 0L)).thenReturn(training);
         when(trainingMapper.toTrainingDto(training)).thenReturn(trainingDto);
 
-        TrainingDto result = trainingController.updateTraining(trainingDto, trainingId);
+        ResponseEntity<TrainingDto> result = trainingController.updateTraining(trainingDto, trainingId, "\"0\"");
 
         assertNotNull(result);
-        assertEquals(trainingDto, result);
-        verify(trainingService, times(1)).updateTraining(trainingId, trainingDto);
+        assertEquals(trainingDto, result.getBody());
+        assertEquals("\"0\"", result.getHeaders().getETag());
+        verify(trainingService, times(1)).updateTraining(trainingId, trainingDto, 0L);
         verify(trainingMapper, times(1)).toTrainingDto(training);
     }
 
@@ -209,4 +223,9 @@ public class TrainingControllerTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Użytkownik nie istnieje.", response.getBody());
     }
+
+    private static TrainingSummaryDto summary() {
+        return new TrainingSummaryDto(1L, new TrainingUserDto(1L, "Jan", "Kowalski", "jan@domain.com"),
+                Instant.now(), Instant.now(), ActivityType.RUNNING, 5.0, 10.0);
+    }
 }
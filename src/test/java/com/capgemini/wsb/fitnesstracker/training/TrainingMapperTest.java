@@ -14,7 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Date;
+import java.time.Instant;
 
 /**
  * Klasa testowa dla TrainingMapper.
@@ -42,8 +42,8 @@ public class TrainingMapperTest {
     void testToTrainingDto() {
         Training training = new Training();
         training.setId(1L);
-        training.setStartTime(new Date());
-        training.setEndTime(new Date());
+        training.setStartTime(Instant.now());
+        training.setEndTime(Instant.now());
         training.setActivityType(ActivityType.RUNNING);
         training.setDistance(5.0);
         training.setAverageSpeed(10.0);
@@ -65,8 +65,8 @@ public class TrainingMapperTest {
     @Test
     void testToTrainingEntity() {
         TrainingDto trainingDto = new TrainingDto();
-        trainingDto.setStartTime(new Date());
-        trainingDto.setEndTime(new Date());
+        trainingDto.setStartTime(Instant.now());
+        trainingDto.setEndTime(Instant.now());
         trainingDto.setActivityType(ActivityType.RUNNING);
         trainingDto.setDistance(5.0);
         trainingDto.setAverageSpeed(10.0);
@@ -87,8 +87,8 @@ public class TrainingMapperTest {
     @Test
     void testToTrainingFromTrainingSupportDto() {
         TrainingSupportDto trainingSupportDto = new TrainingSupportDto();
-        trainingSupportDto.setStartTime(new Date());
-        trainingSupportDto.setEndTime(new Date());
+        trainingSupportDto.setStartTime(Instant.now());
+        trainingSupportDto.setEndTime(Instant.now());
         trainingSupportDto.setActivityType(ActivityType.RUNNING);
         trainingSupportDto.setDistance(5.0);
         trainingSupportDto.setAverageSpeed(10.0);
@@ -0,0 +1,150 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.QueryCounter;
+import com.capgemini.wsb.fitnesstracker.SqlStatementRecorder;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.time.Instant;
+import java.util.List;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testy pilnujące, aby każdy endpoint odczytu sesji treningowych wykonywał jedno zapytanie SQL,
+ * niezależnie od liczby użytkowników powiązanych z wynikami, a utworzenie sesji treningowej nie odczytywało
+ * użytkownika obecnego w pamięci podręcznej.
+ */
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.capgemini.wsb.fitnesstracker.SqlStatementRecorder")
+class TrainingQueryCountIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    private QueryCounter queryCounter;
+
+    private User firstUser;
+
+    @BeforeEach
+    void setUpTrainings() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(existingUser(new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString())));
+        }
+        for (User user : users) {
+            persistTraining(new Training(user, Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(2_000L), ActivityType.RUNNING, 5.0, 10.0));
+            persistTraining(new Training(user, Instant.ofEpochMilli(1_000L), Instant.ofEpochMilli(2_000L), ActivityType.TENNIS, 0.0, 0.0));
+        }
+        firstUser = users.get(0);
+        flushAndClear();
+        queryCounter = queryCounter();
+        queryCounter.reset();
+    }
+
+    @Test
+    void shouldIssueSingleQuery_whenGettingTrainingsPage() throws Exception {
+        mockMvc.perform(get("/v1/trainings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS * 2));
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    @Test
+    void shouldIssueSingleQuery_whenGettingTrainingsByUser() throws Exception {
+        mockMvc.perform(get("/v1/trainings/{userId}", firstUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    @Test
+    void shouldIssueSingleQuery_whenGettingFinishedTrainings() throws Exception {
+        mockMvc.perform(get("/v1/trainings/finished/{date}", "1970-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS * 2));
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    @Test
+    void shouldNotReadUser_whenCreatingTrainingForCachedUser() throws Exception {
+        userService.getUserSnapshot(firstUser.getId());
+        flushAndClear();
+        SqlStatementRecorder.reset();
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(trainingRequest(firstUser)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.user.id").value(firstUser.getId()))
+                .andExpect(jsonPath("$.user.email").value(firstUser.getEmail()));
+
+        assertThat(userSelects()).isZero();
+    }
+
+    @Test
+    void shouldReadUserOnce_whenCreatingTrainingForUncachedUser() throws Exception {
+        SqlStatementRecorder.reset();
+
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(trainingRequest(firstUser)))
+                .andExpect(status().isCreated());
+
+        assertThat(userSelects()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIssueSingleQuery_whenGettingTrainingsByActivityType() throws Exception {
+        mockMvc.perform(get("/v1/trainings/activityType").param("activityType", "RUNNING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS));
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    private static String trainingRequest(User user) {
+        return """
+                {
+                    "userId": "%s",
+                    "startTime": "2024-04-01T10:00:00",
+                    "endTime": "2024-04-01T11:00:00",
+                    "activityType": "RUNNING",
+                    "distance": 10.0,
+                    "averageSpeed": 10.0
+                }
+                """.formatted(user.getId());
+    }
+
+    private static long userSelects() {
+        return SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.matches("(?is)select .* from users\\b.*"))
+                .count();
+    }
+}
@@ -1,21 +1,28 @@
 package com.capgemini.wsb.fitnesstracker.training;
 
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingCreatedEvent;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
 import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingUpdatedEvent;
 import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingPage;
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
 import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingSummaryDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +35,9 @@ public class TrainingServiceImplTest {
     @Mock
     private TrainingRepository trainingRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TrainingServiceImpl trainingService;
 
@@ -38,16 +48,16 @@ public class TrainingServiceImplTest {
     void setUp() {
         training = new Training();
         training.setId(1L);
-        training.setStartTime(new Date());
-        training.setEndTime(new Date());
+        training.setStartTime(Instant.now());
+        training.setEndTime(Instant.now());
         training.setActivityType(ActivityType.RUNNING);
         training.setDistance(10.0);
         training.setAverageSpeed(8.0);
 
         trainingDto = new TrainingDto();
         trainingDto.setId(1L);
-        trainingDto.setStartTime(new Date());
-        trainingDto.setEndTime(new Date());
+        trainingDto.setStartTime(Instant.now());
+        trainingDto.setEndTime(Instant.now());
         trainingDto.setActivityType(ActivityType.RUNNING);
         trainingDto.setDistance(10.0);
         trainingDto.setAverageSpeed(8.0);
@@ -64,6 +74,43 @@ public class TrainingServiceImplTest {
         verify(trainingRepository, times(1)).findAll();
     }
 
+    @Test
+    void shouldReturnNextCursor_whenMoreTrainingsThanLimit() {
+        TrainingSummaryDto first = summary(1L);
+        TrainingSummaryDto second = summary(2L);
+        when(trainingRepository.findSummaryPageAfterId(0L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        TrainingPage page = trainingService.getTrainingsPage(null, 1);
+
+        assertEquals(List.of(first), page.trainings());
+        assertNotNull(page.nextCursor());
+
+        when(trainingRepository.findSummaryPageAfterId(1L, Limit.of(2))).thenReturn(List.of(second));
+
+        TrainingPage nextPage = trainingService.getTrainingsPage(page.nextCursor(), 1);
+
+        assertEquals(List.of(second), nextPage.trainings());
+        assertNull(nextPage.nextCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidCursorAndPageSize() {
+        assertThrows(BusinessException.class, () -> trainingService.getTrainingsPage("not-a-cursor", 10));
+        assertThrows(BusinessException.class, () -> trainingService.getTrainingsPage(null, 0));
+        verifyNoInteractions(trainingRepository);
+    }
+
+    @Test
+    void shouldGetTrainingSummariesByUserId() {
+        when(trainingRepository.findSummariesByUserId(1L)).thenReturn(List.of(summary(1L)));
+
+        List<TrainingSummaryDto> trainings = trainingService.getTrainingSummariesByUserId(1L);
+
+        assertEquals(1, trainings.size());
+        verify(trainingRepository, times(1)).findSummariesByUserId(1L);
+        verify(trainingRepository, never()).findByUserId(any());
+    }
+
     @Test
     void shouldGetTrainingsByUserId() {
         when(trainingRepository.findByUserId(1L)).thenReturn(Collections.singletonList(training));
@@ -77,7 +124,7 @@ public class TrainingServiceImplTest {
 
     @Test
     void shouldGetTrainingsByEndDateAfter() {
-        Date date = new Date();
+        Instant date = Instant.now();
         when(trainingRepository.findByEndTimeAfter(date)).thenReturn(Collections.singletonList(training));
 
         List<Training> trainings = trainingService.getTrainingsByEndDateAfter(date);
@@ -107,6 +154,7 @@ public class TrainingServiceImplTest {
         assertNotNull(createdTraining);
         assertEquals(training.getId(), createdTraining.getId());
         verify(trainingRepository, times(1)).save(training);
+        verify(eventPublisher, times(1)).publishEvent(new TrainingCreatedEvent(training));
     }
 
     @Test
@@ -120,6 +168,7 @@ public class TrainingServiceImplTest {
         assertEquals(training.getId(), updatedTraining.getId());
         verify(trainingRepository, times(1)).findById(1L);
         verify(trainingRepository, times(1)).save(training);
+        verify(eventPublisher, times(1)).publishEvent(any(TrainingUpdatedEvent.class));
     }
 
     @Test
@@ -134,4 +183,8 @@ public class TrainingServiceImplTest {
         verify(trainingRepository, times(1)).findById(1L);
         verify(trainingRepository, times(0)).save(training);
     }
+
+    private static TrainingSummaryDto summary(Long id) {
+        return new TrainingSummaryDto(id, null, Instant.now(), Instant.now(), ActivityType.RUNNING, 10.0, 8.0);
+    }
 }
@@ -0,0 +1,181 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Strumienie są odczytywane poza wątkiem testu, więc dane testowe muszą być zatwierdzone - test nie jest
+ * transakcyjny, a baza czyszczona jest przez {@link IntegrationTestBase}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingStreamIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Testuje strumieniowanie sesji treningowych użytkownika w formacie NDJSON.
+     */
+    @Test
+    void shouldStreamUserTrainingsAsNdjson_whenStreamingByUserId() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTraining(user1, "2024-01-19 09:30:00", ActivityType.RUNNING));
+        Training training2 = persistTraining(generateTraining(user1, "2024-01-20 09:30:00", ActivityType.CYCLING));
+        persistTraining(generateTraining(user2, "2024-01-21 09:30:00", ActivityType.RUNNING));
+
+        List<JsonNode> trainings = readNdjson(stream(get("/v1/trainings/stream/user/{userId}", user1.getId())
+                                                             .accept(MediaType.APPLICATION_NDJSON),
+                                                     MediaType.APPLICATION_NDJSON));
+
+        assertThat(trainings).extracting(training -> training.get("id").asLong())
+                .containsExactly(training1.getId(), training2.getId());
+        assertThat(trainings).extracting(training -> training.get("user").get("id").asLong())
+                .containsOnly(user1.getId());
+    }
+
+    /**
+     * Testuje strumieniowanie sesji treningowych danego typu aktywności jako Server-Sent Events.
+     */
+    @Test
+    void shouldStreamTrainingsAsServerSentEvents_whenStreamingByActivityType() throws Exception {
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTraining(user1, "2024-01-19 09:30:00", ActivityType.TENNIS));
+        persistTraining(generateTraining(user1, "2024-01-20 09:30:00", ActivityType.RUNNING));
+        Training training3 = persistTraining(generateTraining(user1, "2024-01-21 09:30:00", ActivityType.TENNIS));
+
+        String body = stream(get("/v1/trainings/stream/activityType").param("activityType", "TENNIS")
+                                     .accept(MediaType.TEXT_EVENT_STREAM),
+                             MediaType.TEXT_EVENT_STREAM);
+
+        List<JsonNode> trainings = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                trainings.add(objectMapper.readTree(line.substring("data:".length())));
+            }
+        }
+        assertThat(trainings).extracting(training -> training.get("id").asLong())
+                .containsExactly(training1.getId(), training3.getId());
+    }
+
+    /**
+     * Testuje strumieniowanie sesji treningowych zakończonych po podanej dacie, obejmujących kilka stron zapytań.
+     */
+    @Test
+    void shouldStreamAllPagesInIdOrder_whenStreamingByEndDateAfter() throws Exception {
+        User user1 = existingUser(generateClient());
+        persistTraining(generateTraining(user1, "2023-12-31 09:30:00", ActivityType.RUNNING));
+        List<Training> trainings = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            trainings.add(generateTraining(user1, "2024-01-19 09:30:00", ActivityType.WALKING));
+        }
+        createAllTrainings(trainings);
+
+        List<JsonNode> streamed = readNdjson(stream(get("/v1/trainings/stream/finished/{date}", "2024-01-01")
+                                                            .accept(MediaType.APPLICATION_NDJSON),
+                                                    MediaType.APPLICATION_NDJSON));
+
+        assertThat(streamed).extracting(training -> training.get("id").asLong())
+                .containsExactlyElementsOf(trainings.stream().map(Training::getId).toList());
+    }
+
+    /**
+     * Wykonuje żądanie strumieniowe i zwraca całą treść odpowiedzi po zakończeniu strumienia.
+     *
+     * @param requestBuilder żądanie
+     * @param mediaType oczekiwany typ treści odpowiedzi
+     * @return treść odpowiedzi
+     * @throws Exception wyjątek wykonania żądania
+     */
+    private String stream(MockHttpServletRequestBuilder requestBuilder, MediaType mediaType) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType));
+        return result.getResponse().getContentAsString();
+    }
+
+    /**
+     * Parsuje treść w formacie NDJSON.
+     *
+     * @param body treść odpowiedzi
+     * @return obiekty JSON z kolejnych linii
+     */
+    private List<JsonNode> readNdjson(String body) {
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    /**
+     * Generuje użytkownika dla testów.
+     *
+     * @return wygenerowany użytkownik
+     */
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+    /**
+     * Generuje godzinną sesję treningową dla testów.
+     *
+     * @param user użytkownik
+     * @param endTime czas zakończenia
+     * @param activityType typ aktywności
+     * @return wygenerowana sesja treningowa
+     * @throws ParseException wyjątek parsowania daty
+     */
+    private static Training generateTraining(User user, String endTime, ActivityType activityType) throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        Instant end = sdf.parse(endTime).toInstant();
+
+        return new Training(
+                user,
+                end.minusSeconds(3_600),
+                end,
+                activityType,
+                5.0,
+                5.0);
+    }
+}
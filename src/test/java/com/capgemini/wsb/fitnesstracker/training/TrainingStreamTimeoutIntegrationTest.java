@@ -0,0 +1,138 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingRepository;
+import com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.answersWithDelay;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Strumienie trwające dłużej niż domyślny limit czasu żądań asynchronicznych kontenera serwletów. Domyślne 30 sekund
+ * Tomcata zostało tu skrócone do {@value #CONTAINER_ASYNC_TIMEOUT_MS} ms, a strumienie spowolnione tak, by trwały
+ * dłużej; odpowiedź musi mimo to zawierać wszystkie sesje treningowe.
+ */
+@IntegrationTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TrainingStreamTimeoutIntegrationTest extends IntegrationTestBase {
+
+    private static final long CONTAINER_ASYNC_TIMEOUT_MS = 1_000;
+    private static final long STREAM_DELAY_MS = 3 * CONTAINER_ASYNC_TIMEOUT_MS;
+    private static final int TRAININGS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @SpyBean
+    private TrainingServiceImpl trainingService;
+
+    @SpyBean
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void shouldStreamAllTrainings_whenStreamOutlivesContainerAsyncTimeout() throws Exception {
+        List<Long> ids = createTrainings();
+        doAnswer(delayed(trainingService)).when(trainingService).streamAllTrainings(any());
+
+        HttpResponse<String> response = get("/v1/trainings/stream", MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(ids(response.body())).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void shouldStreamTrainingsByActivityType_whenStreamOutlivesContainerAsyncTimeout() throws Exception {
+        List<Long> ids = createTrainings();
+        doAnswer(delayed(trainingRepository)).when(trainingRepository)
+                .findSummaryPageByActivityType(eq(ActivityType.RUNNING), anyLong(), any(Limit.class));
+
+        HttpResponse<String> response = get("/v1/trainings/stream/activityType?activityType=RUNNING",
+                                            MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(ids(response.body())).containsExactlyElementsOf(ids);
+    }
+
+    /**
+     * Zwraca odpowiedź szpiega, która wywołuje prawdziwą metodę z opóźnieniem {@value #STREAM_DELAY_MS} ms.
+     * Szpiedzy repozytoriów Spring Data opakowują proxy, więc prawdziwa metoda wywoływana jest przez domyślną
+     * odpowiedź szpiega, a nie przez {@code callRealMethod()}.
+     *
+     * @param spy szpieg
+     * @return opóźniona odpowiedź
+     */
+    private static Answer<?> delayed(Object spy) {
+        Answer<?> realMethod = mockingDetails(spy).getMockCreationSettings().getDefaultAnswer();
+        return answersWithDelay(STREAM_DELAY_MS, realMethod);
+    }
+
+    private List<Long> createTrainings() {
+        User user = existingUser(generateUser());
+        Instant end = Instant.parse("2024-03-01T11:00:00Z");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TRAININGS; i++) {
+            ids.add(persistTraining(new Training(user, end.minusSeconds(3_600), end, ActivityType.RUNNING, 10.0, 10.0)).getId());
+        }
+        return ids;
+    }
+
+    private HttpResponse<String> get(String path, MediaType accept) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept.toString())
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private List<Long> ids(String ndjson) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            if (!line.isBlank()) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+
+        @Bean
+        TomcatConnectorCustomizer shortAsyncTimeout() {
+            return connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MS);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.capgemini.wsb.fitnesstracker.user.api.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -166,6 +168,32 @@ class UserApiIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    void shouldRejectUser_whenEmailDiffersOnlyInCase() throws Exception {
+        existingUser(new User("Mike", "Scott", LocalDate.now(), "mike.scott@domain.com"));
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(creationRequest(" Mike.Scott@Domain.com ")))
+                .andDo(log())
+                .andExpect(status().isConflict());
+
+        assertThat(getAllUsers()).hasSize(1);
+    }
+
+    @Test
+    void shouldPersistUser_whenEmailIsSubstringOfExistingEmail() throws Exception {
+        existingUser(new User("Jim", "Bob", LocalDate.now(), "jimbob@x.com"));
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(creationRequest("bob@x.com")))
+                .andDo(log())
+                .andExpect(status().isCreated());
+
+        assertThat(getAllUsers()).hasSize(2);
+    }
+
     @Test
     void shouldUpdateUser_whenUpdatingUser() throws Exception {
         User user1 = existingUser(generateUser());
@@ -203,6 +231,59 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         assertThat(user.getEmail()).isEqualTo(USER_EMAIL);
     }
 
+    @Test
+    void shouldRejectUpdate_whenIfMatchHoldsOutdatedVersion() throws Exception {
+        User user = existingUser(generateUser());
+        flushAndClear();
+
+        mockMvc.perform(get("/v1/users/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(put("/v1/users/{userId}", user.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON).content("{\"firstName\": \"Anna\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.firstName").value("Anna"));
+
+        mockMvc.perform(put("/v1/users/{userId}", user.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\": \"Nowak\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldReturnCurrentVersion_whenGettingUserAfterUpdate() throws Exception {
+        User user = existingUser(generateUser());
+        mockMvc.perform(get("/v1/users/details/{userId}", user.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(put("/v1/users/{userId}", user.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\": \"Anna\", \"email\": \"anna@domain.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/v1/users/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.firstName").value("Anna"));
+
+        mockMvc.perform(put("/v1/users/{userId}", user.getId()).header(HttpHeaders.IF_MATCH, "\"1\"")
+                                .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\": \"Nowak\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    private static String creationRequest(String email) {
+        return """
+                {
+                "firstName": "Bob",
+                "lastName": "Smith",
+                "birthdate": "1990-01-01",
+                "email": "%s"
+                }
+                """.formatted(email);
+    }
+
     public static User generateUser() {
         return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString());
     }
@@ -0,0 +1,123 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.QueryCounter;
+import com.capgemini.wsb.fitnesstracker.user.api.UpdateUserDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class UserCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldServeRepeatedLookupFromCache_whenGettingUserById() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        QueryCounter queryCounter = queryCounter();
+        queryCounter.reset();
+
+        userService.getUserSnapshot(user.getId());
+        userService.getUserSnapshot(user.getId());
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    @Test
+    void shouldServeLookupFromCache_whenEmailDiffersOnlyInCase() {
+        existingUser(generateUser("cached@domain.com"));
+        QueryCounter queryCounter = queryCounter();
+        queryCounter.reset();
+
+        assertThat(userService.getUserSnapshotByEmail("cached@domain.com")).isPresent();
+        assertThat(userService.getUserSnapshotByEmail(" Cached@Domain.com")).isPresent();
+
+        queryCounter.assertQueryCount(1);
+    }
+
+    @Test
+    void shouldReturnFreshUser_whenUserWasUpdated() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        userService.getUserSnapshot(user.getId());
+        userService.getUserSnapshotByEmail("cached@domain.com");
+
+        userService.updateUser(user.getId(), new UpdateUserDto(null, "Anna", null, null, "renamed@domain.com"));
+
+        assertThat(userService.getUserSnapshot(user.getId())).get().extracting(UserSnapshot::firstName).isEqualTo("Anna");
+        assertThat(userService.getUserSnapshotByEmail("cached@domain.com")).isEmpty();
+        assertThat(userService.getUserSnapshotByEmail("renamed@domain.com")).get().extracting(UserSnapshot::id)
+                .isEqualTo(user.getId());
+    }
+
+    @Test
+    void shouldEvictOnlyAfterCommit_whenUserIsUpdatedInTransaction() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        userService.getUserSnapshot(user.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(user.getId(), new UpdateUserDto(null, "Anna", null, null, null));
+            assertThat(cacheManager.getCache(UserCacheConfig.USERS_BY_ID).get(user.getId())).isNotNull();
+        });
+
+        assertThat(cacheManager.getCache(UserCacheConfig.USERS_BY_ID).get(user.getId())).isNull();
+    }
+
+    @Test
+    void shouldKeepOtherEmailEntries_whenUserEmailChanges() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        existingUser(generateUser("other@domain.com"));
+        userService.getUserSnapshotByEmail("other@domain.com");
+
+        userService.updateUser(user.getId(), new UpdateUserDto(null, null, null, null, "renamed@domain.com"));
+
+        assertThat(cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL).get("other@domain.com")).isNotNull();
+    }
+
+    @Test
+    void shouldNotReturnUser_whenUserWasDeleted() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        userService.getUserSnapshot(user.getId());
+        userService.getUserSnapshotByEmail("cached@domain.com");
+
+        userService.deleteUser(user.getId());
+
+        assertThat(userService.getUserSnapshot(user.getId())).isEmpty();
+        assertThat(userService.getUserSnapshotByEmail("cached@domain.com")).isEmpty();
+    }
+
+    @Test
+    void shouldPublishHitAndMissMetrics_whenUsingCache() {
+        User user = existingUser(generateUser("cached@domain.com"));
+        userService.getUserSnapshot(user.getId());
+        userService.getUserSnapshot(user.getId());
+
+        assertThat(meterRegistry.find("cache.gets").tag("cache", UserCacheConfig.USERS_BY_ID).tag("result", "hit")
+                           .functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", UserCacheConfig.USERS_BY_ID).tag("result", "miss")
+                           .functionCounter()).isNotNull();
+    }
+
+    private static User generateUser(String email) {
+        return new User("John", "Doe", LocalDate.of(1990, 1, 1), email);
+    }
+}
@@ -0,0 +1,55 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.BasicUserEmailDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserEmailSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserEmailSearchIndex emailSearchIndex;
+
+    @Test
+    void shouldKeepNewerEmail_whenUserChangesWhileBatchIsRead() {
+        when(userRepository.findEmailsAfterId(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            // Zmiana zatwierdzona po odczycie porcji, ale przed jej zapisem do indeksu.
+            emailSearchIndex.putAfterCommit(1L, "new@fitness.com");
+            return List.of(new BasicUserEmailDto(1L, "old@fitness.com"), new BasicUserEmailDto(2L, "other@fitness.com"));
+        });
+        when(userRepository.findEmailsAfterId(eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        emailSearchIndex.rebuild();
+
+        assertThat(emailSearchIndex.findCandidates("new@", 0, 10)).containsExactly(1L);
+        assertThat(emailSearchIndex.findCandidates("old@", 0, 10)).isEmpty();
+        assertThat(emailSearchIndex.findCandidates("@fitness", 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldNotRestoreRemovedUser_whenUserIsDeletedWhileBatchIsRead() {
+        when(userRepository.findEmailsAfterId(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            emailSearchIndex.removeAfterCommit(1L);
+            return List.of(new BasicUserEmailDto(1L, "deleted@fitness.com"));
+        });
+        when(userRepository.findEmailsAfterId(eq(1L), any(Limit.class))).thenReturn(List.of());
+
+        emailSearchIndex.rebuild();
+
+        assertThat(emailSearchIndex.findCandidates("deleted", 0, 10)).isEmpty();
+    }
+}
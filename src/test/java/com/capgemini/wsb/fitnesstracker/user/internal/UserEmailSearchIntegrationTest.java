@@ -0,0 +1,99 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Indeks wyszukiwania aktualizowany jest po zatwierdzeniu transakcji, dlatego test nie jest transakcyjny.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserEmailSearchIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldFindUsersByEmailFragment_whenSearching() throws Exception {
+        User bob = userService.createUser(generateUser("bob@x.com"));
+        User jimbob = userService.createUser(generateUser("JimBob@x.com"));
+        userService.createUser(generateUser("alice@y.com"));
+
+        mockMvc.perform(get("/v1/users/search").param("email", "BOB@X"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(bob.getId()))
+                .andExpect(jsonPath("$[1].id").value(jimbob.getId()))
+                .andExpect(jsonPath("$[1].email").value("JimBob@x.com"));
+    }
+
+    @Test
+    void shouldReturnNextPage_whenSearchingAfterLastId() throws Exception {
+        User first = userService.createUser(generateUser("first@fitness.com"));
+        User second = userService.createUser(generateUser("second@fitness.com"));
+
+        mockMvc.perform(get("/v1/users/search").param("email", "@fitness").param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(first.getId()));
+        mockMvc.perform(get("/v1/users/search").param("email", "@fitness").param("limit", "1")
+                                .param("afterId", String.valueOf(first.getId())))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(second.getId()));
+    }
+
+    @Test
+    void shouldMatchAnywhereInEmail_whenFragmentIsShorterThanNgram() throws Exception {
+        User jimbob = userService.createUser(generateUser("jimbob@x.com"));
+        User bojim = userService.createUser(generateUser("bojim@x.com"));
+        userService.createUser(generateUser("alice@y.com"));
+
+        mockMvc.perform(get("/v1/users/search").param("email", "JI"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(jimbob.getId()))
+                .andExpect(jsonPath("$[1].id").value(bojim.getId()));
+    }
+
+    @Test
+    void shouldSkipRemovedUsers_whenSearching() throws Exception {
+        User deleted = userService.createUser(generateUser("deleted@removed.com"));
+        User removedBehindIndex = userService.createUser(generateUser("stale@removed.com"));
+        userService.deleteUser(deleted.getId());
+        userRepository.deleteById(removedBehindIndex.getId());
+
+        mockMvc.perform(get("/v1/users/search").param("email", "@removed"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void shouldReturnExactMatchOnly_whenGettingUserByEmail() throws Exception {
+        User bob = userService.createUser(generateUser("bob@x.com"));
+        userService.createUser(generateUser("jimbob@x.com"));
+
+        mockMvc.perform(get("/v1/users/email").param("email", "Bob@X.com"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(bob.getId()));
+    }
+
+    private static User generateUser(String email) {
+        return new User("John", "Doe", LocalDate.of(1990, 1, 1), email);
+    }
+}
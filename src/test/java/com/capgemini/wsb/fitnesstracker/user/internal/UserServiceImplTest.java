@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.ConflictException;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserEmailSearchIndex emailSearchIndex;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void shouldCheckNormalizedEmail_whenCreatingUser() {
+        User user = new User("Mike", "Scott", LocalDate.now(), " Mike.Scott@Domain.com");
+        when(userRepository.existsByNormalizedEmail("mike.scott@domain.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.createUser(user)).isInstanceOf(ConflictException.class);
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void shouldMapUniqueIndexViolation_whenConcurrentSignUpWins() {
+        User user = new User("Mike", "Scott", LocalDate.now(), "mike.scott@domain.com");
+        when(userRepository.existsByNormalizedEmail("mike.scott@domain.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_NORMALIZED\"")));
+
+        assertThatThrownBy(() -> userService.createUser(user))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Email jest już zajęty!");
+    }
+
+    @Test
+    void shouldRethrowOtherIntegrityViolations_whenCreatingUser() {
+        User user = new User("Mike", "Scott", LocalDate.now(), "mike.scott@domain.com");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("NULL not allowed for column \"FIRST_NAME\"");
+        when(userRepository.existsByNormalizedEmail("mike.scott@domain.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(violation);
+
+        assertThatThrownBy(() -> userService.createUser(user)).isSameAs(violation);
+    }
+
+    @Test
+    void shouldStoreNormalizedEmail_whenSettingEmail() {
+        User user = new User("Mike", "Scott", LocalDate.now(), "  Mike.Scott@Domain.COM ");
+
+        assertThat(user.getEmail()).isEqualTo("  Mike.Scott@Domain.COM ");
+        assertThat(user.getNormalizedEmail()).isEqualTo("mike.scott@domain.com");
+    }
+}